@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.depth;
+
+import id.matcv.depth.DepthHoleFiller;
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Hole filling of the synthetic 1280x720 depth frame with ~10% of holes.
+ *
+ * <p>Results can be compared with 33 ms frame budget of 30 FPS camera.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DepthHoleFillerBenchmark {
+
+    @Param({"MEDIAN", "BILINEAR"})
+    private DepthHoleFiller.Method method;
+
+    @Param({"1", "2"})
+    private int radius;
+
+    private Arena arena;
+    private MemorySegment original;
+    private MemorySegment depth;
+    private DepthHoleFiller filler;
+
+    @Setup
+    public void setup() {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_1280_720.getCameraIntrinsics();
+        var size = intrinsics.width() * intrinsics.height();
+        arena = Arena.ofConfined();
+        original = arena.allocate((long) size * Short.BYTES);
+        depth = arena.allocate(original.byteSize());
+        var random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            var d = random.nextInt(10) == 0 ? 0 : 300 + random.nextInt(3000);
+            original.setAtIndex(ValueLayout.JAVA_SHORT, i, (short) d);
+        }
+        filler =
+                new DepthHoleFiller(intrinsics.width(), intrinsics.height())
+                        .withMethod(method)
+                        .withRadius(radius);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        depth.copyFrom(original);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public int fill() {
+        return filler.fill(depth);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.exporters;
+
+import id.matcv.exporters.ObjExporter;
+import id.matcv.exporters.PcdExporter;
+import id.matcv.exporters.PlyExporter;
+import id.matcv.exporters.PointCloudExporter;
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.pointcloud.PointCloud;
+import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures throughput of point cloud exporters in points/s and bytes/s (see "points" and "bytes"
+ * secondary results).
+ *
+ * <p>Point cloud is deprojected from synthetic 1280x720 depth frame with ~10% of holes. Points are
+ * written to the temporary file which is truncated before each invocation.
+ *
+ * <p>"objStringFormat" is the baseline which formats each point with {@link String#format(String,
+ * Object...)}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointCloudExportersBenchmark {
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long points;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            points = 0;
+            bytes = 0;
+        }
+    }
+
+    private Arena arena;
+    private PointCloud pointCloud;
+    private Path file;
+    private FileChannel channel;
+    private ObjExporter obj = new ObjExporter();
+    private PlyExporter ply = new PlyExporter();
+    private PcdExporter pcd = new PcdExporter();
+
+    @Setup
+    public void setup() throws IOException {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_1280_720.getCameraIntrinsics();
+        var size = intrinsics.width() * intrinsics.height();
+        arena = Arena.ofConfined();
+        var depth = arena.allocate((long) size * Short.BYTES);
+        var random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            var d = random.nextInt(10) == 0 ? 0 : 300 + random.nextInt(3000);
+            depth.setAtIndex(ValueLayout.JAVA_SHORT, i, (short) d);
+        }
+        pointCloud = new PointCloudFromMemorySegmentAccessor(depth, intrinsics, 1000);
+        file = Files.createTempFile("matcv-benchmark", ".pc");
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.delete(file);
+        arena.close();
+    }
+
+    @Benchmark
+    public void objStringFormat(Counters counters) throws IOException {
+        try (var writer = Files.newBufferedWriter(file, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < pointCloud.size(); i++) {
+                var v = pointCloud.getPoint(i);
+                writer.append(String.format("v %f %f %f\n", v.getX(), v.getY(), v.getZ()));
+            }
+        }
+        counters.points += pointCloud.size();
+        counters.bytes += Files.size(file);
+    }
+
+    @Benchmark
+    public void obj(Counters counters) throws IOException {
+        export(obj, counters);
+    }
+
+    @Benchmark
+    public void ply(Counters counters) throws IOException {
+        export(ply, counters);
+    }
+
+    @Benchmark
+    public void pcd(Counters counters) throws IOException {
+        export(pcd, counters);
+    }
+
+    private void export(PointCloudExporter exporter, Counters counters) throws IOException {
+        channel.truncate(0).position(0);
+        exporter.export(channel, pointCloud);
+        counters.points += pointCloud.size();
+        counters.bytes += channel.position();
+    }
+}
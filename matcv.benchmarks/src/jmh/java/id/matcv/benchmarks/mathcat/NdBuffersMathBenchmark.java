@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.mathcat;
+
+import id.mathcat.NdBuffersMath;
+import id.ndbuffers.matrix.Matrix4d;
+import id.ndbuffers.matrix.MatrixN3d;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares rigid transformation of the points through EJML (homogeneous coordinates) with direct
+ * transformation of the row-major N x 3 arrays.
+ *
+ * <p>Points are random, 5 points are same as single marker (center and its corners).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NdBuffersMathBenchmark {
+
+    @Param({"5", "1000", "1000000"})
+    public int numPoints;
+
+    private double[] points;
+    private double[] out;
+    private MatrixN3d pointsMx;
+    private Matrix4d tx;
+    private NdBuffersMath serial;
+    private NdBuffersMath parallel;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        points = new double[numPoints * 3];
+        for (int i = 0; i < points.length; i++) points[i] = random.nextDouble() * 10 - 5;
+        out = new double[points.length];
+        pointsMx = new MatrixN3d(DoubleBuffer.wrap(points.clone()));
+        var angle = Math.PI / 5;
+        tx =
+                new Matrix4d(
+                        new double[] {
+                            Math.cos(angle),
+                            -Math.sin(angle),
+                            0,
+                            1,
+                            Math.sin(angle),
+                            Math.cos(angle),
+                            0,
+                            2,
+                            0,
+                            0,
+                            1,
+                            3,
+                            0,
+                            0,
+                            0,
+                            1
+                        });
+        serial = new NdBuffersMath().withParallel(false);
+        parallel = new NdBuffersMath();
+    }
+
+    @Benchmark
+    public MatrixN3d ejml() {
+        return serial.transform(pointsMx, tx);
+    }
+
+    @Benchmark
+    public double[] toArraySerial() {
+        serial.transform(points, 0, out, 0, numPoints, tx);
+        return out;
+    }
+
+    @Benchmark
+    public double[] toArrayParallel() {
+        parallel.transform(points, 0, out, 0, numPoints, tx);
+        return out;
+    }
+
+    /** Each call moves the points further, which does not change the amount of work */
+    @Benchmark
+    public MatrixN3d inPlace() {
+        return serial.transformInPlace(pointsMx, tx);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.pointcloud.filters;
+
+import id.matcv.pointcloud.filters.VoxelGridFilter;
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures voxel grid downsampling of the point cloud deprojected from synthetic 1280x720 depth
+ * frame with ~10% of holes.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VoxelGridFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Arena arena;
+    private PointCloudFromMemorySegmentAccessor pointCloud;
+    private VoxelGridFilter filter;
+
+    @Setup
+    public void setup() {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_1280_720.getCameraIntrinsics();
+        var size = intrinsics.width() * intrinsics.height();
+        arena = Arena.ofConfined();
+        var depth = arena.allocate((long) size * Short.BYTES);
+        var random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            var d = random.nextInt(10) == 0 ? 0 : 300 + random.nextInt(3000);
+            depth.setAtIndex(ValueLayout.JAVA_SHORT, i, (short) d);
+        }
+        pointCloud = new PointCloudFromMemorySegmentAccessor(depth, intrinsics, 1000);
+        filter = new VoxelGridFilter(0.01).withParallel(parallel);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public FloatArrayPointCloud centroid() {
+        return filter.apply(pointCloud);
+    }
+}
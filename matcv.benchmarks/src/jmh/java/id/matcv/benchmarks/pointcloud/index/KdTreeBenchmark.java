@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.pointcloud.index;
+
+import id.matcv.pointcloud.index.KdTree;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link KdTree} build time and query throughput.
+ *
+ * <p>Points are uniformly distributed inside 1x1x1 cube. Each query benchmark executes {@link
+ * #NUM_OF_QUERIES} queries in a batch, results are reported per single query.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KdTreeBenchmark {
+    private static final int NUM_OF_QUERIES = 10_000;
+    private static final int K = 8;
+
+    @Param({"300000", "1000000"})
+    public int size;
+
+    private FloatArrayPointCloud pointCloud;
+    private KdTree tree;
+    private KdTree parallelTree;
+    private float[] queries;
+    private int[] ids = new int[NUM_OF_QUERIES * K];
+    private float[] distances = new float[NUM_OF_QUERIES * K];
+    private int[] counts = new int[NUM_OF_QUERIES];
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var data = new float[size * 3];
+        for (int i = 0; i < data.length; i++) data[i] = random.nextFloat();
+        pointCloud = new FloatArrayPointCloud(data);
+        tree = new KdTree(pointCloud);
+        parallelTree = new KdTree(pointCloud, ForkJoinPool.commonPool());
+        queries = new float[NUM_OF_QUERIES * 3];
+        for (int i = 0; i < queries.length; i++) queries[i] = random.nextFloat();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KdTree build() {
+        return new KdTree(pointCloud);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KdTree buildParallel() {
+        return new KdTree(pointCloud, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_QUERIES)
+    public int[] nearest() {
+        tree.nearest(queries, K, ids, distances, counts);
+        return counts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_QUERIES)
+    public int[] nearestParallel() {
+        parallelTree.nearest(queries, K, ids, distances, counts);
+        return counts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_QUERIES)
+    public int[] countInRadius() {
+        tree.countInRadius(queries, 0.01f, Integer.MAX_VALUE, counts);
+        return counts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_QUERIES)
+    public int[] countInRadiusParallel() {
+        parallelTree.countInRadius(queries, 0.01f, Integer.MAX_VALUE, counts);
+        return counts;
+    }
+}
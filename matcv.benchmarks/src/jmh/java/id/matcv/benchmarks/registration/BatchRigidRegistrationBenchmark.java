@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.benchmarks.registration;
+
+import id.matcv.markers.Marker;
+import id.matcv.markers.Marker3dUtils;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerType;
+import id.matcv.registration.BatchRigidRegistration;
+import id.ndbuffers.matrix.Matrix4d;
+import id.ndbuffers.matrix.MatrixN3d;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares solving marker pairs one by one using {@link Marker3dUtils} with {@link
+ * BatchRigidRegistration}.
+ *
+ * <p>Each pair consists of two random sets of 5 points (same as marker center and its corners).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchRigidRegistrationBenchmark {
+    private static final int NUM_POINTS = MarkerLocation3d.NUM_OF_POINTS;
+
+    @Param({"1000", "50000"})
+    public int numPairs;
+
+    private double[] from;
+    private double[] to;
+    private double[] tx;
+    private List<MarkerLocation3d> fromMarkers;
+    private List<MarkerLocation3d> toMarkers;
+    private Marker3dUtils utils;
+    private BatchRigidRegistration serial;
+    private BatchRigidRegistration parallel;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        from = new double[numPairs * NUM_POINTS * 3];
+        to = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = random.nextDouble();
+            to[i] = random.nextDouble();
+        }
+        tx = new double[numPairs * 16];
+        fromMarkers = new ArrayList<>(numPairs);
+        toMarkers = new ArrayList<>(numPairs);
+        for (int i = 0; i < numPairs; i++) {
+            var o = i * NUM_POINTS * 3;
+            fromMarkers.add(marker(Arrays.copyOfRange(from, o, o + NUM_POINTS * 3)));
+            toMarkers.add(marker(Arrays.copyOfRange(to, o, o + NUM_POINTS * 3)));
+        }
+        utils = new Marker3dUtils();
+        serial = new BatchRigidRegistration().withParallel(false);
+        parallel = new BatchRigidRegistration();
+    }
+
+    @Benchmark
+    public List<Matrix4d> markersPerPair() {
+        var out = new ArrayList<Matrix4d>(numPairs);
+        for (int i = 0; i < numPairs; i++) {
+            out.add(utils.calculateTransformationMatrix(fromMarkers.get(i), toMarkers.get(i)));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Matrix4d> markersBatch() {
+        return parallel.calculateTransformations(fromMarkers, toMarkers);
+    }
+
+    @Benchmark
+    public double[] arraySerial() {
+        serial.calculateTransformations(from, to, NUM_POINTS, tx);
+        return tx;
+    }
+
+    @Benchmark
+    public double[] arrayParallel() {
+        parallel.calculateTransformations(from, to, NUM_POINTS, tx);
+        return tx;
+    }
+
+    private MarkerLocation3d marker(double[] data) {
+        return new MarkerLocation3d(
+                new Marker(MarkerType.ONE),
+                new MatrixN3d(DoubleBuffer.wrap(data)),
+                Optional.empty(),
+                Optional.empty());
+    }
+}
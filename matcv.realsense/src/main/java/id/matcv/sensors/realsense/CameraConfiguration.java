@@ -17,6 +17,7 @@
  */
 package id.matcv.sensors.realsense;
 
+import id.matcv.depth.DepthHoleFiller;
 import id.matcv.types.camera.CameraIntrinsics;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -30,6 +31,9 @@ import java.util.function.Consumer;
  * @param isShowFramesEnabled display every new frame on the screen and wait until user press any
  *     key
  * @param isSpatialFilterEnabled control RealSense spatial filter
+ * @param holeFillingMethod fill depth holes in place before passing depth frames to the consumers
+ * @param holeFillingRadius radius used to fill depth holes (see {@link
+ *     DepthHoleFiller#withRadius(int)})
  * @param outputFolder save all frames into a folder
  * @param inputFolder read frames from the folder instead of camera
  * @author lambdaprime intid@protonmail.com
@@ -42,6 +46,8 @@ public record CameraConfiguration(
         CameraIntrinsics intrinsics,
         boolean isShowFramesEnabled,
         boolean isSpatialFilterEnabled,
+        Optional<DepthHoleFiller.Method> holeFillingMethod,
+        int holeFillingRadius,
         Optional<Path> outputFolder,
         Optional<Path> inputFolder) {
 
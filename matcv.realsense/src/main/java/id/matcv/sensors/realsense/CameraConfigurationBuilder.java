@@ -17,8 +17,10 @@
  */
 package id.matcv.sensors.realsense;
 
+import id.matcv.depth.DepthHoleFiller;
 import id.matcv.types.camera.CameraIntrinsics;
 import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.xfunction.Preconditions;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +41,8 @@ public class CameraConfigurationBuilder {
     private boolean isShowFramesEnabled = false;
     private boolean isSpatialFilterEnabled = false;
     private boolean isExecutorPrivate = true;
+    private Optional<DepthHoleFiller.Method> holeFillingMethod = Optional.empty();
+    private int holeFillingRadius = 1;
     private Optional<Path> outputFolder = Optional.empty();
     private Optional<Path> inputFolder = Optional.empty();
 
@@ -73,6 +77,27 @@ public class CameraConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Fill holes of every depth frame using given method and radius 1, which has the smallest cost
+     * (see {@link DepthHoleFiller})
+     */
+    public CameraConfigurationBuilder enableHoleFilling(DepthHoleFiller.Method method) {
+        return enableHoleFilling(method, 1);
+    }
+
+    /**
+     * Fill holes of every depth frame using given method and radius.
+     *
+     * <p>Cost of {@link DepthHoleFiller.Method#MEDIAN} grows with the window area, so larger radius
+     * may not fit into the frame budget of the camera (see {@link DepthHoleFiller}).
+     */
+    public CameraConfigurationBuilder enableHoleFilling(DepthHoleFiller.Method method, int radius) {
+        Preconditions.isTrue(radius > 0, "Radius must be positive");
+        holeFillingMethod = Optional.of(method);
+        holeFillingRadius = radius;
+        return this;
+    }
+
     public CameraConfigurationBuilder withOutputFolder(Path outputFolder) {
         this.outputFolder = Optional.of(outputFolder);
         return this;
@@ -92,6 +117,8 @@ public class CameraConfigurationBuilder {
                 intrinsics,
                 isShowFramesEnabled,
                 isSpatialFilterEnabled,
+                holeFillingMethod,
+                holeFillingRadius,
                 outputFolder,
                 inputFolder);
     }
@@ -29,6 +29,7 @@ import id.jrealsense.filters.SpatialFilter;
 import id.jrealsense.frames.DepthFrame;
 import id.jrealsense.frames.Frame;
 import id.jrealsense.utils.FrameUtils;
+import id.matcv.depth.DepthHoleFiller;
 import id.xfunction.Preconditions;
 import id.xfunction.lang.XThread;
 import id.xfunction.logging.XLogger;
@@ -55,6 +56,7 @@ public class RealSenseCamera extends IdempotentService implements Camera {
     private static final int FPS = 30;
 
     private CameraConfiguration cameraConfig;
+    private Optional<DepthHoleFiller> holeFiller;
 
     public RealSenseCamera() {
         this(new CameraConfigurationBuilder().build());
@@ -62,6 +64,14 @@ public class RealSenseCamera extends IdempotentService implements Camera {
 
     public RealSenseCamera(CameraConfiguration config) {
         this.cameraConfig = config;
+        var intrinsics = config.intrinsics();
+        holeFiller =
+                config.holeFillingMethod()
+                        .map(
+                                method ->
+                                        new DepthHoleFiller(intrinsics.width(), intrinsics.height())
+                                                .withMethod(method)
+                                                .withRadius(config.holeFillingRadius()));
     }
 
     /** Setup resources and run the looper */
@@ -164,6 +174,8 @@ public class RealSenseCamera extends IdempotentService implements Camera {
                             cameraConfig.intrinsics().width(),
                             CvType.CV_16UC1,
                             depthFrame.get().getDataAsByteBuffer());
+            // frames are processed by the single looper thread so filler is not shared
+            holeFiller.ifPresent(filler -> filler.fill(depthMx));
             var rgbdFrame = new RgbdImage(colorMx, depthMx);
             cameraConfig.rgbdFrameConsumers().forEach(c -> c.accept(rgbdFrame));
         }
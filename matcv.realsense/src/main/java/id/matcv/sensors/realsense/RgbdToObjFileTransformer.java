@@ -17,7 +17,7 @@
  */
 package id.matcv.sensors.realsense;
 
-import id.matcv.PointCloudUtils;
+import id.matcv.exporters.ObjExporter;
 import id.matcv.types.camera.CameraIntrinsics;
 import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
 import java.lang.foreign.MemorySegment;
@@ -30,7 +30,7 @@ import java.util.function.Consumer;
  * @author lambdaprime intid@protonmail.com
  */
 public class RgbdToObjFileTransformer implements Consumer<RgbdImage> {
-    private PointCloudUtils utils = new PointCloudUtils();
+    private ObjExporter exporter = new ObjExporter();
     private CameraIntrinsics intrinsics;
     private Path objFile;
 
@@ -46,6 +46,6 @@ public class RgbdToObjFileTransformer implements Consumer<RgbdImage> {
                 MemorySegment.ofAddress(depthMat.dataAddr())
                         .reinterpret(depthMat.total() * Short.BYTES);
         var pc = new PointCloudFromMemorySegmentAccessor(segment, intrinsics, 1000.);
-        utils.exportToObj(objFile, pc);
+        exporter.export(objFile, pc);
     }
 }
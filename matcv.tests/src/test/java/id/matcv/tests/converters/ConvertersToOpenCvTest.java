@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.converters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import id.matcv.converters.ConvertersToOpenCv;
+import id.matcv.markers.Marker;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerLocation3dBatch;
+import id.matcv.markers.MarkerType;
+import id.matcv.tests.OpenCvTest;
+import id.ndbuffers.matrix.Vector3d;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ConvertersToOpenCvTest extends OpenCvTest {
+
+    @Test
+    public void test_batch_view() {
+        var batch =
+                new MarkerLocation3dBatch(
+                        List.of(
+                                new MarkerLocation3d(
+                                        new Marker(MarkerType.ONE),
+                                        new Vector3d(0, 0, 0),
+                                        new Vector3d(2, 3, 1),
+                                        new Vector3d(2, -3, 1),
+                                        new Vector3d(-2, -3, 1),
+                                        new Vector3d(-2, 3, 1),
+                                        Optional.empty()),
+                                new MarkerLocation3d(
+                                        new Marker(MarkerType.TWO),
+                                        new Vector3d(1, 1, 1),
+                                        new Vector3d(2, 2, 2),
+                                        new Vector3d(3, 3, 3),
+                                        new Vector3d(4, 4, 4),
+                                        new Vector3d(5, 5, 6),
+                                        Optional.empty())));
+        var expected = new double[] {1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 4, 4, 5, 5, 6};
+        var converters = new ConvertersToOpenCv();
+        var view = batch.get(1).getData();
+        assertArrayEquals(expected, converters.toMatOfDouble(view).toArray());
+        var mat = converters.copyToMat32F(view);
+        assertEquals(5, mat.rows());
+        assertEquals(3, mat.channels());
+        assertEquals(6, mat.get(4, 0)[2], 1e-6);
+    }
+}
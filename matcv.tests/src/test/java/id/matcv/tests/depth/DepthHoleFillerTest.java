@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.depth;
+
+import id.matcv.depth.DepthHoleFiller;
+import id.matcv.depth.DepthHoleFiller.Method;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DepthHoleFillerTest {
+    private static final int W = 5, H = 4;
+
+    @Test
+    public void test_median() {
+        try (var arena = Arena.ofConfined()) {
+            var depth =
+                    segment(
+                            arena,
+                            new short[] {
+                                100, 200, 300, 400, 500,
+                                110, 0, 0, 410, 510,
+                                120, 220, 320, 420, 520,
+                                0, 0, 0, 0, 0
+                            });
+            var filler = new DepthHoleFiller(W, H).withRadius(1);
+            Assertions.assertEquals(200, filler.estimate(depth, 1, 1));
+            Assertions.assertEquals(0, filler.estimate(depth, 0, 3), "Not enough neighbors");
+            // holes which cannot be filled are left untouched
+            Assertions.assertEquals(5, filler.fill(depth));
+            Assertions.assertEquals(
+                    """
+                    100 200 300 400 500
+                    110 200 320 410 510
+                    120 220 320 420 520
+                    0 220 320 420 0""",
+                    toString(depth));
+        }
+    }
+
+    @Test
+    public void test_bilinear() {
+        try (var arena = Arena.ofConfined()) {
+            var depth =
+                    segment(
+                            arena,
+                            new short[] {
+                                100, 100, 300, 100, 100,
+                                100, 0, 0, 0, 400,
+                                100, 100, 500, 100, 100,
+                                0, 0, 0, 0, 0
+                            });
+            var filler = new DepthHoleFiller(W, H).withRadius(2).withMethod(Method.BILINEAR);
+            Assertions.assertEquals(3, filler.fill(depth));
+            Assertions.assertEquals(
+                    """
+                    100 100 300 100 100
+                    100 100 325 100 400
+                    100 100 500 100 100
+                    0 0 0 0 0""",
+                    toString(depth));
+        }
+    }
+
+    @Test
+    public void test_no_propagation() {
+        try (var arena = Arena.ofConfined()) {
+            var width = 100;
+            var height = 50;
+            var depth = arena.allocate((long) width * height * Short.BYTES);
+            var random = new Random(42);
+            for (int i = 0; i < width * height; i++) {
+                depth.setAtIndex(ValueLayout.JAVA_SHORT, i, (short) (1000 + random.nextInt(100)));
+            }
+            // 10x10 hole
+            for (int r = 20; r < 30; r++)
+                for (int c = 40; c < 50; c++)
+                    depth.setAtIndex(ValueLayout.JAVA_SHORT, r * width + c, (short) 0);
+            var filler = new DepthHoleFiller(width, height).withRadius(2).withMinNeighbors(1);
+            // only two pixel border of the hole can be filled
+            Assertions.assertEquals(100 - 36, filler.fill(depth));
+            for (int r = 22; r < 28; r++)
+                for (int c = 42; c < 48; c++)
+                    Assertions.assertEquals(
+                            0, depth.getAtIndex(ValueLayout.JAVA_SHORT, r * width + c));
+            var v = Short.toUnsignedInt(depth.getAtIndex(ValueLayout.JAVA_SHORT, 20 * width + 40));
+            Assertions.assertTrue(v >= 1000 && v < 1100);
+        }
+    }
+
+    @Test
+    public void test_unsigned() {
+        try (var arena = Arena.ofConfined()) {
+            var depth = arena.allocate(3 * Short.BYTES);
+            depth.setAtIndex(ValueLayout.JAVA_SHORT, 0, (short) 60000);
+            depth.setAtIndex(ValueLayout.JAVA_SHORT, 2, (short) 60002);
+            var filler = new DepthHoleFiller(3, 1).withMethod(Method.BILINEAR);
+            Assertions.assertEquals(60001, filler.estimate(depth, 1, 0));
+        }
+    }
+
+    private MemorySegment segment(Arena arena, short[] data) {
+        var depth = arena.allocate((long) data.length * Short.BYTES);
+        MemorySegment.copy(data, 0, depth, ValueLayout.JAVA_SHORT, 0, data.length);
+        return depth;
+    }
+
+    private String toString(MemorySegment depth) {
+        var buf = new StringBuilder();
+        for (int r = 0; r < H; r++) {
+            if (r > 0) buf.append('\n');
+            for (int c = 0; c < W; c++) {
+                if (c > 0) buf.append(' ');
+                buf.append(
+                        Short.toUnsignedInt(depth.getAtIndex(ValueLayout.JAVA_SHORT, r * W + c)));
+            }
+        }
+        return buf.toString();
+    }
+}
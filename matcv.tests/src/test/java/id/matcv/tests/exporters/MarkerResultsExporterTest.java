@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.exporters;
+
+import id.matcv.exporters.MarkerResultsExporter;
+import id.matcv.markers.Marker;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerLocation3dBatch;
+import id.matcv.markers.MarkerType;
+import id.matcv.types.KeyPoints3dTable;
+import id.matcv.types.datatables.ColumnarTableFile;
+import id.matcv.types.datatables.DataTable2;
+import id.ndbuffers.matrix.Vector3d;
+import java.io.IOException;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerResultsExporterTest {
+
+    private final DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> results =
+            new DataTable2<>(
+                    List.of(
+                            new KeyPoints3dTable(new int[] {10, 20}, new int[] {5, 6}),
+                            new KeyPoints3dTable(new int[] {30}, new int[] {15})),
+                    List.of(
+                            List.of(),
+                            List.of(
+                                    new MarkerLocation3d(
+                                            new Marker(MarkerType.THREE),
+                                            new Vector3d(0, 0, 1),
+                                            new Vector3d(1, 1, 1),
+                                            new Vector3d(1, -1, 1),
+                                            new Vector3d(-1, -1, 1),
+                                            new Vector3d(-1, 1, 1),
+                                            Optional.empty()))));
+
+    @Test
+    public void test_keyPoints() throws IOException {
+        var file = Files.createTempFile("keypoints", ".ctf");
+        new MarkerResultsExporter().exportKeyPoints(file, results);
+        try (var ctf = ColumnarTableFile.open(file)) {
+            Assertions.assertEquals(3, ctf.numRows());
+            var frame = ctf.indexOf(MarkerResultsExporter.FRAME);
+            var pointId = ctf.indexOf(MarkerResultsExporter.POINT_ID);
+            var pointHash = ctf.indexOf(MarkerResultsExporter.POINT_HASH);
+            Assertions.assertEquals(1, ctf.getInt(frame, 2));
+            Assertions.assertEquals(20, ctf.getInt(pointId, 1));
+            Assertions.assertEquals(15, ctf.getInt(pointHash, 2));
+        }
+    }
+
+    @Test
+    public void test_markerLocations() throws IOException {
+        var file = Files.createTempFile("markers", ".ctf");
+        new MarkerResultsExporter().exportMarkerLocations(file, results);
+        try (var ctf = ColumnarTableFile.open(file)) {
+            Assertions.assertEquals(1, ctf.numRows());
+            var points = ctf.indexOf(MarkerResultsExporter.POINTS);
+            Assertions.assertEquals(15, ctf.width(points));
+            Assertions.assertEquals(1, ctf.getInt(ctf.indexOf(MarkerResultsExporter.FRAME), 0));
+            Assertions.assertEquals(3, ctf.getInt(ctf.indexOf(MarkerResultsExporter.MARKER_ID), 0));
+            // p3.x
+            Assertions.assertEquals(-1, ctf.getDouble(points, 0, 9));
+        }
+    }
+
+    @Test
+    public void test_batch() throws IOException {
+        var file = Files.createTempFile("markers", ".ctf");
+        var batch = new MarkerLocation3dBatch(results.col2(1));
+        new MarkerResultsExporter().exportMarkerLocations(file, batch);
+        try (var ctf = ColumnarTableFile.open(file)) {
+            Assertions.assertEquals(2, ctf.numColumns());
+            Assertions.assertArrayEquals(
+                    batch.data(),
+                    ctf.data(ctf.indexOf(MarkerResultsExporter.POINTS))
+                            .toArray(ValueLayout.JAVA_DOUBLE));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.exporters;
+
+import id.matcv.exporters.ObjExporter;
+import id.matcv.exporters.PcdExporter;
+import id.matcv.exporters.PlyExporter;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PointCloudExportersTest {
+    private static final FloatArrayPointCloud POINT_CLOUD =
+            new FloatArrayPointCloud(
+                    new float[] {
+                        0.25f, -1.5f, 2, 0, 0, 0, -0.0000004f, 123.456789f, 1e-6f, 0, 0, 0
+                    });
+
+    @Test
+    public void test_obj() throws IOException {
+        var file = Files.createTempFile("pointcloud", ".obj");
+        var exporter = new ObjExporter();
+        exporter.export(file, POINT_CLOUD);
+        Assertions.assertEquals(
+                """
+                v 0.250000 -1.500000 2.000000
+                v 0.000000 0.000000 0.000000
+                v -0.000000 123.456787 0.000001
+                v 0.000000 0.000000 0.000000
+                """,
+                Files.readString(file));
+        exporter.withSkipHoles(true).export(file, POINT_CLOUD);
+        Assertions.assertEquals(
+                """
+                v 0.250000 -1.500000 2.000000
+                v -0.000000 123.456787 0.000001
+                """,
+                Files.readString(file));
+    }
+
+    @Test
+    public void test_obj_same_as_format() throws IOException {
+        var data = new float[3000];
+        for (int i = 0; i < data.length; i++) data[i] = (float) ((i - 1500) * Math.PI / 7);
+        data[0] = -0.0f;
+        data[1] = -1e-9f;
+        var file = Files.createTempFile("pointcloud", ".obj");
+        new ObjExporter().export(file, new FloatArrayPointCloud(data));
+        var expected = new StringBuilder();
+        for (int i = 0; i < data.length; i += 3)
+            expected.append(
+                    String.format(Locale.ROOT, "v %f %f %f\n", data[i], data[i + 1], data[i + 2]));
+        Assertions.assertEquals(expected.toString(), Files.readString(file));
+    }
+
+    @Test
+    public void test_ply() throws IOException {
+        var file = Files.createTempFile("pointcloud", ".ply");
+        new PlyExporter().withSkipHoles(true).export(file, POINT_CLOUD);
+        var header =
+                """
+                ply
+                format %s 1.0
+                element vertex 0000000002
+                property float x
+                property float y
+                property float z
+                end_header
+                """
+                        .formatted(
+                                ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN
+                                        ? "binary_little_endian"
+                                        : "binary_big_endian");
+        assertFile(file, header, 0.25f, -1.5f, 2, -0.0000004f, 123.456789f, 1e-6f);
+    }
+
+    @Test
+    public void test_pcd() throws IOException {
+        var file = Files.createTempFile("pointcloud", ".pcd");
+        new PcdExporter().export(file, POINT_CLOUD);
+        var header =
+                """
+                # .PCD v0.7 - Point Cloud Data file format
+                VERSION 0.7
+                FIELDS x y z
+                SIZE 4 4 4
+                TYPE F F F
+                COUNT 1 1 1
+                WIDTH 4
+                HEIGHT 1
+                VIEWPOINT 0 0 0 1 0 0 0
+                POINTS 4
+                DATA binary
+                """;
+        assertFile(file, header, POINT_CLOUD.data());
+    }
+
+    private void assertFile(Path file, String expectedHeader, float... expectedPoints)
+            throws IOException {
+        var bytes = Files.readAllBytes(file);
+        var headerSize = expectedHeader.length();
+        Assertions.assertEquals(expectedHeader, new String(bytes, 0, headerSize));
+        var points =
+                ByteBuffer.wrap(bytes, headerSize, bytes.length - headerSize)
+                        .order(ByteOrder.nativeOrder())
+                        .asFloatBuffer();
+        var actualPoints = new float[points.remaining()];
+        points.get(actualPoints);
+        Assertions.assertEquals(Arrays.toString(expectedPoints), Arrays.toString(actualPoints));
+    }
+}
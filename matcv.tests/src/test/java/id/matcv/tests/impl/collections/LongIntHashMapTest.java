@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.impl.collections;
+
+import id.matcv.impl.collections.LongIntHashMap;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void test() {
+        var map = new LongIntHashMap(4);
+        var expected = new HashMap<Long, Integer>();
+        var random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            var key = random.nextLong(-1000, 1000) * 1_000_003L;
+            var prev = expected.putIfAbsent(key, i);
+            Assertions.assertEquals(
+                    prev == null ? LongIntHashMap.NO_VALUE : prev, map.putIfAbsent(key, i));
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> Assertions.assertEquals(v, map.get(k)));
+        Assertions.assertEquals(LongIntHashMap.NO_VALUE, map.get(7));
+        map.clear();
+        Assertions.assertEquals(0, map.size());
+        Assertions.assertEquals(LongIntHashMap.NO_VALUE, map.get(1_000_003L));
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import id.matcv.impl.ejml.KabschAlgorithm;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.stream.Stream;
 import org.ejml.data.DMatrixRMaj;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -83,4 +84,21 @@ public class KabschAlgorithmTest {
                 tc.tx.toString(),
                 new KabschAlgorithm().calculateTransformation(tc.from, tc.to).toString());
     }
+
+    @ParameterizedTest
+    @MethodSource("dataProvider")
+    public void test_reuse_with_offsets(TestCase tc) {
+        var kabsch = new KabschAlgorithm();
+        var from = new double[tc.from.data.length + 2];
+        System.arraycopy(tc.from.data, 0, from, 2, tc.from.data.length);
+        var to = new double[tc.to.data.length + 1];
+        System.arraycopy(tc.to.data, 0, to, 1, tc.to.data.length);
+        var tx = new double[17];
+        for (int i = 0; i < 3; i++) {
+            kabsch.calculateTransformation(from, 2, to, 1, tc.from.numRows, tx, 1);
+            assertEquals(
+                    tc.tx.toString(),
+                    DMatrixRMaj.wrap(4, 4, Arrays.copyOfRange(tx, 1, 17)).toString());
+        }
+    }
 }
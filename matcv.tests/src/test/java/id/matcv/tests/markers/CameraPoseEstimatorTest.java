@@ -19,12 +19,24 @@ package id.matcv.tests.markers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import id.matcv.converters.ConvertersToOpenCv;
 import id.matcv.markers.CameraPoseEstimator;
+import id.matcv.markers.CameraPoseEstimator.Solver;
+import id.matcv.markers.Marker;
 import id.matcv.markers.MarkerDetector2d;
+import id.matcv.markers.MarkerLocation2d;
+import id.matcv.markers.MarkerType;
 import id.matcv.tests.OpenCvTest;
 import id.matcv.types.camera.CameraInfoPredefined;
 import id.ndbuffers.NdBuffersJsonUtils;
+import java.util.ArrayList;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.opencv.calib3d.Calib3d;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfDouble;
+import org.opencv.core.MatOfPoint2f;
 import org.opencv.imgcodecs.Imgcodecs;
 
 /**
@@ -32,6 +44,7 @@ import org.opencv.imgcodecs.Imgcodecs;
  */
 public class CameraPoseEstimatorTest extends OpenCvTest {
     private static final NdBuffersJsonUtils jsonUtils = new NdBuffersJsonUtils();
+    private static final ConvertersToOpenCv converters = new ConvertersToOpenCv();
 
     @Test
     public void test() {
@@ -54,4 +67,41 @@ public class CameraPoseEstimatorTest extends OpenCvTest {
 ] }""",
                 jsonUtils.dumpAsJson(tx));
     }
+
+    @ParameterizedTest
+    @EnumSource(
+            value = Solver.class,
+            names = {"IPPE_SQUARE", "SQPNP"})
+    public void test_batch(Solver solver) {
+        var cameraInfo = CameraInfoPredefined.REALSENSE_D435i_640_480.getCameraInfo();
+        var cameraMat = converters.toMat64F(cameraInfo.cameraIntrinsics().cameraMatrix());
+        var distortionMat = converters.toMatOfDouble(cameraInfo.distortionCoefficients());
+        var rvecs = new double[][] {{0.1, -0.2, 0.05}, {-0.3, 0.25, 1.2}};
+        var tvecs = new double[][] {{0.03, 0.04, 0.5}, {-0.1, 0.05, 0.7}};
+        var markers = new ArrayList<MarkerLocation2d>();
+        for (int i = 0; i < rvecs.length; i++) {
+            var marker = new Marker(MarkerType.values()[i]);
+            var model = converters.copyToMatOfPoint32F(marker.create3dModel(0.001));
+            var corners = new MatOfPoint2f();
+            Calib3d.projectPoints(
+                    model,
+                    new MatOfDouble(rvecs[i]),
+                    new MatOfDouble(tvecs[i]),
+                    cameraMat,
+                    distortionMat,
+                    corners);
+            markers.add(MarkerLocation2d.create(marker, corners.reshape(2, 1)));
+        }
+        var txs = new CameraPoseEstimator(cameraInfo).withSolver(solver).estimate(markers);
+        assertEquals(rvecs.length, txs.size());
+        for (int i = 0; i < rvecs.length; i++) {
+            var rmx = new Mat();
+            Calib3d.Rodrigues(new MatOfDouble(rvecs[i]), rmx);
+            var tx = txs.get(i);
+            for (int r = 0; r < 3; r++) {
+                for (int c = 0; c < 3; c++) assertEquals(rmx.get(r, c)[0], tx.get(r, c), 1e-4);
+                assertEquals(tvecs[i][r], tx.get(r, 3), 1e-4);
+            }
+        }
+    }
 }
@@ -23,6 +23,7 @@ import id.matcv.markers.MarkerLocation3d;
 import id.matcv.markers.MarkerType;
 import id.ndbuffers.NdBuffersJsonUtils;
 import id.ndbuffers.matrix.Matrix4d;
+import id.ndbuffers.matrix.MatrixNd;
 import id.ndbuffers.matrix.Vector3d;
 import id.xfunctiontests.XAsserts;
 import java.util.List;
@@ -164,9 +165,7 @@ public class Marker3dUtilsTransformationTest {
         var actual = utils.transformAll(List.of(testCase.from), testCase.tx);
         System.out.println(actual);
         XAsserts.assertSimilar(
-                testCase.to.getData().duplicate().array(),
-                actual.get(0).getData().duplicate().array(),
-                0.01);
+                toArray(testCase.to.getData()), toArray(actual.get(0).getData()), 0.01);
     }
 
     @Test
@@ -217,4 +216,11 @@ public class Marker3dUtilsTransformationTest {
 ] }""",
                 jsonUtils.dumpAsJson(actual.get(1).getData()));
     }
+
+    private static double[] toArray(MatrixNd mx) {
+        var buf = mx.duplicate();
+        var data = new double[buf.remaining()];
+        buf.get(data);
+        return data;
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.markers;
+
+import id.matcv.converters.ConvertersToOpenCv;
+import id.matcv.markers.Marker;
+import id.matcv.markers.MarkerBoard;
+import id.matcv.markers.MarkerBoardPoseEstimator;
+import id.matcv.markers.MarkerLocation2d;
+import id.matcv.markers.MarkerType;
+import id.matcv.tests.OpenCvTest;
+import id.matcv.types.camera.CameraInfoPredefined;
+import id.ndbuffers.matrix.MatrixN2d;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opencv.calib3d.Calib3d;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfDouble;
+import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.MatOfPoint3f;
+import org.opencv.core.Scalar;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerBoardPoseEstimatorTest extends OpenCvTest {
+    private static final ConvertersToOpenCv converters = new ConvertersToOpenCv();
+
+    @Test
+    public void test() {
+        var cameraInfo = CameraInfoPredefined.REALSENSE_D435i_640_480.getCameraInfo();
+        var cameraMat = converters.toMat64F(cameraInfo.cameraIntrinsics().cameraMatrix());
+        var distortionMat = converters.toMatOfDouble(cameraInfo.distortionCoefficients());
+        // 3x2 grid of markers 10cm apart
+        var board = new MarkerBoard();
+        var types = MarkerType.values();
+        for (int i = 0; i < types.length; i++) {
+            board.withMarker(types[i], (i % 3) * 0.1, (i / 3) * 0.1, 0);
+        }
+        var rvec = new MatOfDouble(0.2, -0.1, 0.05);
+        var tvec = new MatOfDouble(-0.1, -0.05, 0.6);
+        var markers = new ArrayList<MarkerLocation2d>();
+        for (int i = 0; i < types.length; i++) {
+            var marker = new Marker(types[i]);
+            var model = marker.create3dModel(0.001);
+            var points3d = new MatOfPoint3f();
+            points3d.alloc(4);
+            for (int p = 0; p < 4; p++) {
+                points3d.put(
+                        p,
+                        0,
+                        model.get(p, 0) + (i % 3) * 0.1,
+                        model.get(p, 1) + (i / 3) * 0.1,
+                        model.get(p, 2));
+            }
+            var corners = new MatOfPoint2f();
+            Calib3d.projectPoints(points3d, rvec, tvec, cameraMat, distortionMat, corners);
+            if (types[i] == MarkerType.FOUR) {
+                // badly detected marker
+                Core.add(corners, new Scalar(40, -25), corners);
+            }
+            markers.add(MarkerLocation2d.create(marker, corners.reshape(2, 1)));
+        }
+        // marker without corners is ignored even when same marker with corners is present
+        markers.add(
+                0,
+                MarkerLocation2d.create(
+                        new Marker(MarkerType.ONE),
+                        new MatrixN2d(DoubleBuffer.wrap(new double[10])),
+                        Optional.empty(),
+                        Optional.empty()));
+        var pose = new MarkerBoardPoseEstimator(cameraInfo, board).estimate(markers).orElseThrow();
+        Assertions.assertEquals(EnumSet.of(MarkerType.FOUR), pose.outlierMarkers());
+        Assertions.assertEquals(5, pose.inlierMarkers().size());
+        var rmx = new Mat();
+        Calib3d.Rodrigues(rvec, rmx);
+        var tx = pose.boardToCamera();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++)
+                Assertions.assertEquals(rmx.get(r, c)[0], tx.get(r, c), 1e-4);
+            Assertions.assertEquals(tvec.get(r, 0)[0], tx.get(r, 3), 1e-4);
+        }
+        // camera pose is inverse of the board pose
+        var cameraPose = pose.cameraToBoard();
+        for (int r = 0; r < 3; r++) {
+            var v = 0.;
+            for (int k = 0; k < 3; k++) v += cameraPose.get(r, k) * tx.get(k, 3);
+            Assertions.assertEquals(0, v + cameraPose.get(r, 3), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.markers;
+
+import id.matcv.markers.MarkerDetector2d;
+import id.matcv.markers.MarkerDetector2d.DetectionMode;
+import id.matcv.markers.MarkerLocation2d;
+import id.matcv.tests.OpenCvTest;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Scalar;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerDetector2dTest extends OpenCvTest {
+
+    @Test
+    public void test_tracking() {
+        Mat rgb =
+                Imgcodecs.imread(Paths.get("samples/00000000-rgb.png").toAbsolutePath().toString());
+        var fullFrameDetector = new MarkerDetector2d();
+        var expected = fullFrameDetector.detect(rgb).markersSortedByType();
+        Assertions.assertEquals(DetectionMode.FULL_FRAME, fullFrameDetector.lastDetectionMode());
+        Assertions.assertEquals(5, expected.size());
+        var detector = new MarkerDetector2d().withTracking(3, 0.5).withCoarseDetection(0.5);
+        // first frame is coarse full frame detection, next ones are tracked and then
+        // periodic full frame detection again
+        var expectedModes =
+                List.of(
+                        DetectionMode.COARSE,
+                        DetectionMode.TRACKING,
+                        DetectionMode.TRACKING,
+                        DetectionMode.TRACKING,
+                        DetectionMode.COARSE);
+        for (var mode : expectedModes) {
+            assertMarkers(expected, detector.detect(rgb).markersSortedByType());
+            Assertions.assertEquals(mode, detector.lastDetectionMode());
+        }
+
+        // one of the tracked markers disappears
+        var covered = rgb.clone();
+        var points = expected.get(0).points();
+        var topLeft = new Point(Double.MAX_VALUE, Double.MAX_VALUE);
+        var bottomRight = new Point(0, 0);
+        for (var p : points) {
+            topLeft = new Point(Math.min(topLeft.x, p.getX()), Math.min(topLeft.y, p.getY()));
+            bottomRight =
+                    new Point(Math.max(bottomRight.x, p.getX()), Math.max(bottomRight.y, p.getY()));
+        }
+        Imgproc.rectangle(covered, topLeft, bottomRight, new Scalar(255, 255, 255), Imgproc.FILLED);
+        var expectedCovered = new MarkerDetector2d().detect(covered).markersSortedByType();
+        Assertions.assertEquals(4, expectedCovered.size());
+        detector.detect(rgb);
+        Assertions.assertEquals(DetectionMode.TRACKING, detector.lastDetectionMode());
+        assertMarkers(expectedCovered, detector.detect(covered).markersSortedByType());
+        Assertions.assertEquals(DetectionMode.COARSE, detector.lastDetectionMode());
+    }
+
+    private void assertMarkers(List<MarkerLocation2d> expected, List<MarkerLocation2d> actual) {
+        Assertions.assertEquals(
+                expected.stream().map(MarkerLocation2d::marker).toList(),
+                actual.stream().map(MarkerLocation2d::marker).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertTrue(
+                    expected.get(i).center().distance(actual.get(i).center()) < 1,
+                    actual.get(i).toString());
+        }
+    }
+}
@@ -22,10 +22,15 @@ import id.matcv.markers.MarkerDetector3d;
 import id.matcv.tests.OpenCvTest;
 import id.matcv.types.camera.CameraInfoPredefined;
 import id.matcv.types.datatables.DataTable2;
+import id.matcv.types.pointcloud.PointCloud;
 import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.opencv.core.Mat;
@@ -100,4 +105,79 @@ public class MarkerDetector3dTest extends OpenCvTest {
  "p4": { "x": 0.11131, "y": 0.0976, "z": 0.369 } }]]""",
                 markers.toString());
     }
+
+    @Test
+    public void test_detector_reuse() {
+        Mat rgb =
+                Imgcodecs.imread(Paths.get("samples/00000000-rgb.png").toAbsolutePath().toString());
+        Mat depth =
+                Imgcodecs.imread(
+                        Paths.get("samples/00000000-depth.png").toAbsolutePath().toString(),
+                        Imgcodecs.IMREAD_ANYDEPTH);
+        var segment =
+                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+        var cameraInfo = CameraInfoPredefined.REALSENSE_D435i_640_480.getCameraInfo();
+        var pc =
+                new PointCloudFromMemorySegmentAccessor(
+                        segment, cameraInfo.cameraIntrinsics(), 1000);
+        var detector = new MarkerDetector3d(cameraInfo);
+        // detector session is reused between the frames and between the calls
+        var markers =
+                detector.detectInPointCloud(new DataTable2<>(List.of(rgb, rgb), List.of(pc, pc)))
+                        .col2();
+        var expected = markers.get(0).toString();
+        Assertions.assertEquals(5, markers.get(0).size());
+        Assertions.assertEquals(expected, markers.get(1).toString());
+        markers = detector.detectInPointCloud(new DataTable2<>(List.of(rgb), List.of(pc))).col2();
+        Assertions.assertEquals(expected, markers.get(0).toString());
+    }
+
+    @Test
+    public void test_parallel() {
+        var rgbFile = Paths.get("samples/00000000-rgb.png").toAbsolutePath();
+        Mat depth =
+                Imgcodecs.imread(
+                        Paths.get("samples/00000000-depth.png").toAbsolutePath().toString(),
+                        Imgcodecs.IMREAD_ANYDEPTH);
+        var segment =
+                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+        var cameraInfo = CameraInfoPredefined.REALSENSE_D435i_640_480.getCameraInfo();
+        var n = 8;
+        // every frame has different point cloud, so any reordering of the results is visible
+        var pcs = new ArrayList<PointCloud>();
+        for (int i = 0; i < n; i++) {
+            pcs.add(
+                    new PointCloudFromMemorySegmentAccessor(
+                            segment, cameraInfo.cameraIntrinsics(), 1000 + 250 * i));
+        }
+        try (var arena = Arena.ofConfined()) {
+            // frame without depth where no markers can be found
+            pcs.set(
+                    3,
+                    new PointCloudFromMemorySegmentAccessor(
+                            arena.allocate(segment.byteSize()),
+                            cameraInfo.cameraIntrinsics(),
+                            1000));
+            var input = new DataTable2<>(Collections.nCopies(n, rgbFile), pcs);
+            var expected = new MarkerDetector3d(cameraInfo).detectInFiles(input);
+            Assertions.assertEquals(n, expected.size());
+            Assertions.assertEquals(5, expected.col2(0).size());
+            Assertions.assertEquals(0, expected.col2(3).size());
+            for (int i = 1; i < n; i++) {
+                Assertions.assertNotEquals(
+                        expected.col2(i - 1).toString(), expected.col2(i).toString());
+            }
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var actual =
+                        new MarkerDetector3d(cameraInfo)
+                                .withExecutor(executor)
+                                .detectInFiles(input);
+                Assertions.assertEquals(n, actual.size());
+                for (int i = 0; i < n; i++) {
+                    Assertions.assertEquals(expected.col1(i).toString(), actual.col1(i).toString());
+                    Assertions.assertEquals(expected.col2(i).toString(), actual.col2(i).toString());
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.markers;
+
+import id.matcv.markers.Marker;
+import id.matcv.markers.MarkerLocation2d;
+import id.matcv.markers.MarkerType;
+import id.matcv.tests.OpenCvTest;
+import id.ndbuffers.matrix.MatrixN2d;
+import id.ndbuffers.matrix.Vector2d;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerLocation2dTest extends OpenCvTest {
+
+    @Test
+    public void test_create_from_corners() {
+        var corners = new Mat(1, 4, CvType.CV_32FC2);
+        corners.put(0, 0, new float[] {10.5f, 20.25f, 30.5f, 22.75f, 31.25f, 40.5f, 9.75f, 41.25f});
+        var marker = new Marker(MarkerType.TWO);
+        var actual = MarkerLocation2d.create(marker, corners);
+        var p1 = new Vector2d(10.5, 20.25);
+        var p2 = new Vector2d(30.5, 22.75);
+        var p3 = new Vector2d(31.25, 40.5);
+        var p4 = new Vector2d(9.75, 41.25);
+        var center = new Vector2d(20.5, 31.1875);
+        var expected =
+                MarkerLocation2d.create(
+                        marker,
+                        new MatrixN2d(center, p1, p2, p3, p4),
+                        Optional.empty(),
+                        Optional.empty());
+        Assertions.assertEquals(expected.points().toString(), actual.points().toString());
+        Assertions.assertEquals(expected.vector().toString(), actual.vector().toString());
+        Assertions.assertEquals(expected.heightPixels(), actual.heightPixels(), 1e-9);
+        Assertions.assertEquals(expected.widthPixels(), actual.widthPixels(), 1e-9);
+        Assertions.assertEquals(4, actual.corners().orElseThrow().toList().size());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.markers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import id.matcv.markers.Marker;
+import id.matcv.markers.Marker3dUtils;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerLocation3dBatch;
+import id.matcv.markers.MarkerType;
+import id.matcv.registration.BatchRigidRegistration;
+import id.mathcat.NdBuffersMath;
+import id.ndbuffers.matrix.Matrix4d;
+import id.ndbuffers.matrix.Vector3d;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerLocation3dBatchTest {
+
+    private final List<MarkerLocation3d> markers =
+            List.of(
+                    new MarkerLocation3d(
+                            new Marker(MarkerType.ONE),
+                            new Vector3d(0, 0, 0),
+                            new Vector3d(2, 3, 1),
+                            new Vector3d(2, -3, 1),
+                            new Vector3d(-2, -3, 1),
+                            new Vector3d(-2, 3, 1),
+                            Optional.empty()),
+                    new MarkerLocation3d(
+                            new Marker(MarkerType.TWO),
+                            new Vector3d(1, 1, 1),
+                            new Vector3d(2, 2, 2),
+                            new Vector3d(3, 3, 3),
+                            new Vector3d(4, 4, 4),
+                            new Vector3d(5, 5, 6),
+                            Optional.empty()));
+
+    @Test
+    public void test_views() {
+        var batch = new MarkerLocation3dBatch(markers);
+        assertEquals(2, batch.size());
+        assertEquals(MarkerLocation3dBatch.STRIDE * 2, batch.data().length);
+        assertEquals(MarkerType.TWO, batch.get(1).marker().type());
+        assertEquals(6, batch.get(1).p4().getZ());
+        batch.data()[MarkerLocation3dBatch.STRIDE + 2] = 7;
+        assertEquals(7, batch.get(1).center().getZ());
+        // source markers are not modified
+        assertEquals(1, markers.get(1).center().getZ());
+    }
+
+    @Test
+    public void test_view_data() {
+        var batch = new MarkerLocation3dBatch(markers);
+        var view = batch.get(1).getData();
+        assertEquals(MarkerLocation3dBatch.STRIDE, view.duplicate().arrayOffset());
+        var tx = new Matrix4d(new double[] {1, 0, 0, 1, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1});
+        var transformed = new NdBuffersMath().transform(view, tx);
+        assertEquals(5, transformed.getRows());
+        assertEquals(6, transformed.get(4, 0));
+    }
+
+    @Test
+    public void test_transformAll() {
+        var tx = new Matrix4d(new double[] {0, -1, 0, 1, 1, 0, 0, 2, 0, 0, 1, 3, 0, 0, 0, 1});
+        var utils = new Marker3dUtils();
+        var batch = utils.transformAll(markers, tx);
+        assertEquals(-2, batch.get(0).p1().getX());
+        assertEquals(4, batch.get(0).p1().getY());
+        assertEquals(4, batch.get(0).p1().getZ());
+        assertEquals(-4, batch.get(1).p4().getX());
+        // transforming batch does not modify it
+        var batch2 = utils.transformAll(batch, tx);
+        assertEquals(-2, batch.get(0).p1().getX());
+        assertEquals(-3, batch2.get(0).p1().getX());
+    }
+
+    @Test
+    public void test_registration() {
+        var from = new MarkerLocation3dBatch(markers);
+        var to =
+                from.copy()
+                        .transform(
+                                new Matrix4d(
+                                        new double[] {
+                                            1, 0, 0, 1, 0, 1, 0, 2, 0, 0, 1, 3, 0, 0, 0, 1
+                                        }));
+        var registration = new BatchRigidRegistration();
+        var expected = registration.calculateTransformations((List<MarkerLocation3d>) from, to);
+        var actual = registration.calculateTransformations(from, to);
+        assertEquals(2, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertArrayEquals(
+                    expected.get(i).duplicate().array(), actual.get(i).duplicate().array());
+        }
+        assertEquals(3, actual.get(0).get(2, 3), 1e-9);
+        assertSame(
+                to,
+                to.transform(
+                        new Matrix4d(
+                                new double[] {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1})));
+    }
+}
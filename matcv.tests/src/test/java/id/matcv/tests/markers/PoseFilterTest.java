@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.markers;
+
+import id.matcv.markers.PoseFilter;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PoseFilterTest {
+
+    @Test
+    public void test_constant() {
+        var filter = new PoseFilter(1);
+        var tx = pose(0.3, -0.2, 1.1, 0.1, 0.2, 0.3);
+        var out = new double[16];
+        for (int i = 0; i < 3; i++) {
+            filter.update(0, tx, out);
+            Assertions.assertArrayEquals(tx, out, 1e-9);
+        }
+    }
+
+    @Test
+    public void test_noise() {
+        var filter = new PoseFilter(2).withSmoothing(0.2, 0.2);
+        var random = new Random(1);
+        var expected = pose(0.3, -0.2, 1.1, 0.1, 0.2, 0.3);
+        var out = new double[16];
+        double inputError = 0, outputError = 0;
+        for (int i = 0; i < 200; i++) {
+            var tx =
+                    pose(
+                            0.3 + random.nextGaussian() * 0.01,
+                            -0.2 + random.nextGaussian() * 0.01,
+                            1.1 + random.nextGaussian() * 0.01,
+                            0.1 + random.nextGaussian() * 0.01,
+                            0.2 + random.nextGaussian() * 0.01,
+                            0.3 + random.nextGaussian() * 0.01);
+            // second pose is not affected by the first one
+            filter.update(1, pose(0, 0, 0, 0, 0, 0), out);
+            filter.update(0, tx, out);
+            if (i < 50) continue;
+            inputError += error(expected, tx);
+            outputError += error(expected, out);
+        }
+        Assertions.assertTrue(
+                outputError < inputError / 2, "input " + inputError + ", output " + outputError);
+    }
+
+    @Test
+    public void test_velocity() {
+        var filter = new PoseFilter(1).withSmoothing(0.5, 0.5).withVelocity(0.2);
+        var out = new double[16];
+        for (int i = 0; i < 100; i++) filter.update(0, pose(i * 0.01, 0, 1, 0, 0, 0), out);
+        // no lag with constant velocity model
+        Assertions.assertEquals(0.99, out[3], 1e-4);
+    }
+
+    @Test
+    public void test_reset() {
+        var filter = new PoseFilter(1).withSmoothing(0.1, 0.1).withResetDistance(0.5);
+        var out = new double[16];
+        filter.update(0, pose(0, 0, 1, 0, 0, 0), out);
+        filter.update(0, pose(0.2, 0, 1, 0, 0, 0), out);
+        Assertions.assertEquals(0.02, out[3], 1e-9);
+        var tx = pose(1, 0, 1, 0, 0, 3);
+        filter.update(0, tx, out);
+        Assertions.assertArrayEquals(tx, out, 1e-9);
+    }
+
+    @Test
+    public void test_quaternion_sign() {
+        var filter = new PoseFilter(1).withSmoothing(0.5, 0.5);
+        var out = new double[16];
+        // rotations around 180 degrees where quaternion sign flips
+        filter.update(0, pose(0, 0, 0, 0, 0, Math.PI - 0.1), out);
+        filter.update(0, pose(0, 0, 0, 0, 0, -Math.PI + 0.1), out);
+        Assertions.assertArrayEquals(pose(0, 0, 0, 0, 0, Math.PI), out, 1e-9);
+    }
+
+    /** Rigid transformation with rotation given as Euler angles ZYX */
+    private double[] pose(double x, double y, double z, double rx, double ry, double rz) {
+        double cx = Math.cos(rx), sx = Math.sin(rx);
+        double cy = Math.cos(ry), sy = Math.sin(ry);
+        double cz = Math.cos(rz), sz = Math.sin(rz);
+        return new double[] {
+            cz * cy,
+            cz * sy * sx - sz * cx,
+            cz * sy * cx + sz * sx,
+            x,
+            sz * cy,
+            sz * sy * sx + cz * cx,
+            sz * sy * cx - cz * sx,
+            y,
+            -sy,
+            cy * sx,
+            cy * cx,
+            z,
+            0,
+            0,
+            0,
+            1
+        };
+    }
+
+    private double error(double[] a, double[] b) {
+        var sum = 0.;
+        for (int i = 0; i < 12; i++) sum += (a[i] - b[i]) * (a[i] - b[i]);
+        return sum;
+    }
+}
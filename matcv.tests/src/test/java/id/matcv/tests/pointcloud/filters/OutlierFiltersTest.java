@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.pointcloud.filters;
+
+import id.matcv.pointcloud.filters.OutlierFilter;
+import id.matcv.pointcloud.filters.RadiusOutlierFilter;
+import id.matcv.pointcloud.filters.StatisticalOutlierFilter;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.PointCloud;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class OutlierFiltersTest {
+    private static final int SIZE = 10_000;
+
+    /** Indices of outliers inside the test point cloud */
+    private static final int[] OUTLIERS = {17, 4321, 9999};
+
+    static Stream<OutlierFilter> dataProvider() {
+        return Stream.of(
+                new StatisticalOutlierFilter(8, 3),
+                new StatisticalOutlierFilter(8, 3).withParallel(false),
+                new RadiusOutlierFilter(0.05, 2),
+                new RadiusOutlierFilter(0.05, 2).withParallel(false));
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataProvider")
+    public void test(OutlierFilter filter) {
+        var pc = createPointCloud();
+        var outliers = filter.findOutliers(pc);
+        Assertions.assertArrayEquals(OUTLIERS, outliers.stream().toArray());
+
+        var masked = filter.mask(pc);
+        Assertions.assertEquals(pc.size(), masked.size());
+        for (var i : OUTLIERS) {
+            Assertions.assertTrue(masked.isHole(i));
+            Assertions.assertSame(PointCloud.HOLE, masked.getPoint(i));
+        }
+        Assertions.assertEquals(pc.getPoint(18).toString(), masked.getPoint(18).toString());
+        var data = new float[pc.size() * 3];
+        masked.copyTo(0, pc.size(), data, 0);
+        Assertions.assertEquals(0, data[4321 * 3 + 2]);
+        Assertions.assertEquals(pc.data()[4322 * 3 + 2], data[4322 * 3 + 2]);
+
+        // holes and outliers are removed
+        var filtered = filter.apply(pc);
+        Assertions.assertEquals(SIZE - 1 - OUTLIERS.length, filtered.size());
+    }
+
+    /** Points on the plane z = 1 with few points far away from it and one hole */
+    private FloatArrayPointCloud createPointCloud() {
+        var random = new Random(1);
+        var data = new float[SIZE * 3];
+        for (int i = 0; i < SIZE; i++) {
+            data[i * 3] = random.nextFloat();
+            data[i * 3 + 1] = random.nextFloat();
+            data[i * 3 + 2] = 1 + random.nextFloat() * 0.001f;
+        }
+        for (var i : OUTLIERS) data[i * 3 + 2] = 2 + i % 3 * 0.1f;
+        // hole
+        data[5000 * 3] = data[5000 * 3 + 1] = data[5000 * 3 + 2] = 0;
+        return new FloatArrayPointCloud(data);
+    }
+}
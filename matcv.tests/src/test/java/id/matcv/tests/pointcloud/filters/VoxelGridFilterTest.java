@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.pointcloud.filters;
+
+import id.matcv.pointcloud.filters.VoxelGridFilter;
+import id.matcv.pointcloud.filters.VoxelGridFilter.Mode;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VoxelGridFilterTest {
+    private static final FloatArrayPointCloud POINT_CLOUD =
+            new FloatArrayPointCloud(
+                    new float[] {
+                        0.11f, 0.12f, 0.13f, //
+                        0.51f, 0.52f, 0.53f, //
+                        0, 0, 0, //
+                        0.13f, 0.14f, 0.15f, //
+                        -0.01f, 0.01f, 0.01f, //
+                        0.54f, 0.55f, 0.56f
+                    });
+
+    @Test
+    public void test_centroid() {
+        var actual = new VoxelGridFilter(0.1).apply(POINT_CLOUD);
+        Assertions.assertArrayEquals(
+                new float[] {0.12f, 0.13f, 0.14f, 0.525f, 0.535f, 0.545f, -0.01f, 0.01f, 0.01f},
+                actual.data(),
+                1e-6f);
+    }
+
+    @Test
+    public void test_first_point() {
+        var actual = new VoxelGridFilter(0.1).withMode(Mode.FIRST_POINT).apply(POINT_CLOUD);
+        Assertions.assertEquals(
+                "[0.11, 0.12, 0.13, 0.51, 0.52, 0.53, -0.01, 0.01, 0.01]",
+                Arrays.toString(actual.data()));
+    }
+
+    @Test
+    public void test_parallel() {
+        var random = new Random(1);
+        var data = new float[3 * 500_000];
+        for (int i = 0; i < data.length; i++) data[i] = random.nextFloat(-1, 1);
+        var pc = new FloatArrayPointCloud(data);
+        var filter = new VoxelGridFilter(0.05);
+        var expected = filter.withParallel(false).apply(pc);
+        Assertions.assertTrue(expected.size() > 40 * 40 * 40 * 0.99);
+        var actual = filter.withParallel(true).apply(pc);
+        Assertions.assertArrayEquals(expected.data(), actual.data());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.pointcloud.index;
+
+import id.matcv.pointcloud.index.KdTree;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KdTreeTest {
+    private static final int SIZE = 20_000;
+    private static final FloatArrayPointCloud POINT_CLOUD = createPointCloud();
+    private static final KdTree TREE = new KdTree(POINT_CLOUD);
+
+    @Test
+    public void test_size() {
+        // every 10th point is a hole
+        Assertions.assertEquals(SIZE - SIZE / 10, TREE.size());
+        for (int pos = 0; pos < TREE.size(); pos++) {
+            var p = POINT_CLOUD.getPoint(TREE.id(pos));
+            Assertions.assertEquals((float) p.getX(), TREE.x(pos));
+            Assertions.assertEquals((float) p.getY(), TREE.y(pos));
+            Assertions.assertEquals((float) p.getZ(), TREE.z(pos));
+        }
+    }
+
+    @Test
+    public void test_nearest() {
+        var random = new Random(2);
+        var k = 7;
+        var ids = new int[k];
+        var distances = new float[k];
+        for (int q = 0; q < 200; q++) {
+            float x = random.nextFloat(), y = random.nextFloat(), z = random.nextFloat();
+            var expected =
+                    IntStream.range(0, SIZE)
+                            .filter(i -> !POINT_CLOUD.isHole(i))
+                            .boxed()
+                            .sorted(Comparator.comparing(i -> distance(i, x, y, z)))
+                            .limit(k)
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+            Assertions.assertEquals(k, TREE.nearest(x, y, z, k, ids, distances));
+            Assertions.assertArrayEquals(expected, ids);
+            for (int i = 0; i < k; i++)
+                Assertions.assertEquals(distance(ids[i], x, y, z), distances[i]);
+        }
+        Assertions.assertEquals(
+                TREE.size(),
+                TREE.nearest(0, 0, 0, SIZE, new int[SIZE], new float[SIZE]),
+                "k is bigger than the tree");
+    }
+
+    @Test
+    public void test_radius() {
+        var random = new Random(3);
+        var radius = 0.05f;
+        for (int q = 0; q < 200; q++) {
+            float x = random.nextFloat(), y = random.nextFloat(), z = random.nextFloat();
+            var expected =
+                    IntStream.range(0, SIZE)
+                            .filter(i -> !POINT_CLOUD.isHole(i))
+                            .filter(i -> distance(i, x, y, z) <= radius * radius)
+                            .toArray();
+            var actual = new ArrayList<Integer>();
+            TREE.forEachInRadius(x, y, z, radius, actual::add);
+            Assertions.assertArrayEquals(
+                    expected, actual.stream().mapToInt(Integer::intValue).sorted().toArray());
+            Assertions.assertEquals(
+                    expected.length, TREE.countInRadius(x, y, z, radius, Integer.MAX_VALUE));
+            Assertions.assertEquals(
+                    Math.min(3, expected.length), TREE.countInRadius(x, y, z, radius, 3));
+        }
+    }
+
+    @Test
+    public void test_box() {
+        var random = new Random(4);
+        for (int q = 0; q < 200; q++) {
+            float x = random.nextFloat(), y = random.nextFloat(), z = random.nextFloat();
+            var d = 0.1f;
+            var data = POINT_CLOUD.data();
+            var expected =
+                    IntStream.range(0, SIZE)
+                            .filter(i -> !POINT_CLOUD.isHole(i))
+                            .filter(
+                                    i ->
+                                            Math.abs(data[i * 3] - x) <= d
+                                                    && Math.abs(data[i * 3 + 1] - y) <= d
+                                                    && Math.abs(data[i * 3 + 2] - z) <= d)
+                            .toArray();
+            var actual = new ArrayList<Integer>();
+            TREE.forEachInBox(x - d, y - d, z - d, x + d, y + d, z + d, actual::add);
+            Assertions.assertArrayEquals(
+                    expected, actual.stream().mapToInt(Integer::intValue).sorted().toArray());
+        }
+    }
+
+    @Test
+    public void test_batch() {
+        // big enough to be built in parallel
+        var random = new Random(5);
+        var data = new float[3 * 100_000];
+        for (int i = 0; i < data.length; i++) data[i] = random.nextFloat();
+        var pc = new FloatArrayPointCloud(data);
+        var sequentialTree = new KdTree(pc);
+        var tree = new KdTree(pc, ForkJoinPool.commonPool());
+        var numOfQueries = 5000;
+        var queries = new float[numOfQueries * 3];
+        for (int i = 0; i < queries.length; i++) queries[i] = random.nextFloat();
+        var k = 5;
+        var ids = new int[numOfQueries * k];
+        var distances = new float[numOfQueries * k];
+        var counts = new int[numOfQueries];
+        tree.nearest(queries, k, ids, distances, counts);
+        var expectedIds = new int[k];
+        var expectedDistances = new float[k];
+        for (int q = 0; q < numOfQueries; q++) {
+            float x = queries[q * 3], y = queries[q * 3 + 1], z = queries[q * 3 + 2];
+            Assertions.assertEquals(k, counts[q]);
+            sequentialTree.nearest(x, y, z, k, expectedIds, expectedDistances);
+            Assertions.assertArrayEquals(expectedIds, Arrays.copyOfRange(ids, q * k, q * k + k));
+            Assertions.assertArrayEquals(
+                    expectedDistances, Arrays.copyOfRange(distances, q * k, q * k + k));
+        }
+        tree.countInRadius(queries, 0.05f, 100, counts);
+        for (int q = 0; q < numOfQueries; q++)
+            Assertions.assertEquals(
+                    sequentialTree.countInRadius(
+                            queries[q * 3], queries[q * 3 + 1], queries[q * 3 + 2], 0.05f, 100),
+                    counts[q]);
+    }
+
+    private static float distance(int i, float x, float y, float z) {
+        var data = POINT_CLOUD.data();
+        var dx = data[i * 3] - x;
+        var dy = data[i * 3 + 1] - y;
+        var dz = data[i * 3 + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static FloatArrayPointCloud createPointCloud() {
+        var random = new Random(1);
+        var data = new float[SIZE * 3];
+        for (int i = 0; i < SIZE; i++) {
+            if (i % 10 == 0) continue;
+            data[i * 3] = random.nextFloat();
+            data[i * 3 + 1] = random.nextFloat();
+            data[i * 3 + 2] = random.nextFloat();
+        }
+        return new FloatArrayPointCloud(data);
+    }
+}
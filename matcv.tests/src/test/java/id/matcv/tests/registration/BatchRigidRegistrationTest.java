@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.registration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import id.matcv.impl.ejml.KabschAlgorithm;
+import id.matcv.markers.Marker;
+import id.matcv.markers.Marker3dUtils;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerType;
+import id.matcv.registration.BatchRigidRegistration;
+import id.ndbuffers.matrix.MatrixN3d;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BatchRigidRegistrationTest {
+    private static final int NUM_PAIRS = 1000;
+    private static final int NUM_POINTS = MarkerLocation3d.NUM_OF_POINTS;
+
+    private final double[] from = new double[NUM_PAIRS * NUM_POINTS * 3];
+    private final double[] to = new double[NUM_PAIRS * NUM_POINTS * 3];
+
+    /** Random point sets where each target set is rotated and translated source set */
+    public BatchRigidRegistrationTest() {
+        var random = new Random(42);
+        for (int p = 0; p < NUM_PAIRS; p++) {
+            var angle = random.nextDouble() * Math.PI;
+            var cos = Math.cos(angle);
+            var sin = Math.sin(angle);
+            var tx = random.nextDouble();
+            var ty = random.nextDouble();
+            var tz = random.nextDouble();
+            for (int i = 0; i < NUM_POINTS; i++) {
+                var o = (p * NUM_POINTS + i) * 3;
+                from[o] = random.nextDouble();
+                from[o + 1] = random.nextDouble();
+                from[o + 2] = random.nextDouble();
+                to[o] = cos * from[o] - sin * from[o + 1] + tx;
+                to[o + 1] = sin * from[o] + cos * from[o + 1] + ty;
+                to[o + 2] = from[o + 2] + tz;
+            }
+        }
+    }
+
+    @Test
+    public void test_same_as_single_pair() {
+        var expected = new double[NUM_PAIRS * 16];
+        var kabsch = new KabschAlgorithm();
+        for (int p = 0; p < NUM_PAIRS; p++) {
+            var o = p * NUM_POINTS * 3;
+            kabsch.calculateTransformation(from, o, to, o, NUM_POINTS, expected, p * 16);
+        }
+        var pool = new ForkJoinPool(4);
+        try {
+            for (var isParallel : new boolean[] {false, true}) {
+                var actual = new double[NUM_PAIRS * 16];
+                assertEquals(
+                        NUM_PAIRS,
+                        new BatchRigidRegistration()
+                                .withForkJoinPool(pool)
+                                .withParallel(isParallel)
+                                .calculateTransformations(from, to, NUM_POINTS, actual));
+                assertArrayEquals(expected, actual);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // z axis rotation + translation of the first pair
+        assertEquals(1, expected[10], 1e-9);
+        assertEquals(0, expected[12], 1e-9);
+        assertEquals(1, expected[15], 1e-9);
+    }
+
+    @Test
+    public void test_markers() {
+        var fromMarkers = new ArrayList<MarkerLocation3d>();
+        var toMarkers = new ArrayList<MarkerLocation3d>();
+        for (int p = 0; p < NUM_PAIRS; p++) {
+            var o = p * NUM_POINTS * 3;
+            fromMarkers.add(marker(Arrays.copyOfRange(from, o, o + NUM_POINTS * 3)));
+            toMarkers.add(marker(Arrays.copyOfRange(to, o, o + NUM_POINTS * 3)));
+        }
+        var utils = new Marker3dUtils();
+        var actual = utils.calculateTransformationMatrices(fromMarkers, toMarkers);
+        assertEquals(NUM_PAIRS, actual.size());
+        for (int p = 0; p < NUM_PAIRS; p += 97) {
+            var expected =
+                    utils.calculateTransformationMatrix(fromMarkers.get(p), toMarkers.get(p));
+            assertArrayEquals(expected.duplicate().array(), actual.get(p).duplicate().array());
+        }
+    }
+
+    private MarkerLocation3d marker(double[] data) {
+        return new MarkerLocation3d(
+                new Marker(MarkerType.ONE),
+                new MatrixN3d(DoubleBuffer.wrap(data)),
+                Optional.empty(),
+                Optional.empty());
+    }
+}
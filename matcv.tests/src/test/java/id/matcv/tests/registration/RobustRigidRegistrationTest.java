@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.registration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import id.matcv.markers.Marker;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerType;
+import id.matcv.registration.RobustRigidRegistration;
+import id.matcv.registration.RobustRigidRegistration.Method;
+import id.ndbuffers.matrix.MatrixNd;
+import id.ndbuffers.matrix.Vector3d;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RobustRigidRegistrationTest {
+    private static final int NUM_POINTS = 50;
+    private static final int NUM_OUTLIERS = 10;
+
+    /** Rotation by 30 degrees around z axis and translation */
+    private static final double[] TX = {
+        Math.cos(Math.PI / 6),
+        -Math.sin(Math.PI / 6),
+        0,
+        0.1,
+        Math.sin(Math.PI / 6),
+        Math.cos(Math.PI / 6),
+        0,
+        -0.2,
+        0,
+        0,
+        1,
+        0.5,
+        0,
+        0,
+        0,
+        1
+    };
+
+    private final double[] from = new double[NUM_POINTS * 3];
+    private final double[] to = new double[NUM_POINTS * 3];
+    private final BitSet outliers = new BitSet();
+
+    public RobustRigidRegistrationTest() {
+        var random = new Random(1);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            var o = i * 3;
+            for (int k = 0; k < 3; k++) from[o + k] = random.nextDouble();
+            transform(TX, from, o, to, o);
+            if (i % (NUM_POINTS / NUM_OUTLIERS) == 0) {
+                outliers.set(i);
+                to[o] += 0.1 + random.nextDouble();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    public void test_outliers(Method method) {
+        var registration =
+                new RobustRigidRegistration()
+                        .withMethod(method)
+                        .withSeed(42)
+                        .estimate(from, to, NUM_POINTS)
+                        .get();
+        var expectedInliers = new BitSet();
+        expectedInliers.set(0, NUM_POINTS);
+        expectedInliers.andNot(outliers);
+        assertEquals(expectedInliers, registration.inliers());
+        assertArrayEquals(TX, registration.tx().duplicate().array(), 1e-9);
+    }
+
+    @Test
+    public void test_lmeds_without_outliers() {
+        // most of the points are exact, the rest have small noise, far below the threshold
+        var clean = to.clone();
+        var random = new Random(2);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            transform(TX, from, i * 3, clean, i * 3);
+            if (i % 3 == 0) clean[i * 3 + 2] += 1e-6 * random.nextGaussian();
+        }
+        var registration =
+                new RobustRigidRegistration()
+                        .withMethod(Method.LMEDS)
+                        .withSeed(42)
+                        .estimate(from, clean, NUM_POINTS)
+                        .get();
+        // median residual is close to 0, but noisy points stay inliers
+        assertEquals(NUM_POINTS, registration.inliers().cardinality());
+        assertArrayEquals(TX, registration.tx().duplicate().array(), 1e-6);
+    }
+
+    @Test
+    public void test_deterministic() {
+        var pool = new ForkJoinPool(4);
+        try {
+            var serial =
+                    new RobustRigidRegistration()
+                            .withSeed(7)
+                            .withThreshold(1e-6)
+                            .withParallel(false)
+                            .estimate(from, to, NUM_POINTS)
+                            .get();
+            for (int i = 0; i < 3; i++) {
+                var parallel =
+                        new RobustRigidRegistration()
+                                .withSeed(7)
+                                .withThreshold(1e-6)
+                                .withForkJoinPool(pool)
+                                .estimate(from, to, NUM_POINTS)
+                                .get();
+                assertEquals(serial.inliers(), parallel.inliers());
+                assertArrayEquals(
+                        serial.tx().duplicate().array(), parallel.tx().duplicate().array());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void test_marker_with_bad_corner() {
+        var fromMarker = marker(new double[] {0, 0, 0, 1, 1, 0, 1, -1, 0, -1, -1, 0, -1, 1, 0});
+        var toData = new double[15];
+        transform(TX, toArray(fromMarker.getData()), toData);
+        // depth noise on p3
+        toData[3 * 3 + 2] += 0.05;
+        var toMarker = marker(toData);
+        var registration =
+                new RobustRigidRegistration().withSeed(1).estimate(fromMarker, toMarker).get();
+        var expectedInliers = new BitSet();
+        expectedInliers.set(0, 5);
+        expectedInliers.clear(3);
+        assertEquals(expectedInliers, registration.inliers());
+        assertArrayEquals(TX, registration.tx().duplicate().array(), 1e-9);
+    }
+
+    @Test
+    public void test_degenerate() {
+        var line = new double[NUM_POINTS * 3];
+        for (int i = 0; i < NUM_POINTS; i++) line[i * 3] = i;
+        assertTrue(
+                new RobustRigidRegistration()
+                        .withSeed(1)
+                        .estimate(line, line, NUM_POINTS)
+                        .isEmpty());
+    }
+
+    private static void transform(double[] tx, double[] in, double[] out) {
+        for (int o = 0; o < in.length; o += 3) transform(tx, in, o, out, o);
+    }
+
+    private static void transform(double[] tx, double[] in, int i, double[] out, int o) {
+        for (int r = 0; r < 3; r++) {
+            out[o + r] =
+                    tx[r * 4] * in[i]
+                            + tx[r * 4 + 1] * in[i + 1]
+                            + tx[r * 4 + 2] * in[i + 2]
+                            + tx[r * 4 + 3];
+        }
+    }
+
+    private MarkerLocation3d marker(double[] data) {
+        return new MarkerLocation3d(
+                new Marker(MarkerType.ONE),
+                new Vector3d(data[0], data[1], data[2]),
+                new Vector3d(data[3], data[4], data[5]),
+                new Vector3d(data[6], data[7], data[8]),
+                new Vector3d(data[9], data[10], data[11]),
+                new Vector3d(data[12], data[13], data[14]),
+                Optional.empty());
+    }
+
+    private static double[] toArray(MatrixNd mx) {
+        var buf = mx.duplicate();
+        var data = new double[buf.remaining()];
+        buf.get(data);
+        return data;
+    }
+}
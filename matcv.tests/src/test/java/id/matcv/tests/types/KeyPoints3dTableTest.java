@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import id.matcv.types.KeyPoints3dTable;
+import id.xfunction.PreconditionException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class KeyPoints3dTableTest {
+
+    @Test
+    public void test() {
+        var table = new KeyPoints3dTable(new int[] {3, 10, 25}, new int[] {7, 8, 9});
+        assertEquals(3, table.size());
+        assertEquals(10, table.pointIds(1));
+        assertEquals(9, table.pointHashes(2));
+        assertEquals(List.of(3, 10, 25), table.pointIds());
+        assertEquals(List.of(7, 8, 9), table.pointHashes());
+        assertEquals(new KeyPoints3dTable(List.of(3, 10, 25), List.of(7, 8, 9)), table);
+        assertEquals(
+                "KeyPoints3dTable[pointIds=[3, 10, 25], pointHashes=[7, 8, 9]]", table.toString());
+        assertThrows(UnsupportedOperationException.class, () -> table.pointIds().set(0, 1));
+        assertThrows(
+                PreconditionException.class,
+                () -> new KeyPoints3dTable(new int[] {1}, new int[] {}));
+    }
+}
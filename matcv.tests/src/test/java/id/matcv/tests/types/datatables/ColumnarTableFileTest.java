@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.datatables;
+
+import id.matcv.types.datatables.ColumnarTable;
+import id.matcv.types.datatables.ColumnarTableFile;
+import id.matcv.types.datatables.ColumnarTableFile.Type;
+import id.matcv.types.datatables.DoubleColumn;
+import id.matcv.types.datatables.IntColumn;
+import id.xfunction.PreconditionException;
+import java.io.IOException;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ColumnarTableFileTest {
+
+    @Test
+    public void test() throws IOException {
+        var ids = IntColumn.of(Arrays.asList(7, null, 9));
+        var values = new DoubleColumn(0.5, 1.5, -2.5);
+        var points = new double[] {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        var file = Files.createTempFile("table", ".ctf");
+        new ColumnarTableFile.Writer()
+                .withColumn("id", ids)
+                .withColumn("value", values)
+                .withColumn("point", points, 3)
+                .write(file);
+        try (var ctf = ColumnarTableFile.open(file)) {
+            Assertions.assertEquals(3, ctf.numRows());
+            Assertions.assertEquals(3, ctf.numColumns());
+            Assertions.assertEquals("value", ctf.name(1));
+            Assertions.assertEquals(2, ctf.indexOf("point"));
+            Assertions.assertEquals(Type.INT32, ctf.type(0));
+            Assertions.assertEquals(Type.FLOAT64, ctf.type(2));
+            Assertions.assertEquals(3, ctf.width(2));
+            Assertions.assertEquals(7, ctf.getInt(0, 0));
+            Assertions.assertTrue(ctf.isValid(0, 0));
+            Assertions.assertFalse(ctf.isValid(0, 1));
+            Assertions.assertTrue(ctf.isValid(1, 1));
+            Assertions.assertEquals(-2.5, ctf.getDouble(1, 2));
+            Assertions.assertEquals(8, ctf.getDouble(2, 2, 1));
+            Assertions.assertEquals(0, ctf.data(2).address() % ColumnarTableFile.ALIGNMENT);
+            Assertions.assertArrayEquals(points, ctf.data(2).toArray(ValueLayout.JAVA_DOUBLE));
+        }
+    }
+
+    @Test
+    public void test_columnar_table() throws IOException {
+        var table =
+                new ColumnarTable(
+                        IntColumn.of(Arrays.asList(null, 2, 3)),
+                        DoubleColumn.of(Arrays.asList(0.1, 0.2, null)));
+        var file = Files.createTempFile("table", ".ctf");
+        new ColumnarTableFile.Writer()
+                .withColumn("a", table.intCol(0))
+                .withColumn("b", table.doubleCol(1))
+                .write(file);
+        try (var ctf = ColumnarTableFile.open(file)) {
+            var actual = ctf.toColumnarTable();
+            Assertions.assertEquals(Arrays.asList(null, 2, 3), actual.intCol(0).asList());
+            Assertions.assertEquals(Arrays.asList(0.1, 0.2, null), actual.doubleCol(1).asList());
+        }
+    }
+
+    @Test
+    public void test_invalid_file() throws IOException {
+        var file = Files.createTempFile("table", ".ctf");
+        Files.write(file, new byte[64]);
+        Assertions.assertThrows(RuntimeException.class, () -> ColumnarTableFile.open(file));
+        Assertions.assertThrows(
+                RuntimeException.class,
+                () ->
+                        new ColumnarTableFile.Writer()
+                                .withColumn("a", new IntColumn(1, 2))
+                                .withColumn("b", new IntColumn(1)));
+    }
+
+    @Test
+    public void test_unknown_column_type() throws IOException {
+        var file = Files.createTempFile("table", ".ctf");
+        new ColumnarTableFile.Writer().withColumn("a", new IntColumn(1, 2)).write(file);
+        var bytes = Files.readAllBytes(file);
+        // type of the first column descriptor
+        ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()).putInt(32, 99);
+        Files.write(file, bytes);
+        Assertions.assertThrows(PreconditionException.class, () -> ColumnarTableFile.open(file));
+    }
+
+    @Test
+    public void test_corrupt_header() throws IOException {
+        // number of columns
+        assertCorrupt(16, false, -1);
+        // number of rows
+        assertCorrupt(24, true, -1);
+        assertCorrupt(24, true, Long.MAX_VALUE);
+        // width of the first column
+        assertCorrupt(36, false, 0);
+        // data offset of the first column
+        assertCorrupt(40, true, -8);
+        assertCorrupt(40, true, Long.MAX_VALUE);
+        // validity bitmap offset of the first column
+        assertCorrupt(48, true, -8);
+        assertCorrupt(48, true, 1 << 20);
+        // name length of the first column
+        assertCorrupt(56, false, -1);
+        assertCorrupt(56, false, 37);
+    }
+
+    /** Write valid file, replace the value at the given offset and check that open fails */
+    private void assertCorrupt(int offset, boolean isLong, long value) throws IOException {
+        var file = Files.createTempFile("table", ".ctf");
+        new ColumnarTableFile.Writer()
+                .withColumn("a", IntColumn.of(Arrays.asList(1, null)))
+                .write(file);
+        var bytes = Files.readAllBytes(file);
+        var buf = ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder());
+        if (isLong) buf.putLong(offset, value);
+        else buf.putInt(offset, (int) value);
+        Files.write(file, bytes);
+        Assertions.assertThrows(PreconditionException.class, () -> ColumnarTableFile.open(file));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.datatables;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import id.matcv.types.datatables.ColumnarTable;
+import id.matcv.types.datatables.DoubleColumn;
+import id.matcv.types.datatables.IntColumn;
+import id.matcv.types.datatables.ObjectColumn;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ColumnarTableTest {
+
+    private final ColumnarTable points =
+            new ColumnarTable(
+                    IntColumn.of(Arrays.asList(4, 1, null, 3, 1)),
+                    new DoubleColumn(0.4, 0.1, 0.2, 0.3, 0.5),
+                    ObjectColumn.of(Arrays.asList("a", "b", "c", null, "e")));
+
+    private final ColumnarTable names =
+            new ColumnarTable(
+                    new IntColumn(1, 3, 1, 7),
+                    ObjectColumn.of(List.of("one", "three", "uno", "seven")));
+
+    @Test
+    public void test_dropInvalid() {
+        var table = points.dropInvalid();
+        assertEquals(3, table.size());
+        assertEquals(List.of(4, 1, 1), table.intCol(0).asList());
+        assertEquals(List.of(0.4, 0.1, 0.5), table.doubleCol(1).asList());
+        assertEquals(List.of("a", "b", "e"), table.objectCol(2).asList());
+        assertEquals(0, table.col(2).invalidCount());
+    }
+
+    @Test
+    public void test_filter_map() {
+        var table = points.filter(i -> points.doubleCol(1).get(i) > 0.25);
+        assertEquals(Arrays.asList(4, 3, 1), table.intCol(0).asList());
+        assertEquals(Arrays.asList("a", null, "e"), table.objectCol(2).asList());
+        var doubled = table.mapToDouble(i -> table.doubleCol(1).get(i) * 2);
+        assertEquals(List.of(0.8, 0.6, 1.0), doubled.asList());
+        assertEquals(4, table.withColumn(doubled).numColumns());
+    }
+
+    @Test
+    public void test_hashJoin() {
+        var table = points.hashJoin(0, names, 0);
+        assertEquals(List.of(1, 1, 3, 1, 1), table.intCol(0).asList());
+        assertEquals(List.of(0.1, 0.1, 0.3, 0.5, 0.5), table.doubleCol(1).asList());
+        assertEquals(Arrays.asList("b", "b", null, "e", "e"), table.objectCol(2).asList());
+        assertEquals(List.of("one", "uno", "three", "one", "uno"), table.objectCol(3).asList());
+    }
+
+    @Test
+    public void test_sortMergeJoin() {
+        var table = points.sortMergeJoin(0, names, 0);
+        assertEquals(List.of(1, 1, 1, 1, 3), table.intCol(0).asList());
+        assertEquals(List.of(0.1, 0.1, 0.5, 0.5, 0.3), table.doubleCol(1).asList());
+        assertEquals(List.of("one", "uno", "one", "uno", "three"), table.objectCol(3).asList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void test_large(boolean isParallel) {
+        var n = 200_000;
+        var random = new Random(1);
+        var keys = new int[n];
+        for (int i = 0; i < n; i++) keys[i] = random.nextInt(n / 2);
+        var pool = new ForkJoinPool(4);
+        try {
+            var left =
+                    new ColumnarTable(new IntColumn(keys))
+                            .withForkJoinPool(pool)
+                            .withParallel(isParallel);
+            var right = new ColumnarTable(left.mapToInt(i -> i), left.mapToInt(i -> i * 2));
+            var hashJoined = left.hashJoin(0, right, 0);
+            var mergeJoined = left.sortMergeJoin(0, right, 0);
+            assertEquals(n, hashJoined.size());
+            assertEquals(n, mergeJoined.size());
+            for (int i = 0; i < n; i++) assertEquals(keys[i] * 2, hashJoined.intCol(1).get(i));
+            var even = left.filter(i -> keys[i] % 2 == 0);
+            var expected = Arrays.stream(keys).filter(k -> k % 2 == 0).toArray();
+            assertEquals(expected.length, even.size());
+            for (int i = 0; i < expected.length; i++)
+                assertEquals(expected[i], even.intCol(0).get(i));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
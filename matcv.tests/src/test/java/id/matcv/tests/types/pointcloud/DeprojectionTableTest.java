@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.camera.CameraMatrix;
+import id.matcv.types.camera.DefaultCameraIntrinsics;
+import id.matcv.types.pointcloud.DeprojectionTable;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DeprojectionTableTest {
+
+    @Test
+    public void test() {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        var table = DeprojectionTable.of(intrinsics);
+        Assertions.assertEquals(640, table.width());
+        Assertions.assertEquals(480, table.height());
+        var cameraMatrix = intrinsics.cameraMatrix();
+        Assertions.assertEquals(
+                (123 - cameraMatrix.cx()) / cameraMatrix.fx(), table.xRay(123), 1e-15);
+        Assertions.assertEquals(
+                (321 - cameraMatrix.cy()) / cameraMatrix.fy(), table.yRay(321), 1e-15);
+    }
+
+    @Test
+    public void test_cache() {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        var copy =
+                new DefaultCameraIntrinsics(
+                        intrinsics.width(),
+                        intrinsics.height(),
+                        new CameraMatrix(intrinsics.cameraMatrix().duplicate().array()));
+        Assertions.assertSame(DeprojectionTable.of(intrinsics), DeprojectionTable.of(copy));
+        Assertions.assertNotSame(
+                DeprojectionTable.of(intrinsics),
+                DeprojectionTable.of(
+                        CameraIntrinsicsPredefined.REALSENSE_D435i_1280_720.getCameraIntrinsics()));
+    }
+
+    @Test
+    public void test_cache_eviction() {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        var table = DeprojectionTable.of(intrinsics);
+        for (int i = 1; i <= DeprojectionTable.CACHE_SIZE; i++) {
+            DeprojectionTable.of(
+                    new DefaultCameraIntrinsics(
+                            intrinsics.width() + i,
+                            intrinsics.height(),
+                            intrinsics.cameraMatrix()));
+        }
+        var evicted = DeprojectionTable.of(intrinsics);
+        Assertions.assertNotSame(table, evicted);
+        // most recently used tables stay in the cache
+        Assertions.assertSame(evicted, DeprojectionTable.of(intrinsics));
+    }
+
+    @Test
+    public void test_concurrent() throws Exception {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 1; i <= 10; i++) {
+                var camera =
+                        new DefaultCameraIntrinsics(
+                                intrinsics.width(),
+                                intrinsics.height() + i,
+                                intrinsics.cameraMatrix());
+                var tables = new ArrayList<Future<DeprojectionTable>>();
+                for (int t = 0; t < 8; t++)
+                    tables.add(pool.submit(() -> DeprojectionTable.of(camera)));
+                // all threads get the same published table
+                for (var table : tables) Assertions.assertSame(tables.get(0).get(), table.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
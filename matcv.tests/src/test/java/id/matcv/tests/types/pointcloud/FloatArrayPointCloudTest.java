@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FloatArrayPointCloudTest {
+    private static final FloatArrayPointCloud POINT_CLOUD =
+            new FloatArrayPointCloud(new float[] {1.5f, 2.5f, 3.5f, 0, 0, 0, -4.25f, 5.25f, 6.25f});
+
+    @Test
+    public void test_getPoint() {
+        Assertions.assertEquals(3, POINT_CLOUD.size());
+        Assertions.assertEquals(
+                """
+                { "x": 1.5, "y": 2.5, "z": 3.5 }""",
+                POINT_CLOUD.getPoint(0).toString());
+        Assertions.assertEquals(
+                """
+                { "x": -4.25, "y": 5.25, "z": 6.25 }""",
+                POINT_CLOUD.getPoint(2).toString());
+    }
+
+    @Test
+    public void test_copyTo() {
+        var actual = new float[7];
+        POINT_CLOUD.copyTo(1, 3, actual, 1);
+        Assertions.assertArrayEquals(new float[] {0, 0, 0, 0, -4.25f, 5.25f, 6.25f}, actual);
+    }
+
+    @Test
+    public void test_forEachPoint() {
+        var actual = new ArrayList<String>();
+        POINT_CLOUD.forEachPoint(1, 3, (x, y, z) -> actual.add(x + " " + y + " " + z));
+        Assertions.assertEquals("[0.0 0.0 0.0, -4.25 5.25 6.25]", actual.toString());
+    }
+}
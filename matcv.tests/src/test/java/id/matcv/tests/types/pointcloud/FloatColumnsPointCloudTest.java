@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.FloatColumnsPointCloud;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FloatColumnsPointCloudTest {
+    private static final float[] DATA = {1.5f, 2.5f, 3.5f, 0, 0, 0, -4.25f, 5.25f, 6.25f};
+
+    @Test
+    public void test() {
+        var pc = FloatColumnsPointCloud.copyOf(new FloatArrayPointCloud(DATA));
+        Assertions.assertEquals(3, pc.size());
+        Assertions.assertArrayEquals(new float[] {1.5f, 0, -4.25f}, pc.x());
+        Assertions.assertArrayEquals(new float[] {2.5f, 0, 5.25f}, pc.y());
+        Assertions.assertArrayEquals(new float[] {3.5f, 0, 6.25f}, pc.z());
+        Assertions.assertEquals(
+                """
+                { "x": -4.25, "y": 5.25, "z": 6.25 }""",
+                pc.getPoint(2).toString());
+
+        var actual = new float[DATA.length];
+        pc.copyTo(0, pc.size(), actual, 0);
+        Assertions.assertArrayEquals(DATA, actual);
+
+        var points = new ArrayList<String>();
+        pc.forEachPoint((x, y, z) -> points.add(x + " " + y + " " + z));
+        Assertions.assertEquals("[1.5 2.5 3.5, 0.0 0.0 0.0, -4.25 5.25 6.25]", points.toString());
+    }
+
+    @Test
+    public void test_different_lengths() {
+        Assertions.assertThrows(
+                RuntimeException.class,
+                () -> new FloatColumnsPointCloud(new float[2], new float[2], new float[1]));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.MemorySegmentPointCloud;
+import java.lang.foreign.Arena;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MemorySegmentPointCloudTest {
+    private static final float[] DATA = {1.5f, 2.5f, 3.5f, 0, 0, 0, -4.25f, 5.25f, 6.25f};
+
+    @Test
+    public void test() {
+        try (var arena = Arena.ofConfined()) {
+            var pc = MemorySegmentPointCloud.copyOf(arena, new FloatArrayPointCloud(DATA));
+            Assertions.assertEquals(3, pc.size());
+            Assertions.assertEquals(
+                    """
+                    { "x": -4.25, "y": 5.25, "z": 6.25 }""",
+                    pc.getPoint(2).toString());
+
+            var actual = new float[DATA.length];
+            pc.copyTo(0, pc.size(), actual, 0);
+            Assertions.assertArrayEquals(DATA, actual);
+
+            var points = new ArrayList<String>();
+            pc.forEachPoint(1, 3, (x, y, z) -> points.add(x + " " + y + " " + z));
+            Assertions.assertEquals("[0.0 0.0 0.0, -4.25 5.25 6.25]", points.toString());
+        }
+    }
+}
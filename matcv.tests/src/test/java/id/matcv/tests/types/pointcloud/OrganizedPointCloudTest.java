@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.tests.OpenCvTest;
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.OrganizedPointCloud;
+import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Paths;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+
+public class OrganizedPointCloudTest extends OpenCvTest {
+
+    private static final Mat depth =
+            Imgcodecs.imread(
+                    Paths.get("samples/00000000-depth.png").toAbsolutePath().toString(),
+                    Imgcodecs.IMREAD_ANYDEPTH);
+
+    @Test
+    public void test_getPoint() {
+        var pc = createPointCloud();
+        Assertions.assertEquals(640, pc.width());
+        Assertions.assertEquals(480, pc.height());
+        Assertions.assertEquals(
+                pc.getPoint(12345).toString(), pc.getPoint(12345 / 640, 12345 % 640).toString());
+    }
+
+    @Test
+    public void test_of() {
+        var pc = createPointCloud();
+        Assertions.assertSame(pc, OrganizedPointCloud.of(pc, 640, 480));
+        // 3 rows, 2 columns
+        var points =
+                new FloatArrayPointCloud(
+                        new float[] {1, 1, 1, 2, 2, 2, 3, 3, 3, 0, 0, 0, 5, 5, 5, 6, 6, 6});
+        var opc = OrganizedPointCloud.of(points, 2, 3);
+        Assertions.assertEquals(3, opc.index(1, 1));
+        Assertions.assertTrue(opc.isHole(opc.index(1, 1)));
+        Assertions.assertEquals(points.getPoint(4).toString(), opc.getPoint(2, 0).toString());
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 4, 5}, opc.validPoints().toArray());
+        Assertions.assertEquals(
+                points.getPoint(5).toString(), opc.subView(1, 1, 1, 2).getPoint(1, 0).toString());
+        Assertions.assertThrows(RuntimeException.class, () -> OrganizedPointCloud.of(points, 2, 2));
+    }
+
+    @Test
+    public void test_subView() {
+        var pc = createPointCloud();
+        int x = 101, y = 37, w = 53, h = 21;
+        var roi = pc.subView(x, y, w, h);
+        Assertions.assertEquals(w, roi.width());
+        Assertions.assertEquals(h, roi.height());
+        Assertions.assertEquals(w * h, roi.size());
+        var expected = new float[w * h * 3];
+        pc.copyTo(x, y, w, h, expected, 0);
+        assertPoints(expected, roi);
+
+        // view of the view
+        var roi2 = roi.subView(3, 5, 7, 11);
+        var expected2 = new float[7 * 11 * 3];
+        pc.copyTo(x + 3, y + 5, 7, 11, expected2, 0);
+        assertPoints(expected2, roi2);
+
+        Assertions.assertThrows(RuntimeException.class, () -> pc.subView(600, 0, 41, 1));
+    }
+
+    @Test
+    public void test_strideView() {
+        var pc = createPointCloud();
+        var view = pc.subView(10, 20, 100, 50).strideView(3, 7);
+        Assertions.assertEquals(15, view.width());
+        Assertions.assertEquals(17, view.height());
+        var expected = new float[view.size() * 3];
+        for (int row = 0, i = 0; row < view.height(); row++) {
+            for (int col = 0; col < view.width(); col++) {
+                var p = pc.getPoint(20 + row * 3, 10 + col * 7);
+                expected[i++] = (float) p.getX();
+                expected[i++] = (float) p.getY();
+                expected[i++] = (float) p.getZ();
+                Assertions.assertEquals(p.toString(), view.getPoint(row, col).toString());
+            }
+        }
+        assertPoints(expected, view);
+    }
+
+    @Test
+    public void test_validPoints() {
+        var pc = createPointCloud();
+        var expected = IntStream.range(0, pc.size()).filter(i -> !pc.isHole(i)).toArray();
+        Assertions.assertTrue(expected.length < pc.size());
+        Assertions.assertArrayEquals(expected, pc.validPoints().toArray());
+        Assertions.assertArrayEquals(expected, pc.validPoints().parallel().toArray());
+        Assertions.assertEquals(
+                IntStream.of(expected).mapToDouble(i -> pc.getPoint(i).getZ()).sum(),
+                pc.validPoints().parallel().mapToDouble(i -> pc.getPoint(i).getZ()).sum(),
+                1e-6);
+        var roi = pc.subView(100, 100, 50, 50);
+        Assertions.assertEquals(
+                IntStream.range(0, roi.size()).filter(i -> !roi.isHole(i)).count(),
+                roi.validPoints().parallel().count());
+    }
+
+    private void assertPoints(float[] expected, OrganizedPointCloud pc) {
+        var actual = new float[expected.length];
+        pc.copyTo(0, pc.size(), actual, 0);
+        Assertions.assertArrayEquals(expected, actual);
+        var i = new int[1];
+        pc.forEachPoint(
+                (x, y, z) -> {
+                    actual[i[0]++] = x;
+                    actual[i[0]++] = y;
+                    actual[i[0]++] = z;
+                });
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    private PointCloudFromMemorySegmentAccessor createPointCloud() {
+        var segment =
+                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        return new PointCloudFromMemorySegmentAccessor(segment, intrinsics, 1000);
+    }
+}
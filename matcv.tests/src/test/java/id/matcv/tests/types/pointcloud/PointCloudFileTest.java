@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.tests.types.pointcloud;
+
+import id.matcv.PointCloudUtils;
+import id.matcv.tests.OpenCvTest;
+import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.camera.CameraMatrix;
+import id.matcv.types.camera.DefaultCameraIntrinsics;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.MemorySegmentPointCloud;
+import id.matcv.types.pointcloud.PointCloudFile;
+import id.matcv.types.pointcloud.PointCloudFile.Type;
+import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import id.xfunction.PreconditionException;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PointCloudFileTest extends OpenCvTest {
+
+    @Test
+    public void test_depth_frame() throws IOException {
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        var depthImg = Paths.get("samples/00000000-depth.png").toAbsolutePath();
+        var file = Files.createTempFile("depth", ".pcf");
+        var utils = new PointCloudUtils();
+        utils.convertToPointCloudFile(depthImg, intrinsics, file);
+        var expected = utils.readPointCloud(depthImg, intrinsics);
+        try (var pcf = PointCloudFile.open(file)) {
+            Assertions.assertEquals(Type.DEPTH_Z16, pcf.type());
+            Assertions.assertEquals(1000, pcf.depthScale());
+            var actualIntrinsics = pcf.cameraIntrinsics().orElseThrow();
+            Assertions.assertEquals(640, actualIntrinsics.width());
+            Assertions.assertEquals(480, actualIntrinsics.height());
+            var expectedMatrix = intrinsics.cameraMatrix();
+            var actualMatrix = actualIntrinsics.cameraMatrix();
+            Assertions.assertEquals(expectedMatrix.fx(), actualMatrix.fx());
+            Assertions.assertEquals(expectedMatrix.fy(), actualMatrix.fy());
+            Assertions.assertEquals(expectedMatrix.cx(), actualMatrix.cx());
+            Assertions.assertEquals(expectedMatrix.cy(), actualMatrix.cy());
+            var pc = pcf.pointCloud();
+            Assertions.assertInstanceOf(PointCloudFromMemorySegmentAccessor.class, pc);
+            Assertions.assertEquals(expected.size(), pc.size());
+            for (int i = 0; i < pc.size(); i += 1234)
+                Assertions.assertEquals(expected.getPoint(i).toString(), pc.getPoint(i).toString());
+            Assertions.assertEquals(
+                    """
+                    { "x": -0.12012, "y": -0.19708, "z": 0.552 }""",
+                    pc.getPoint(12345).toString());
+        }
+    }
+
+    @Test
+    public void test_point_cloud() throws IOException {
+        var expected = new FloatArrayPointCloud(new float[] {1, 2, 3, 0, 0, 0, -4.5f, 5.5f, 6.25f});
+        var file = Files.createTempFile("pointcloud", ".pcf");
+        PointCloudFile.writePointCloud(file, expected);
+        try (var pcf = PointCloudFile.open(file)) {
+            Assertions.assertEquals(Type.POINTS_XYZ_F32, pcf.type());
+            Assertions.assertTrue(pcf.cameraIntrinsics().isEmpty());
+            Assertions.assertEquals(PointCloudFile.HEADER_SIZE + 9 * Float.BYTES, Files.size(file));
+            var pc = pcf.pointCloud();
+            Assertions.assertInstanceOf(MemorySegmentPointCloud.class, pc);
+            Assertions.assertEquals(3, pc.size());
+            Assertions.assertEquals(
+                    """
+                    { "x": -4.5, "y": 5.5, "z": 6.25 }""",
+                    pc.getPoint(2).toString());
+        }
+    }
+
+    @Test
+    public void test_invalid_file() throws IOException {
+        var file = Files.createTempFile("pointcloud", ".pcf");
+        Files.write(file, new byte[PointCloudFile.HEADER_SIZE]);
+        Assertions.assertThrows(RuntimeException.class, () -> PointCloudFile.open(file));
+    }
+
+    @Test
+    public void test_unknown_type() throws IOException {
+        var file = Files.createTempFile("pointcloud", ".pcf");
+        PointCloudFile.writePointCloud(file, new FloatArrayPointCloud(new float[] {1, 2, 3}));
+        var bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()).putInt(16, 99);
+        Files.write(file, bytes);
+        Assertions.assertThrows(PreconditionException.class, () -> PointCloudFile.open(file));
+    }
+
+    @Test
+    public void test_inconsistent_data_size() throws IOException {
+        var intrinsics =
+                new DefaultCameraIntrinsics(
+                        4, 3, new CameraMatrix(new double[] {2, 0, 2, 0, 2, 1.5, 0, 0, 1}));
+        var depthFile = Files.createTempFile("depth", ".pcf");
+        PointCloudFile.writeDepthFrame(
+                depthFile, MemorySegment.ofArray(new short[12]), intrinsics, 1000);
+        PointCloudFile.open(depthFile).close();
+        // depth frame is smaller than width * height
+        assertCorrupt(depthFile, 80, true, 20);
+        // height does not match the data
+        assertCorrupt(depthFile, 24, false, 4);
+        var pointsFile = Files.createTempFile("pointcloud", ".pcf");
+        PointCloudFile.writePointCloud(pointsFile, new FloatArrayPointCloud(new float[] {1, 2, 3}));
+        // size is not multiple of XYZ point size
+        assertCorrupt(pointsFile, 80, true, 8);
+    }
+
+    /** Replace the value at the given offset in the copy of the file and check that open fails */
+    private void assertCorrupt(Path file, int offset, boolean isLong, long value)
+            throws IOException {
+        var bytes = Files.readAllBytes(file);
+        var buf = ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder());
+        if (isLong) buf.putLong(offset, value);
+        else buf.putInt(offset, (int) value);
+        var corruptFile = Files.createTempFile("corrupt", ".pcf");
+        Files.write(corruptFile, bytes);
+        Assertions.assertThrows(
+                PreconditionException.class, () -> PointCloudFile.open(corruptFile));
+    }
+}
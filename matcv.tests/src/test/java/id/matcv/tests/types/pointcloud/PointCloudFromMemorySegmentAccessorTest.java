@@ -20,8 +20,12 @@ package id.matcv.tests.types.pointcloud;
 import id.matcv.MatUtils;
 import id.matcv.tests.OpenCvTest;
 import id.matcv.types.camera.CameraIntrinsicsPredefined;
+import id.matcv.types.pointcloud.PointCloud;
 import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.DoubleBuffer;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,17 +36,14 @@ public class PointCloudFromMemorySegmentAccessorTest extends OpenCvTest {
 
     private static final MatUtils utils = new MatUtils();
 
+    private static final Mat depth =
+            Imgcodecs.imread(
+                    Paths.get("samples/00000000-depth.png").toAbsolutePath().toString(),
+                    Imgcodecs.IMREAD_ANYDEPTH);
+
     @Test
     public void test() {
-        Mat depth =
-                Imgcodecs.imread(
-                        Paths.get("samples/00000000-depth.png").toAbsolutePath().toString(),
-                        Imgcodecs.IMREAD_ANYDEPTH);
-        utils.debugShape("depth", depth);
-        var segment =
-                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
-        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
-        var pc = new PointCloudFromMemorySegmentAccessor(segment, intrinsics, 1000);
+        var pc = createPointCloud();
         Assertions.assertEquals(
                 """
                 { "x": -0.25188, "y": -0.18719, "z": 0.482 }""",
@@ -60,4 +61,76 @@ public class PointCloudFromMemorySegmentAccessorTest extends OpenCvTest {
                 { "x": -0.12012, "y": -0.19708, "z": 0.552 }""",
                 pc.getPoint(12345).toString());
     }
+
+    @Test
+    public void test_copyTo() {
+        var pc = createPointCloud();
+        var expected = new float[pc.size() * 3];
+        for (int i = 0; i < pc.size(); i++) {
+            var p = pc.getPoint(i);
+            expected[i * 3] = (float) p.getX();
+            expected[i * 3 + 1] = (float) p.getY();
+            expected[i * 3 + 2] = (float) p.getZ();
+        }
+        var holes = 0;
+        for (int i = 0; i < pc.size(); i++) if (pc.getPoint(i) == PointCloud.HOLE) holes++;
+        Assertions.assertTrue(holes > 0, "Sample depth image is expected to have holes");
+
+        var actual = new float[pc.size() * 3];
+        pc.copyTo(actual);
+        Assertions.assertArrayEquals(expected, actual);
+
+        var buf = DoubleBuffer.allocate(pc.size() * 3);
+        pc.copyTo(buf);
+        Assertions.assertEquals(buf.capacity(), buf.position());
+        for (int i = 0; i < expected.length; i++)
+            Assertions.assertEquals(expected[i], (float) buf.get(i));
+
+        try (var arena = Arena.ofConfined()) {
+            var segment = arena.allocate((long) pc.size() * 3 * Float.BYTES);
+            pc.copyTo(segment);
+            Assertions.assertArrayEquals(expected, segment.toArray(ValueLayout.JAVA_FLOAT));
+        }
+    }
+
+    @Test
+    public void test_copyTo_roi() {
+        var pc = createPointCloud();
+        int x = 101, y = 37, w = 53, h = 21;
+        var actual = new float[w * h * 3 + 1];
+        pc.copyTo(x, y, w, h, actual, 1);
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++) {
+                var p = pc.getPoint((y + row) * depth.cols() + x + col);
+                var i = 1 + (row * w + col) * 3;
+                Assertions.assertEquals((float) p.getX(), actual[i]);
+                Assertions.assertEquals((float) p.getY(), actual[i + 1]);
+                Assertions.assertEquals((float) p.getZ(), actual[i + 2]);
+            }
+        }
+    }
+
+    @Test
+    public void test_forEachPoint() {
+        var pc = createPointCloud();
+        var expected = new float[pc.size() * 3];
+        pc.copyTo(expected);
+        var actual = new float[pc.size() * 3];
+        var i = new int[1];
+        pc.forEachPoint(
+                (x, y, z) -> {
+                    actual[i[0]++] = x;
+                    actual[i[0]++] = y;
+                    actual[i[0]++] = z;
+                });
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    private PointCloudFromMemorySegmentAccessor createPointCloud() {
+        utils.debugShape("depth", depth);
+        var segment =
+                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+        var intrinsics = CameraIntrinsicsPredefined.REALSENSE_D435i_640_480.getCameraIntrinsics();
+        return new PointCloudFromMemorySegmentAccessor(segment, intrinsics, 1000);
+    }
 }
@@ -20,8 +20,16 @@ package id.mathcat.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import id.mathcat.NdBuffersMath;
+import id.ndbuffers.matrix.Matrix4d;
+import id.ndbuffers.matrix.MatrixN3d;
 import id.ndbuffers.matrix.Vector2d;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * @author lambdaprime intid@protonmail.com
@@ -37,4 +45,93 @@ public class NdBuffersMathTest {
                         .createVector(new Vector2d(3, 5), new Vector2d(5, 3))
                         .toString());
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 7, 1000, 100_003})
+    public void test_transform(int numPoints) {
+        var math = new NdBuffersMath();
+        var random = new Random(numPoints);
+        var points = new double[numPoints * 3 + 2];
+        for (int i = 0; i < points.length; i++) points[i] = random.nextDouble() * 10 - 5;
+        var angle = Math.PI / 5;
+        var tx =
+                new Matrix4d(
+                        new double[] {
+                            Math.cos(angle),
+                            0,
+                            Math.sin(angle),
+                            1.5,
+                            0,
+                            1,
+                            0,
+                            -2,
+                            -Math.sin(angle),
+                            0,
+                            Math.cos(angle),
+                            0.25,
+                            0,
+                            0,
+                            0,
+                            1
+                        });
+        var expected =
+                math.transform(
+                                new MatrixN3d(
+                                        DoubleBuffer.wrap(
+                                                Arrays.copyOfRange(points, 1, 1 + numPoints * 3))),
+                                tx)
+                        .duplicate();
+        var dst = new double[numPoints * 3];
+        math.transform(points, 1, dst, 0, numPoints, tx);
+        for (int i = 0; i < dst.length; i++) assertEquals(expected.get(i), dst[i], 1e-12);
+        // in place, neighbor values outside of the points stay same
+        var first = points[0];
+        var last = points[points.length - 1];
+        var mx = new MatrixN3d(DoubleBuffer.wrap(points, 1, numPoints * 3).slice());
+        math.withParallel(false).transformInPlace(mx, tx);
+        assertEquals(first, points[0]);
+        assertEquals(last, points[points.length - 1]);
+        for (int i = 0; i < dst.length; i++) assertEquals(dst[i], points[i + 1], 1e-12);
+    }
+
+    @Test
+    public void test_transform_in_place_parallel() {
+        var numPoints = 200_003;
+        var points = new double[numPoints * 3];
+        var random = new Random(3);
+        for (int i = 0; i < points.length; i++) points[i] = random.nextDouble() * 10 - 5;
+        var tx = new Matrix4d(new double[] {0, -1, 0, 1, 1, 0, 0, 2, 0, 0, 1, 3, 0, 0, 0, 1});
+        var expected = new double[points.length];
+        new NdBuffersMath().withParallel(false).transform(points, 0, expected, 0, numPoints, tx);
+        var pool = new ForkJoinPool(4);
+        try {
+            new NdBuffersMath()
+                    .withForkJoinPool(pool)
+                    .transformInPlace(new MatrixN3d(DoubleBuffer.wrap(points)), tx);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < points.length; i++) assertEquals(expected[i], points[i], 1e-12);
+    }
+
+    @Test
+    public void test_transform_non_finite() {
+        var math = new NdBuffersMath();
+        var numPoints = 100;
+        var points = new double[numPoints * 3];
+        var random = new Random(1);
+        for (int i = 0; i < points.length; i++) points[i] = random.nextDouble();
+        var tx = new Matrix4d(new double[] {0, -1, 0, 1, 1, 0, 0, 2, 0, 0, 1, 3, 0, 0, 0, 1});
+        var expected = new double[points.length];
+        math.transform(points, 0, expected, 0, numPoints, tx);
+        points[50 * 3] = Double.NaN;
+        points[70 * 3 + 2] = Double.POSITIVE_INFINITY;
+        math.transformInPlace(new MatrixN3d(DoubleBuffer.wrap(points)), tx);
+        for (int p = 0; p < numPoints; p++) {
+            if (p == 50 || p == 70) continue;
+            for (int i = p * 3; i < p * 3 + 3; i++) assertEquals(expected[i], points[i], 1e-12);
+        }
+        assertEquals(Double.NaN, points[50 * 3 + 1]);
+        assertEquals(Double.POSITIVE_INFINITY, points[70 * 3 + 2]);
+    }
 }
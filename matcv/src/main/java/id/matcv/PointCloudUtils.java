@@ -17,16 +17,15 @@
  */
 package id.matcv;
 
+import id.matcv.exporters.ObjExporter;
 import id.matcv.types.camera.CameraIntrinsics;
 import id.matcv.types.pointcloud.PointCloud;
+import id.matcv.types.pointcloud.PointCloudFile;
 import id.matcv.types.pointcloud.PointCloudFromMemorySegmentAccessor;
 import id.xfunction.Preconditions;
 import id.xfunction.logging.XLogger;
-import java.io.IOException;
 import java.lang.foreign.MemorySegment;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.imgcodecs.Imgcodecs;
@@ -42,27 +41,42 @@ public class PointCloudUtils {
      * @param depthImg depth image file in {@link CvType#CV_16UC1} format
      */
     public PointCloud readPointCloud(Path depthImg, CameraIntrinsics intrinsics) {
-        Mat depth = Imgcodecs.imread(depthImg.toString(), Imgcodecs.IMREAD_ANYDEPTH);
-        utils.debugShape("depth", depth);
-        Preconditions.isTrue(depth.type() == CvType.CV_16UC1, "Depth image type is not CV_16UC1");
-        var segment =
-                MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
-        return new PointCloudFromMemorySegmentAccessor(segment, intrinsics, 1000);
+        return new PointCloudFromMemorySegmentAccessor(
+                toSegment(readDepth(depthImg)), intrinsics, 1000);
     }
 
-    /** Export point cloud to Wavefront (.obj) format */
+    /**
+     * Convert depth image to {@link PointCloudFile} which, unlike depth image, can be read without
+     * decoding (see {@link PointCloudFile#open(Path)})
+     *
+     * @param depthImg depth image file in {@link CvType#CV_16UC1} format
+     */
+    public void convertToPointCloudFile(Path depthImg, CameraIntrinsics intrinsics, Path file) {
+        var depth = readDepth(depthImg);
+        PointCloudFile.writeDepthFrame(file, toSegment(depth), intrinsics, 1000);
+        depth.release();
+    }
+
+    /**
+     * Export point cloud to Wavefront (.obj) format
+     *
+     * <p>Each call creates new {@link ObjExporter}, to export multiple point clouds use {@link
+     * ObjExporter} directly.
+     */
     public void exportToObj(Path file, PointCloud pc) {
         LOGGER.entering("exportToObj");
-        try (var writer =
-                Files.newBufferedWriter(
-                        file, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE); ) {
-            for (int i = 0; i < pc.size(); i++) {
-                var v = pc.getPoint(i);
-                writer.append(String.format("v %f %f %f\n", v.getX(), v.getY(), v.getZ()));
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        new ObjExporter().export(file, pc);
         LOGGER.exiting("exportToObj");
     }
+
+    private Mat readDepth(Path depthImg) {
+        Mat depth = Imgcodecs.imread(depthImg.toString(), Imgcodecs.IMREAD_ANYDEPTH);
+        utils.debugShape("depth", depth);
+        Preconditions.isTrue(depth.type() == CvType.CV_16UC1, "Depth image type is not CV_16UC1");
+        return depth;
+    }
+
+    private MemorySegment toSegment(Mat depth) {
+        return MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+    }
 }
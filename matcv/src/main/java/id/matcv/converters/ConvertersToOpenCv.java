@@ -58,7 +58,7 @@ public class ConvertersToOpenCv {
 
     public Mat copyToMat32F(MatrixNd mx) {
         var r = new Mat();
-        new MatOfDouble(mx.duplicate().array()).convertTo(r, CvType.CV_32F);
+        new MatOfDouble(toArray(mx)).convertTo(r, CvType.CV_32F);
         return r.reshape(mx.getCols(), new int[] {mx.getRows()});
     }
 
@@ -77,11 +77,11 @@ public class ConvertersToOpenCv {
     }
 
     public Mat toMat64F(Matrix3d mx) {
-        return copyToMat64F(mx.duplicate().array(), 3, 3);
+        return copyToMat64F(toArray(mx), 3, 3);
     }
 
     public Mat toMat32F(Matrix3d mx) {
-        return copyToMat32F(mx.duplicate().array(), 3, 3);
+        return copyToMat32F(toArray(mx), 3, 3);
     }
 
     /**
@@ -89,7 +89,7 @@ public class ConvertersToOpenCv {
      * href="https://github.com/vRallev/OpenCV/blob/60fe17cfd6519390b37888b0db28e6a40ff2eca6/opencv-library/opencv-android/src/main/java/org/opencv/core/MatOfDouble.java">code</a>
      */
     public MatOfDouble toMatOfDouble(MatrixNd mx) {
-        return new MatOfDouble(mx.duplicate().array());
+        return new MatOfDouble(toArray(mx));
     }
 
     public Point toPoint(Vector2d point) {
@@ -123,4 +123,15 @@ public class ConvertersToOpenCv {
     public MatOfPoint3f copyToMatOfPoint32F(MatrixN3d mx) {
         return new MatOfPoint3f(copyToMat32F(mx));
     }
+
+    /**
+     * Copy of the matrix data. Matrix buffer may be a view to a larger array (for example {@link
+     * id.matcv.markers.MarkerLocation3dBatch}) so its backing array can not be used directly.
+     */
+    private double[] toArray(MatrixNd mx) {
+        var buf = mx.duplicate();
+        var data = new double[buf.remaining()];
+        buf.get(data);
+        return data;
+    }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.depth;
+
+import id.xfunction.Preconditions;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+
+/**
+ * Fill holes (pixels with depth value 0) of the depth frame using valid pixels around them.
+ *
+ * <p>Supported methods:
+ *
+ * <ul>
+ *   <li>{@link Method#MEDIAN} - median of all valid pixels inside (2 * radius + 1) square window
+ *       around the hole
+ *   <li>{@link Method#BILINEAR} - average of the linear interpolations between the nearest valid
+ *       pixels to the left/right and above/below the hole within the radius
+ * </ul>
+ *
+ * <p>Holes are filled only from the original valid pixels, so filled values do not propagate to
+ * other holes and holes larger than the window stay (partially) unfilled.
+ *
+ * <p>Cost of {@link Method#MEDIAN} grows with the window area: for each hole median is selected
+ * among up to (2 * radius + 1)^2 pixels, which is 9 pixels for radius 1 and 25 pixels for radius 2.
+ * {@link Method#BILINEAR} scans at most 4 * radius pixels of one row and one column. Use
+ * DepthHoleFillerBenchmark to check the method and radius against the frame budget (33 ms for 30
+ * FPS camera) on the target hardware.
+ *
+ * <p>Entire frame is filled in place. Original values of the rows inside the window are kept in a
+ * small ring buffer (2 * radius + 1 rows), so no full frame copy is allocated. Filler keeps its
+ * buffers between the calls and should be used by one thread at a time.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DepthHoleFiller {
+    private static final ValueLayout.OfShort LAYOUT = ValueLayout.JAVA_SHORT_UNALIGNED;
+
+    public enum Method {
+        MEDIAN,
+        BILINEAR
+    }
+
+    private final int width, height;
+    private Method method = Method.MEDIAN;
+    private int radius = 1;
+    private int minNeighbors = 3;
+    private int ringSize;
+    private short[] rows;
+    private int[] window;
+
+    public DepthHoleFiller(int width, int height) {
+        this.width = width;
+        this.height = height;
+        allocate();
+    }
+
+    /** Default is {@link Method#MEDIAN} */
+    public DepthHoleFiller withMethod(Method method) {
+        this.method = method;
+        return this;
+    }
+
+    /**
+     * Maximum distance in pixels to the valid pixels which are used to fill a hole. Default 1.
+     *
+     * <p>Larger radius fills larger holes but cost of {@link Method#MEDIAN} grows with the window
+     * area (see {@link DepthHoleFiller}).
+     */
+    public DepthHoleFiller withRadius(int radius) {
+        Preconditions.isTrue(radius > 0, "Radius must be positive");
+        this.radius = radius;
+        allocate();
+        return this;
+    }
+
+    /**
+     * Minimum number of valid pixels inside the window to fill the hole using {@link
+     * Method#MEDIAN}. Default 3.
+     */
+    public DepthHoleFiller withMinNeighbors(int minNeighbors) {
+        this.minNeighbors = minNeighbors;
+        return this;
+    }
+
+    /**
+     * Fill holes of the depth frame in place
+     *
+     * @param depth depth frame in HEIGHT*WIDTH*CV_16UC1 format
+     * @return number of filled holes
+     */
+    public int fill(MemorySegment depth) {
+        checkSize(depth);
+        var filled = 0;
+        for (int row = 0; row < Math.min(radius, height); row++) load(depth, row, 0, width);
+        for (int row = 0; row < height; row++) {
+            // rows below the current one are not modified yet, load them before they are
+            if (row + radius < height) load(depth, row + radius, 0, width);
+            var offset = (row % ringSize) * width;
+            for (int col = 0; col < width; col++) {
+                if (rows[offset + col] != 0) continue;
+                var v = estimateHole(row, col);
+                if (v == 0) continue;
+                depth.set(LAYOUT, ((long) row * width + col) * Short.BYTES, (short) v);
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * Fill holes of the depth frame in place
+     *
+     * @param depth depth frame in {@link CvType#CV_16UC1} format
+     * @return number of filled holes
+     */
+    public int fill(Mat depth) {
+        return fill(toSegment(depth));
+    }
+
+    /**
+     * Estimate depth value of the single pixel without modifying the depth frame. Can be used to
+     * fill holes only at the pixels of interest (ex. marker corners) instead of entire frame.
+     *
+     * @return depth value of the pixel if it is not a hole, estimated value, or 0 if it cannot be
+     *     estimated
+     */
+    public int estimate(MemorySegment depth, int col, int row) {
+        checkSize(depth);
+        Preconditions.isTrue(
+                col >= 0 && col < width && row >= 0 && row < height,
+                "Pixel is outside of the depth frame");
+        var v = Short.toUnsignedInt(depth.get(LAYOUT, ((long) row * width + col) * Short.BYTES));
+        if (v != 0) return v;
+        // load only the window around the pixel
+        var fromCol = Math.max(0, col - radius);
+        var toCol = Math.min(width, col + radius + 1);
+        for (int r = Math.max(0, row - radius); r < Math.min(height, row + radius + 1); r++)
+            load(depth, r, fromCol, toCol);
+        return estimateHole(row, col);
+    }
+
+    /**
+     * @see #estimate(MemorySegment, int, int)
+     */
+    public int estimate(Mat depth, int col, int row) {
+        return estimate(toSegment(depth), col, row);
+    }
+
+    /** Copy original values of the row into the ring buffer */
+    private void load(MemorySegment depth, int row, int fromCol, int toCol) {
+        MemorySegment.copy(
+                depth,
+                LAYOUT,
+                ((long) row * width + fromCol) * Short.BYTES,
+                rows,
+                (row % ringSize) * width + fromCol,
+                toCol - fromCol);
+    }
+
+    /** Estimate value of the hole using the window loaded into the ring buffer */
+    private int estimateHole(int row, int col) {
+        return switch (method) {
+            case MEDIAN -> median(row, col);
+            case BILINEAR -> bilinear(row, col);
+        };
+    }
+
+    private int get(int row, int col) {
+        return Short.toUnsignedInt(rows[(row % ringSize) * width + col]);
+    }
+
+    private int median(int row, int col) {
+        var n = 0;
+        var toRow = Math.min(height - 1, row + radius);
+        var fromCol = Math.max(0, col - radius);
+        var toCol = Math.min(width - 1, col + radius);
+        for (int r = Math.max(0, row - radius); r <= toRow; r++) {
+            var offset = (r % ringSize) * width;
+            for (int c = fromCol; c <= toCol; c++) {
+                var v = Short.toUnsignedInt(rows[offset + c]);
+                if (v != 0) window[n++] = v;
+            }
+        }
+        if (n == 0 || n < minNeighbors) return 0;
+        return select(window, n, n / 2);
+    }
+
+    /** Quickselect k-th smallest value among first n values of the array */
+    private static int select(int[] a, int n, int k) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            var pivot = a[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    var t = a[i];
+                    a[i++] = a[j];
+                    a[j--] = t;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else break;
+        }
+        return a[k];
+    }
+
+    private int bilinear(int row, int col) {
+        var sum = 0.;
+        var count = 0;
+        // horizontal
+        int left = 0, leftDist = 0, right = 0, rightDist = 0;
+        for (int d = 1; d <= radius && left == 0 && col - d >= 0; d++) {
+            left = get(row, col - d);
+            leftDist = d;
+        }
+        for (int d = 1; d <= radius && right == 0 && col + d < width; d++) {
+            right = get(row, col + d);
+            rightDist = d;
+        }
+        if (left != 0 && right != 0) {
+            sum += left + (right - left) * (double) leftDist / (leftDist + rightDist);
+            count++;
+        }
+        // vertical
+        int up = 0, upDist = 0, down = 0, downDist = 0;
+        for (int d = 1; d <= radius && up == 0 && row - d >= 0; d++) {
+            up = get(row - d, col);
+            upDist = d;
+        }
+        for (int d = 1; d <= radius && down == 0 && row + d < height; d++) {
+            down = get(row + d, col);
+            downDist = d;
+        }
+        if (up != 0 && down != 0) {
+            sum += up + (down - up) * (double) upDist / (upDist + downDist);
+            count++;
+        }
+        if (count == 0) return 0;
+        return (int) Math.round(sum / count);
+    }
+
+    private void checkSize(MemorySegment depth) {
+        Preconditions.isTrue(
+                depth.byteSize() >= (long) width * height * Short.BYTES,
+                "Depth frame is smaller than %dx%d",
+                width,
+                height);
+    }
+
+    private MemorySegment toSegment(Mat depth) {
+        Preconditions.isTrue(depth.type() == CvType.CV_16UC1, "Depth image type is not CV_16UC1");
+        Preconditions.isTrue(depth.isContinuous(), "Depth image is not continuous");
+        Preconditions.isTrue(
+                depth.cols() == width && depth.rows() == height,
+                "Depth image size is not %dx%d",
+                width,
+                height);
+        return MemorySegment.ofAddress(depth.dataAddr()).reinterpret(depth.total() * Short.BYTES);
+    }
+
+    private void allocate() {
+        ringSize = 2 * radius + 1;
+        rows = new short[ringSize * width];
+        window = new int[ringSize * ringSize];
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Processing of the raw depth frames in HEIGHT*WIDTH*CV_16UC1 format (RealSense RS2_FORMAT_Z16)
+ * before they are deprojected into {@link id.matcv.types.pointcloud.PointCloud}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.matcv.depth;
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes decimal numbers into ASCII text without allocating any objects.
+ *
+ * <p>Numbers are written in fixed point notation with {@link #FRACTION_DIGITS} digits after the
+ * decimal point, same as "%f" format specifier in {@link String#format(String, Object...)}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class DecimalEncoder {
+    static final int FRACTION_DIGITS = 6;
+
+    /** Maximum number of bytes which {@link #encode(double, ByteBuffer)} may produce */
+    static final int MAX_LENGTH = 32;
+
+    private static final long SCALE = 1_000_000;
+
+    /** Numbers above this threshold cannot be scaled into long and encoded by Java */
+    private static final double MAX_SCALED = 1e12;
+
+    void encode(double v, ByteBuffer out) {
+        if (Double.isNaN(v) || Double.isInfinite(v) || Math.abs(v) >= MAX_SCALED) {
+            // rare case, not worth optimizing
+            out.put(Double.toString(v).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        var scaled = Math.round(Math.abs(v) * SCALE);
+        // same as "%f" keep the sign for negative numbers which are rounded to zero
+        if (Math.copySign(1, v) < 0) out.put((byte) '-');
+        encodeLong(scaled / SCALE, out);
+        out.put((byte) '.');
+        var fraction = scaled % SCALE;
+        for (long d = SCALE / 10; d > 0; d /= 10) {
+            out.put((byte) ('0' + fraction / d));
+            fraction %= d;
+        }
+    }
+
+    private void encodeLong(long v, ByteBuffer out) {
+        var d = 1L;
+        while (d <= v / 10) d *= 10;
+        for (; d > 0; d /= 10) {
+            out.put((byte) ('0' + v / d));
+            v %= d;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import id.matcv.markers.MarkerDetector3d;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerLocation3dBatch;
+import id.matcv.types.KeyPoints3dTable;
+import id.matcv.types.datatables.ColumnarTableFile;
+import id.matcv.types.datatables.DataTable2;
+import id.matcv.types.datatables.IntColumn;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Export results of {@link MarkerDetector3d} to {@link ColumnarTableFile} so that they can be
+ * memory-mapped and read by other processes.
+ *
+ * <p>Results of all frames are flattened into a single table where each row has the index of the
+ * frame it belongs to.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerResultsExporter {
+    public static final String FRAME = "frame";
+    public static final String POINT_ID = "pointId";
+    public static final String POINT_HASH = "pointHash";
+    public static final String MARKER_ID = "markerId";
+
+    /** Center and corners of the marker as fixed size list of 5x3 values */
+    public static final String POINTS = "points";
+
+    /**
+     * Export key points of all frames with columns {@link #FRAME}, {@link #POINT_ID}, {@link
+     * #POINT_HASH}
+     */
+    public void exportKeyPoints(
+            Path file, DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> results) {
+        var size = 0;
+        for (var keyPoints : results.col1()) size += keyPoints.size();
+        var frames = new int[size];
+        var pointIds = new int[size];
+        var pointHashes = new int[size];
+        var row = 0;
+        for (int frame = 0; frame < results.size(); frame++) {
+            var keyPoints = results.col1(frame);
+            for (int i = 0; i < keyPoints.size(); i++, row++) {
+                frames[row] = frame;
+                pointIds[row] = keyPoints.pointIds(i);
+                pointHashes[row] = keyPoints.pointHashes(i);
+            }
+        }
+        new ColumnarTableFile.Writer()
+                .withColumn(FRAME, new IntColumn(frames))
+                .withColumn(POINT_ID, new IntColumn(pointIds))
+                .withColumn(POINT_HASH, new IntColumn(pointHashes))
+                .write(file);
+    }
+
+    /**
+     * Export marker locations of all frames with columns {@link #FRAME}, {@link #MARKER_ID}, {@link
+     * #POINTS}
+     */
+    public void exportMarkerLocations(
+            Path file, DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> results) {
+        var width = MarkerLocation3dBatch.STRIDE;
+        var size = 0;
+        for (var locations : results.col2()) size += locations.size();
+        var frames = new int[size];
+        var markerIds = new int[size];
+        var points = new double[size * width];
+        var row = 0;
+        for (int frame = 0; frame < results.size(); frame++) {
+            for (var loc : results.col2(frame)) {
+                frames[row] = frame;
+                markerIds[row] = loc.marker().type().getId();
+                loc.getData().duplicate().get(points, row * width, width);
+                row++;
+            }
+        }
+        new ColumnarTableFile.Writer()
+                .withColumn(FRAME, new IntColumn(frames))
+                .withColumn(MARKER_ID, new IntColumn(markerIds))
+                .withColumn(POINTS, points, width)
+                .write(file);
+    }
+
+    /**
+     * Export marker locations with columns {@link #MARKER_ID}, {@link #POINTS}. Points are written
+     * directly from the batch buffer.
+     */
+    public void exportMarkerLocations(Path file, MarkerLocation3dBatch batch) {
+        var markerIds = new int[batch.size()];
+        for (int i = 0; i < markerIds.length; i++)
+            markerIds[i] = batch.get(i).marker().type().getId();
+        new ColumnarTableFile.Writer()
+                .withColumn(MARKER_ID, new IntColumn(markerIds))
+                .withColumn(POINTS, batch.data(), MarkerLocation3dBatch.STRIDE)
+                .write(file);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Export point cloud to <a href="https://en.wikipedia.org/wiki/Wavefront_.obj_file">Wavefront
+ * (.obj)</a> format.
+ *
+ * <p>Each point is stored as vertex line "v x y z" where coordinates are written with 6 digits
+ * after decimal point.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ObjExporter extends PointCloudExporter {
+    private static final int MAX_LINE_LENGTH = 2 + 3 * (DecimalEncoder.MAX_LENGTH + 1);
+
+    private final DecimalEncoder encoder = new DecimalEncoder();
+    private final ByteBuffer text = ByteBuffer.allocateDirect(1 << 20);
+
+    @Override
+    protected ByteBuffer createHeader(long numOfPoints, boolean isFixedWidth) {
+        return ByteBuffer.allocate(0);
+    }
+
+    @Override
+    protected void writePoints(FileChannel channel, ByteBuffer points, int numOfPoints)
+            throws IOException {
+        text.clear();
+        for (int i = 0; i < numOfPoints; i++) {
+            if (text.remaining() < MAX_LINE_LENGTH) {
+                writeFully(channel, text.flip());
+                text.clear();
+            }
+            var offset = i * POINT_BYTES;
+            text.put((byte) 'v');
+            text.put((byte) ' ');
+            encoder.encode(points.getFloat(offset), text);
+            text.put((byte) ' ');
+            encoder.encode(points.getFloat(offset + Float.BYTES), text);
+            text.put((byte) ' ');
+            encoder.encode(points.getFloat(offset + 2 * Float.BYTES), text);
+            text.put((byte) '\n');
+        }
+        writeFully(channel, text.flip());
+    }
+}
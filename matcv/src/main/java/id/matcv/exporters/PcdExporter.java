@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Export point cloud to binary <a
+ * href="https://pointclouds.org/documentation/tutorials/pcd_file_format.html">PCD</a> format
+ * (version 0.7).
+ *
+ * <p>Binary PCD is a memory dump of the points, so points are written as-is (in native byte order)
+ * directly from the exporter buffer without any conversion.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PcdExporter extends PointCloudExporter {
+
+    @Override
+    protected ByteBuffer createHeader(long numOfPoints, boolean isFixedWidth) {
+        var count = formatCount(numOfPoints, isFixedWidth);
+        var header =
+                """
+                # .PCD v0.7 - Point Cloud Data file format
+                VERSION 0.7
+                FIELDS x y z
+                SIZE 4 4 4
+                TYPE F F F
+                COUNT 1 1 1
+                WIDTH %s
+                HEIGHT 1
+                VIEWPOINT 0 0 0 1 0 0 0
+                POINTS %s
+                DATA binary
+                """
+                        .formatted(count, count);
+        return ByteBuffer.wrap(header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    protected void writePoints(FileChannel channel, ByteBuffer points, int numOfPoints)
+            throws IOException {
+        writeFully(channel, points);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Export point cloud to binary <a href="https://paulbourke.net/dataformats/ply/">PLY</a> format.
+ *
+ * <p>Points are written as-is (in native byte order) directly from the exporter buffer without any
+ * conversion.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PlyExporter extends PointCloudExporter {
+
+    @Override
+    protected ByteBuffer createHeader(long numOfPoints, boolean isFixedWidth) {
+        var format =
+                ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN
+                        ? "binary_little_endian"
+                        : "binary_big_endian";
+        var header =
+                """
+                ply
+                format %s 1.0
+                element vertex %s
+                property float x
+                property float y
+                property float z
+                end_header
+                """
+                        .formatted(format, formatCount(numOfPoints, isFixedWidth));
+        return ByteBuffer.wrap(header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    protected void writePoints(FileChannel channel, ByteBuffer points, int numOfPoints)
+            throws IOException {
+        writeFully(channel, points);
+    }
+}
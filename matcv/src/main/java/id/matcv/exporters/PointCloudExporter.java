@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.exporters;
+
+import id.matcv.types.pointcloud.PointCloud;
+import id.xfunction.Preconditions;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Base class for all point cloud exporters.
+ *
+ * <p>Points are read from the {@link PointCloud} in chunks into reusable direct buffer (see {@link
+ * PointCloud#copyTo(int, int, MemorySegment, long)}) and then passed to the exporter
+ * implementation.
+ *
+ * <p>Exporters keep their buffers between the calls, so the same exporter instance can be used to
+ * export many point clouds (for example each frame from the camera) without allocating new buffers.
+ * For same reason exporters are not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class PointCloudExporter {
+    /** Number of points which are read from the point cloud at once */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    protected static final int POINT_BYTES = 3 * Float.BYTES;
+
+    private final ByteBuffer points =
+            ByteBuffer.allocateDirect(CHUNK_SIZE * POINT_BYTES).order(ByteOrder.nativeOrder());
+    private final MemorySegment pointsSegment = MemorySegment.ofBuffer(points);
+    private boolean isSkipHoles;
+
+    /**
+     * Do not export points which are {@link PointCloud#HOLE}
+     *
+     * <p>For formats which store number of points in the header, when this option is enabled, the
+     * number of points is written as fixed width number padded with zeros (since it is not known
+     * until all points are exported).
+     */
+    public PointCloudExporter withSkipHoles(boolean isEnabled) {
+        this.isSkipHoles = isEnabled;
+        return this;
+    }
+
+    /** Export point cloud to the file. If file exists it is overwritten. */
+    public void export(Path file, PointCloud pc) {
+        try (var channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            export(channel, pc);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Export point cloud to the channel starting from its current position */
+    public void export(FileChannel channel, PointCloud pc) throws IOException {
+        var headerPosition = channel.position();
+        var header = createHeader(pc.size(), isSkipHoles);
+        var headerSize = header.remaining();
+        writeFully(channel, header);
+        long count = 0;
+        for (int from = 0; from < pc.size(); from += CHUNK_SIZE) {
+            var to = Math.min(from + CHUNK_SIZE, pc.size());
+            pc.copyTo(from, to, pointsSegment, 0);
+            var n = to - from;
+            if (isSkipHoles) n = removeHoles(n);
+            points.clear().limit(n * POINT_BYTES);
+            writePoints(channel, points, n);
+            count += n;
+        }
+        onExported(channel);
+        if (isSkipHoles && headerSize > 0) {
+            header = createHeader(count, true);
+            Preconditions.equals(headerSize, header.remaining(), "Header size changed");
+            while (header.hasRemaining()) headerPosition += channel.write(header, headerPosition);
+        }
+    }
+
+    /**
+     * Create file header
+     *
+     * @param isFixedWidth when true, number of points should be written as fixed width number, so
+     *     that header size does not depend on the number of points
+     * @return header or empty buffer if format does not have it
+     */
+    protected abstract ByteBuffer createHeader(long numOfPoints, boolean isFixedWidth);
+
+    /**
+     * Write points to the channel
+     *
+     * @param points points stored as floats in native byte order using XYZ layout
+     */
+    protected abstract void writePoints(FileChannel channel, ByteBuffer points, int numOfPoints)
+            throws IOException;
+
+    /** Called when all points are written. Default implementation does nothing. */
+    protected void onExported(FileChannel channel) throws IOException {}
+
+    /** Number of points as fixed width string padded with zeros */
+    protected String formatCount(long numOfPoints, boolean isFixedWidth) {
+        return isFixedWidth ? String.format("%010d", numOfPoints) : Long.toString(numOfPoints);
+    }
+
+    protected void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) channel.write(buf);
+    }
+
+    /**
+     * Remove holes from the points buffer by moving all other points towards its beginning
+     *
+     * @return number of remaining points
+     */
+    private int removeHoles(int numOfPoints) {
+        var layout = ValueLayout.JAVA_FLOAT_UNALIGNED;
+        var n = 0;
+        for (long i = 0; i < numOfPoints; i++) {
+            var offset = i * POINT_BYTES;
+            var x = pointsSegment.get(layout, offset);
+            var y = pointsSegment.get(layout, offset + Float.BYTES);
+            var z = pointsSegment.get(layout, offset + 2 * Float.BYTES);
+            if (x == 0 && y == 0 && z == 0) continue;
+            if (n != i) {
+                var dstOffset = (long) n * POINT_BYTES;
+                pointsSegment.set(layout, dstOffset, x);
+                pointsSegment.set(layout, dstOffset + Float.BYTES, y);
+                pointsSegment.set(layout, dstOffset + 2 * Float.BYTES, z);
+            }
+            n++;
+        }
+        return n;
+    }
+}
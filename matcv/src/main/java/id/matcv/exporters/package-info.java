@@ -0,0 +1,15 @@
+/**
+ * Export point clouds to the files of different formats.
+ *
+ * <p>All exporters stream points through reusable direct buffers into {@link
+ * java.nio.channels.FileChannel} and do not allocate objects per point (as long as {@link
+ * id.matcv.types.pointcloud.PointCloud} implementation overrides bulk {@link
+ * id.matcv.types.pointcloud.PointCloud#copyTo(int, int, java.lang.foreign.MemorySegment, long)}
+ * access).
+ *
+ * <p>{@link id.matcv.exporters.MarkerResultsExporter} exports marker detection results into {@link
+ * id.matcv.types.datatables.ColumnarTableFile}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.matcv.exporters;
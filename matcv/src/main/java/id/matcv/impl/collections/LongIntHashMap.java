@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.impl.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing (linear probing) hash map from primitive long keys to primitive int values.
+ *
+ * <p>Unlike {@link java.util.HashMap}, it does not box keys and values and does not allocate any
+ * objects per entry.
+ *
+ * <p>{@link #EMPTY_KEY} is reserved and cannot be used as a key.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LongIntHashMap {
+    public static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    /** Value returned when key is not present */
+    public static final int NO_VALUE = -1;
+
+    /** Keys and values are interleaved, so that each lookup touches single cache line */
+    private long[] entries;
+
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize expected number of entries, map resizes itself when it is exceeded
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(8, expectedSize) * 2 - 1) << 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return value associated with the key or {@link #NO_VALUE}
+     */
+    public int get(long key) {
+        for (int i = slot(key); ; i = (i + 2) & mask) {
+            if (entries[i] == key) return (int) entries[i + 1];
+            if (entries[i] == EMPTY_KEY) return NO_VALUE;
+        }
+    }
+
+    /**
+     * Associate value with the key if it is not present yet
+     *
+     * @return value which is already associated with the key or {@link #NO_VALUE} if new value was
+     *     added
+     */
+    public int putIfAbsent(long key, int value) {
+        if (key == EMPTY_KEY) throw new IllegalArgumentException("Key is reserved");
+        for (int i = slot(key); ; i = (i + 2) & mask) {
+            if (entries[i] == key) return (int) entries[i + 1];
+            if (entries[i] == EMPTY_KEY) {
+                entries[i] = key;
+                entries[i + 1] = value;
+                if (++size * 4 > entries.length) resize();
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /** Remove all entries without releasing the memory */
+    public void clear() {
+        Arrays.fill(entries, EMPTY_KEY);
+        size = 0;
+    }
+
+    /** Index of the key inside entries array */
+    private int slot(long key) {
+        // finalizer from MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return ((int) key << 1) & mask;
+    }
+
+    private void allocate(int capacity) {
+        entries = new long[capacity * 2];
+        Arrays.fill(entries, EMPTY_KEY);
+        mask = entries.length - 1;
+    }
+
+    private void resize() {
+        var oldEntries = entries;
+        allocate(entries.length);
+        for (int i = 0; i < oldEntries.length; i += 2) {
+            if (oldEntries[i] == EMPTY_KEY) continue;
+            var j = slot(oldEntries[i]);
+            while (entries[j] != EMPTY_KEY) j = (j + 2) & mask;
+            entries[j] = oldEntries[i];
+            entries[j + 1] = oldEntries[i + 1];
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.impl.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Process range of indices [from, to) in chunks using {@link ForkJoinPool}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ParallelRange {
+
+    @FunctionalInterface
+    public interface RangeConsumer {
+        /** Process indices [from, to) */
+        void accept(int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private final boolean isParallel;
+    private final int chunkSize;
+
+    /**
+     * @param isParallel when false, entire range is processed in the caller thread as a single
+     *     chunk
+     * @param chunkSize ranges of this size or smaller are not split any further
+     */
+    public ParallelRange(ForkJoinPool pool, boolean isParallel, int chunkSize) {
+        this.pool = pool;
+        this.isParallel = isParallel;
+        this.chunkSize = chunkSize;
+    }
+
+    public void forEach(int from, int to, RangeConsumer consumer) {
+        if (!isParallel || to - from <= chunkSize) {
+            consumer.accept(from, to);
+            return;
+        }
+        pool.invoke(new Task(from, to, consumer));
+    }
+
+    private class Task extends RecursiveAction {
+        private final int from, to;
+        private final RangeConsumer consumer;
+
+        Task(int from, int to, RangeConsumer consumer) {
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                consumer.accept(from, to);
+                return;
+            }
+            var mid = (from + to) >>> 1;
+            invokeAll(new Task(from, mid, consumer), new Task(mid, to, consumer));
+        }
+    }
+}
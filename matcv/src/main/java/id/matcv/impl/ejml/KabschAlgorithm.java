@@ -18,14 +18,18 @@
 package id.matcv.impl.ejml;
 
 import id.xfunction.Preconditions;
-import id.xfunction.logging.XLogger;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.CommonOps_DDRM;
 import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
 
 /**
  * Java Kabsch algorithm implementation based on EJML
  *
+ * <p>Instance keeps all its workspace (including SVD decomposition) between the calls, so that
+ * {@link #calculateTransformation(double[], int, double[], int, int, double[], int)} does not
+ * allocate any memory. For the same reason instances are not thread safe.
+ *
  * @see <a href="https://en.wikipedia.org/wiki/Kabsch_algorithm">Kabsch algorithm</a>
  * @see <a
  *     href="https://github.com/nghiaho12/rigid_transform_3D/blob/master/matlab/example.m">Original
@@ -33,65 +37,113 @@ import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
  * @author lambdaprime intid@protonmail.com
  */
 public class KabschAlgorithm {
-    private static final XLogger LOGGER = XLogger.getLogger(KabschAlgorithm.class);
-    private static final EjmlUtils utils = new EjmlUtils();
+    private static final int DIM = 3;
 
-    public DMatrixRMaj calculateTransformation(DMatrixRMaj from, DMatrixRMaj to) {
-        int dim = 3;
-        Preconditions.equals(dim, from.getNumCols());
-        Preconditions.equals(dim, to.getNumCols());
+    private final SingularValueDecomposition_F64<DMatrixRMaj> svd =
+            DecompositionFactory_DDRM.svd(DIM, DIM, true, true, false);
+    private final DMatrixRMaj H = new DMatrixRMaj(DIM, DIM);
+    private final DMatrixRMaj U = new DMatrixRMaj(DIM, DIM);
+    private final DMatrixRMaj V = new DMatrixRMaj(DIM, DIM);
+    private final DMatrixRMaj R = new DMatrixRMaj(DIM, DIM);
 
-        var centroidFrom = utils.mean(from);
-        var centroidTo = utils.mean(to);
-        LOGGER.fine("centroidFrom={0}", centroidFrom);
-        LOGGER.fine("centroidTo={0}", centroidTo);
+    /**
+     * @param from N x 3 matrix of points
+     * @param to N x 3 matrix of points
+     * @return 4x4 transformation matrix
+     */
+    public DMatrixRMaj calculateTransformation(DMatrixRMaj from, DMatrixRMaj to) {
+        Preconditions.equals(DIM, from.getNumCols());
+        Preconditions.equals(DIM, to.getNumCols());
+        Preconditions.equals(from.getNumRows(), to.getNumRows());
+        var TX = new DMatrixRMaj(4, 4);
+        calculateTransformation(from.data, 0, to.data, 0, from.getNumRows(), TX.data, 0);
+        return TX;
+    }
 
-        var centeredFrom = utils.subtract(from, centroidFrom);
-        var centeredTo = utils.subtract(to, centroidTo);
-        LOGGER.fine("centeredFrom={0}", centeredFrom);
-        LOGGER.fine("centeredTo={0}", centeredTo);
+    /**
+     * Calculate transformation between two sets of points stored in row-major order (x, y, z of
+     * each point)
+     *
+     * @param numPoints number of points in each set
+     * @param tx output 4x4 transformation matrix in row-major order
+     */
+    public void calculateTransformation(
+            double[] from,
+            int fromOffset,
+            double[] to,
+            int toOffset,
+            int numPoints,
+            double[] tx,
+            int txOffset) {
+        // centroids
+        double cfx = 0, cfy = 0, cfz = 0, ctx = 0, cty = 0, ctz = 0;
+        for (int i = 0; i < numPoints; i++) {
+            var f = fromOffset + i * DIM;
+            var t = toOffset + i * DIM;
+            cfx += from[f];
+            cfy += from[f + 1];
+            cfz += from[f + 2];
+            ctx += to[t];
+            cty += to[t + 1];
+            ctz += to[t + 2];
+        }
+        cfx /= numPoints;
+        cfy /= numPoints;
+        cfz /= numPoints;
+        ctx /= numPoints;
+        cty /= numPoints;
+        ctz /= numPoints;
 
-        var H = new DMatrixRMaj();
-        CommonOps_DDRM.multTransA(centeredFrom, centeredTo, H);
-        LOGGER.fine("H={0}", H);
+        // H = centeredFrom^T * centeredTo
+        H.zero();
+        var h = H.data;
+        double sumSqFrom = 0, sumSqTo = 0;
+        for (int i = 0; i < numPoints; i++) {
+            var f = fromOffset + i * DIM;
+            var t = toOffset + i * DIM;
+            double fx = from[f] - cfx, fy = from[f + 1] - cfy, fz = from[f + 2] - cfz;
+            double tx0 = to[t] - ctx, ty = to[t + 1] - cty, tz = to[t + 2] - ctz;
+            h[0] += fx * tx0;
+            h[1] += fx * ty;
+            h[2] += fx * tz;
+            h[3] += fy * tx0;
+            h[4] += fy * ty;
+            h[5] += fy * tz;
+            h[6] += fz * tx0;
+            h[7] += fz * ty;
+            h[8] += fz * tz;
+            sumSqFrom += fx * fx + fy * fy + fz * fz;
+            sumSqTo += tx0 * tx0 + ty * ty + tz * tz;
+        }
 
-        var svd = DecompositionFactory_DDRM.svd(H.numRows, H.numCols, true, true, false);
         if (!svd.decompose(H)) throw new RuntimeException("Decomposition failed");
-        var U = svd.getU(null, false);
-        var S = svd.getW(null);
-        var V = svd.getV(null, false);
-        LOGGER.fine("U={0}", U);
-        LOGGER.fine("S={0}", S);
-        LOGGER.fine("V={0}", V);
+        svd.getU(U, false);
+        svd.getV(V, false);
 
-        var R = new DMatrixRMaj();
         CommonOps_DDRM.multTransB(V, U, R);
-
         if (CommonOps_DDRM.det(R) < 0) {
-            LOGGER.fine("Correcting for reflection");
-            S = CommonOps_DDRM.identity(dim);
-            S.set(dim - 1, dim - 1, -1);
-            var VS = new DMatrixRMaj();
-            CommonOps_DDRM.mult(V, S, VS);
-            CommonOps_DDRM.multTransB(VS, U, R);
+            // correcting for reflection: R = V * diag(1, 1, -1) * U^T
+            var v = V.data;
+            v[2] = -v[2];
+            v[5] = -v[5];
+            v[8] = -v[8];
+            CommonOps_DDRM.multTransB(V, U, R);
         }
-        LOGGER.fine("R={0}", R);
-
-        CommonOps_DDRM.elementPower(centeredFrom, 2, centeredFrom);
-        CommonOps_DDRM.elementPower(centeredTo, 2, centeredTo);
-        var scale = Math.sqrt(utils.meanAll(centeredTo) / utils.meanAll(centeredFrom));
-        LOGGER.fine("scale={0}", scale);
 
-        var t = new DMatrixRMaj(centroidTo);
-        CommonOps_DDRM.transpose(t);
-        CommonOps_DDRM.multAddTransB(-scale, R, centroidFrom, t);
-        LOGGER.fine("t={0}", t);
-
-        var TX = new DMatrixRMaj(4, 4);
-        CommonOps_DDRM.insert(R, TX, 0, 0);
-        CommonOps_DDRM.insert(t, TX, 0, 3);
-        TX.set(3, 3, 1);
-
-        return TX;
+        var scale = Math.sqrt(sumSqTo / sumSqFrom);
+        var r = R.data;
+        for (int row = 0; row < DIM; row++) {
+            var o = txOffset + row * 4;
+            tx[o] = r[row * DIM];
+            tx[o + 1] = r[row * DIM + 1];
+            tx[o + 2] = r[row * DIM + 2];
+        }
+        tx[txOffset + 3] = ctx - scale * (r[0] * cfx + r[1] * cfy + r[2] * cfz);
+        tx[txOffset + 7] = cty - scale * (r[3] * cfx + r[4] * cfy + r[5] * cfz);
+        tx[txOffset + 11] = ctz - scale * (r[6] * cfx + r[7] * cfy + r[8] * cfz);
+        tx[txOffset + 12] = 0;
+        tx[txOffset + 13] = 0;
+        tx[txOffset + 14] = 0;
+        tx[txOffset + 15] = 1;
     }
 }
@@ -17,20 +17,18 @@
  */
 package id.matcv.markers;
 
-import id.matcv.MatUtils;
-import id.matcv.converters.ConvertersToNdBuffers;
 import id.matcv.converters.ConvertersToOpenCv;
 import id.matcv.types.camera.CameraInfo;
 import id.ndbuffers.NdBuffersFactory;
 import id.ndbuffers.matrix.Matrix4d;
-import id.xfunction.Preconditions;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.opencv.aruco.Aruco;
 import org.opencv.calib3d.Calib3d;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfDouble;
-import org.opencv.core.Size;
+import org.opencv.core.MatOfPoint3f;
 
 /**
  * Calculates translation and rotation vectors which can later be used to build matrix to transform
@@ -40,21 +38,72 @@ import org.opencv.core.Size;
  */
 public class CameraPoseEstimator {
 
+    /** PnP method used to estimate the pose of each marker */
+    public enum Solver {
+        /**
+         * Same as {@link Aruco#estimatePoseSingleMarkers(List, float, Mat, Mat, Mat, Mat)}, poses
+         * of all markers are estimated in one native call
+         */
+        ITERATIVE(Calib3d.SOLVEPNP_ITERATIVE),
+
+        /** Designed for square planar markers */
+        IPPE_SQUARE(Calib3d.SOLVEPNP_IPPE_SQUARE),
+
+        SQPNP(Calib3d.SOLVEPNP_SQPNP);
+
+        private final int flag;
+
+        Solver(int flag) {
+            this.flag = flag;
+        }
+    }
+
     private NdBuffersFactory ndFactory = new NdBuffersFactory();
-    private MatUtils matUtils = new MatUtils();
     private ConvertersToOpenCv converters = new ConvertersToOpenCv();
-    private ConvertersToNdBuffers ndConverters = new ConvertersToNdBuffers();
     private Mat cameraMat;
     private MatOfDouble distortionMat;
+    private Solver solver = Solver.ITERATIVE;
+
+    // buffers reused across the calls
+    private final List<Mat> corners = new ArrayList<>();
+    private final Mat rvecs = new Mat();
+    private final Mat tvecs = new Mat();
+    private final Mat rvec = new Mat();
+    private final Mat tvec = new Mat();
+    private MatOfPoint3f model;
+    private double[] rvecsBuf = new double[0];
+    private double[] tvecsBuf = new double[0];
+    private final double[] vecBuf = new double[3];
 
     public CameraPoseEstimator(CameraInfo cameraInfo) {
         cameraMat = converters.toMat64F(cameraInfo.cameraIntrinsics().cameraMatrix());
         distortionMat = converters.toMatOfDouble(cameraInfo.distortionCoefficients());
     }
 
+    /** Default is {@link Solver#ITERATIVE} */
+    public CameraPoseEstimator withSolver(Solver solver) {
+        this.solver = solver;
+        return this;
+    }
+
     public Optional<Matrix4d> estimate(MarkerLocation2d loc) {
-        var tvec = new Mat();
-        var rvec = new Mat();
+        return Optional.of(estimate(List.of(loc)).get(0));
+    }
+
+    /**
+     * Estimate poses of all markers of the frame.
+     *
+     * <p>Estimator keeps its buffers between the calls and should be used by one thread at a time.
+     *
+     * @return transformation matrices in the same order as markers
+     */
+    public List<Matrix4d> estimate(List<MarkerLocation2d> locs) {
+        var n = locs.size();
+        if (n == 0) return List.of();
+        if (rvecsBuf.length < 3 * n) {
+            rvecsBuf = new double[3 * n];
+            tvecsBuf = new double[3 * n];
+        }
         // see
         // https://docs.opencv.org/3.4/d9/d6a/group__aruco.html#ga896ca24f0c1b4b277b6e59d5fe001dd5
         // "markerLength - the length of the markers' side. The returning translation vectors will
@@ -64,29 +113,78 @@ public class CameraPoseEstimator {
         // NOTE: estimatePoseSingleMarkers is similar to solvePnP except it is designed for Aruco
         // markers
         // NOTE: In latest versions of OpenCV estimatePoseSingleMarkers is replaced with solvePnP
-        Aruco.estimatePoseSingleMarkers(
-                List.of(loc.corners().orElseThrow()),
-                // convert meters to millis
-                Marker.MARKERS_SIZE_IN_MM / 1000.F,
-                cameraMat,
-                distortionMat,
-                rvec,
-                tvec);
-        var rmx = new Mat();
-        Calib3d.Rodrigues(rvec, rmx);
-        Preconditions.equals(new Size(3, 3), rmx.size());
-        var tx =
-                ndFactory.matrix4d(
-                        new double[] {
-                            0, 0, 0, 0,
-                            0, 0, 0, 0,
-                            0, 0, 0, 0,
-                            0, 0, 0, 1,
-                        });
-        matUtils.debugMat("rmx", rmx);
-        ndConverters.mapToMatrix3d(rmx).copyTo(tx, 0, 0);
-        matUtils.debugMat("tvec", tvec);
-        ndConverters.mapToNdBuffer(tvec, 3, 1).copyTo(tx, 0, 3);
-        return Optional.of(tx);
+        if (solver == Solver.ITERATIVE) {
+            corners.clear();
+            for (var loc : locs) corners.add(loc.corners().orElseThrow());
+            Aruco.estimatePoseSingleMarkers(
+                    corners,
+                    // convert meters to millis
+                    Marker.MARKERS_SIZE_IN_MM / 1000.F,
+                    cameraMat,
+                    distortionMat,
+                    rvecs,
+                    tvecs);
+            corners.clear();
+            // N x 1 CV_64FC3
+            rvecs.get(0, 0, rvecsBuf);
+            tvecs.get(0, 0, tvecsBuf);
+        } else {
+            for (int i = 0; i < n; i++) {
+                var loc = locs.get(i);
+                if (model == null)
+                    model = converters.copyToMatOfPoint32F(loc.marker().create3dModel(0.001));
+                Calib3d.solvePnP(
+                        model,
+                        loc.corners().orElseThrow(),
+                        cameraMat,
+                        distortionMat,
+                        rvec,
+                        tvec,
+                        false,
+                        solver.flag);
+                rvec.get(0, 0, vecBuf);
+                System.arraycopy(vecBuf, 0, rvecsBuf, 3 * i, 3);
+                tvec.get(0, 0, vecBuf);
+                System.arraycopy(vecBuf, 0, tvecsBuf, 3 * i, 3);
+            }
+        }
+        var ret = new ArrayList<Matrix4d>(n);
+        for (int i = 0; i < n; i++) {
+            var tx = new double[16];
+            rodrigues(rvecsBuf, 3 * i, tx);
+            tx[3] = tvecsBuf[3 * i];
+            tx[7] = tvecsBuf[3 * i + 1];
+            tx[11] = tvecsBuf[3 * i + 2];
+            tx[15] = 1;
+            ret.add(ndFactory.matrix4d(tx));
+        }
+        return ret;
+    }
+
+    /**
+     * Convert rotation vector to rotation matrix, same as {@link Calib3d#Rodrigues(Mat, Mat)}
+     *
+     * @param tx row-major 4x4 matrix where rotation is written to
+     */
+    static void rodrigues(double[] rvecs, int offset, double[] tx) {
+        double rx = rvecs[offset], ry = rvecs[offset + 1], rz = rvecs[offset + 2];
+        var theta = Math.sqrt(rx * rx + ry * ry + rz * rz);
+        if (theta < 1e-12) {
+            tx[0] = tx[5] = tx[10] = 1;
+            return;
+        }
+        double kx = rx / theta, ky = ry / theta, kz = rz / theta;
+        var c = Math.cos(theta);
+        var s = Math.sin(theta);
+        var t = 1 - c;
+        tx[0] = c + t * kx * kx;
+        tx[1] = t * kx * ky - s * kz;
+        tx[2] = t * kx * kz + s * ky;
+        tx[4] = t * kx * ky + s * kz;
+        tx[5] = c + t * ky * ky;
+        tx[6] = t * ky * kz - s * kx;
+        tx[8] = t * kx * kz - s * ky;
+        tx[9] = t * ky * kz + s * kx;
+        tx[10] = c + t * kz * kz;
     }
 }
@@ -18,52 +18,39 @@
 package id.matcv.markers;
 
 import id.matcv.impl.ejml.KabschAlgorithm;
-import id.mathcat.NdBuffersMath;
-import id.ndbuffers.NdBuffersFactory;
-import id.ndbuffers.Slice;
+import id.matcv.registration.BatchRigidRegistration;
 import id.ndbuffers.matrix.Matrix4d;
 import id.xfunction.logging.XLogger;
-import java.nio.DoubleBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import org.ejml.data.DMatrixRMaj;
 
 /**
  * @author lambdaprime intid@protonmail.com
  */
 public class Marker3dUtils {
     private static final XLogger LOGGER = XLogger.getLogger(Marker3dUtils.class);
-    private static final NdBuffersFactory ndFactory = new NdBuffersFactory();
-    private static final NdBuffersMath ndMath = new NdBuffersMath();
+    private static final ThreadLocal<KabschAlgorithm> kabsch =
+            ThreadLocal.withInitial(KabschAlgorithm::new);
 
     public Optional<MarkerLocation3d> findMarkerLocation(
             MarkerType type, List<MarkerLocation3d> markerLocations) {
         return markerLocations.stream().filter(loc -> loc.marker().getType() == type).findFirst();
     }
 
-    /** Apply transformation matrix to all marker coordinates */
-    public List<MarkerLocation3d> transformAll(
-            List<MarkerLocation3d> markerLocations, Matrix4d tx) {
-        // read all points across all markers into single big matrix
-        var inPoints =
-                DoubleBuffer.allocate(markerLocations.size() * MarkerLocation3d.NUM_OF_POINTS * 3);
-        for (int i = 0; i < markerLocations.size(); i++) {
-            inPoints.put(markerLocations.get(i).getData().duplicate());
-        }
-        inPoints.rewind();
-        var mx = ndMath.transform(ndFactory.matrixN3d(inPoints), tx);
-        var out = new ArrayList<MarkerLocation3d>(markerLocations.size());
-        for (int i = 0; i < markerLocations.size(); i++) {
-            var loc = markerLocations.get(i);
-            var colStart = i * MarkerLocation3d.NUM_OF_POINTS;
-            var data = ndFactory.matrixN3d(5);
-            ndFactory
-                    .matrixN3d(new Slice(colStart, colStart + 5, 1), new Slice(0, 3, 1), mx)
-                    .copyTo(data, 0, 0);
-            out.add(new MarkerLocation3d(loc.marker(), data, loc.corners(), loc.imageFile()));
-        }
-        return out;
+    /**
+     * Apply transformation matrix to all marker coordinates
+     *
+     * <p>Markers of the returned batch are views which share one backing array (see {@link
+     * MarkerLocation3dBatch}).
+     *
+     * @return new batch with transformed markers, input markers are not modified
+     */
+    public MarkerLocation3dBatch transformAll(List<MarkerLocation3d> markerLocations, Matrix4d tx) {
+        var batch =
+                markerLocations instanceof MarkerLocation3dBatch b
+                        ? b.copy()
+                        : new MarkerLocation3dBatch(markerLocations);
+        return batch.transform(tx);
     }
 
     /**
@@ -74,12 +61,30 @@ public class Marker3dUtils {
      * part of bindings</a>
      */
     public Matrix4d calculateTransformationMatrix(MarkerLocation3d from, MarkerLocation3d to) {
-        return new Matrix4d(
-                new KabschAlgorithm()
-                        .calculateTransformation(
-                                DMatrixRMaj.wrap(5, 3, from.getData().duplicate().array()),
-                                DMatrixRMaj.wrap(5, 3, to.getData().duplicate().array()))
-                        .getData());
+        var fromData = from.getData().duplicate();
+        var toData = to.getData().duplicate();
+        var tx = new double[16];
+        kabsch.get()
+                .calculateTransformation(
+                        fromData.array(),
+                        fromData.arrayOffset() + fromData.position(),
+                        toData.array(),
+                        toData.arrayOffset() + toData.position(),
+                        MarkerLocation3d.NUM_OF_POINTS,
+                        tx,
+                        0);
+        return new Matrix4d(tx);
+    }
+
+    /**
+     * Calculate transformation matrices between each pair of markers with the same index in the
+     * given lists. Pairs are processed in parallel.
+     *
+     * @see BatchRigidRegistration
+     */
+    public List<Matrix4d> calculateTransformationMatrices(
+            List<MarkerLocation3d> from, List<MarkerLocation3d> to) {
+        return new BatchRigidRegistration().calculateTransformations(from, to);
     }
 
     /**
@@ -91,6 +96,8 @@ public class Marker3dUtils {
      * marker. For example if fixed marker has type {@link MarkerType#ONE} then same marker should
      * be present inside the input detected markers. The camera pose is calculated based on the
      * relative positions between points of such two markers.
+     *
+     * @see MarkerBoardPoseEstimator to estimate camera pose using all visible markers of the board
      */
     public Optional<Matrix4d> findCameraPoseTx(
             List<MarkerLocation3d> markerLocations, MarkerLocation3d fixedMarkerPose) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.markers;
+
+import id.ndbuffers.matrix.Matrix4d;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Known layout of the markers which are rigidly attached to the same board (or rig).
+ *
+ * <p>Position of each marker is given in the board coordinates (meters). Markers which are not
+ * added to the board are ignored during board pose estimation.
+ *
+ * @see MarkerBoardPoseEstimator
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerBoard {
+    private final Map<MarkerType, float[]> corners = new EnumMap<>(MarkerType.class);
+
+    /**
+     * Add marker which lies in the board XY plane with its center at the given position
+     *
+     * @param x position in meters
+     * @param y position in meters
+     * @param z position in meters
+     */
+    public MarkerBoard withMarker(MarkerType type, double x, double y, double z) {
+        return withMarker(type, new double[] {1, 0, 0, x, 0, 1, 0, y, 0, 0, 1, z, 0, 0, 0, 1});
+    }
+
+    /**
+     * Add marker with arbitrary pose on the board
+     *
+     * @param markerToBoard transformation from the marker coordinates to the board coordinates
+     */
+    public MarkerBoard withMarker(MarkerType type, Matrix4d markerToBoard) {
+        var tx = new double[16];
+        for (int r = 0; r < 4; r++)
+            for (int c = 0; c < 4; c++) tx[r * 4 + c] = markerToBoard.get(r, c);
+        return withMarker(type, tx);
+    }
+
+    /**
+     * Coordinates of 4 marker corners in the board coordinates (x, y, z for each corner) or null if
+     * marker is not part of the board
+     */
+    float[] corners(MarkerType type) {
+        return corners.get(type);
+    }
+
+    public boolean contains(MarkerType type) {
+        return corners.containsKey(type);
+    }
+
+    private MarkerBoard withMarker(MarkerType type, double[] tx) {
+        // marker model in meters, same as used by CameraPoseEstimator
+        var model = new Marker(type).create3dModel(0.001);
+        var out = new float[12];
+        for (int i = 0; i < 4; i++) {
+            var x = model.get(i, 0);
+            var y = model.get(i, 1);
+            var z = model.get(i, 2);
+            for (int r = 0; r < 3; r++)
+                out[3 * i + r] =
+                        (float)
+                                (tx[r * 4] * x
+                                        + tx[r * 4 + 1] * y
+                                        + tx[r * 4 + 2] * z
+                                        + tx[r * 4 + 3]);
+        }
+        corners.put(type, out);
+        return this;
+    }
+}
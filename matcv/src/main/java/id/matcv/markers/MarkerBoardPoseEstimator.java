@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.markers;
+
+import id.matcv.converters.ConvertersToOpenCv;
+import id.matcv.types.camera.CameraInfo;
+import id.ndbuffers.NdBuffersFactory;
+import id.ndbuffers.matrix.Matrix4d;
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import org.opencv.calib3d.Calib3d;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfDouble;
+import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.MatOfPoint3f;
+
+/**
+ * Estimate single pose of the {@link MarkerBoard} using all its markers visible on the image.
+ *
+ * <p>Unlike {@link CameraPoseEstimator}, which estimates pose of each marker independently, here
+ * corners of all visible markers are passed to a single PnP solve with RANSAC outlier rejection.
+ * Markers which are badly detected (or moved on the board) are rejected as outliers and do not
+ * affect the pose.
+ *
+ * <p>Estimator keeps its buffers between the calls and should be used by one thread at a time.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerBoardPoseEstimator {
+    private static final XLogger LOGGER = XLogger.getLogger(MarkerBoardPoseEstimator.class);
+    private static final NdBuffersFactory ndFactory = new NdBuffersFactory();
+    private static final ConvertersToOpenCv converters = new ConvertersToOpenCv();
+
+    /**
+     * @param boardToCamera transformation from the board coordinates to the camera coordinates
+     * @param inlierMarkers markers which all corners are inliers of the estimated pose
+     * @param outlierMarkers markers which were rejected
+     */
+    public record BoardPose(
+            Matrix4d boardToCamera,
+            EnumSet<MarkerType> inlierMarkers,
+            EnumSet<MarkerType> outlierMarkers) {
+
+        /** Camera pose in the board coordinates (inverse of {@link #boardToCamera()}) */
+        public Matrix4d cameraToBoard() {
+            var tx = new double[16];
+            for (int r = 0; r < 3; r++) {
+                for (int c = 0; c < 3; c++) tx[r * 4 + c] = boardToCamera.get(c, r);
+            }
+            for (int r = 0; r < 3; r++) {
+                tx[r * 4 + 3] =
+                        -(tx[r * 4] * boardToCamera.get(0, 3)
+                                + tx[r * 4 + 1] * boardToCamera.get(1, 3)
+                                + tx[r * 4 + 2] * boardToCamera.get(2, 3));
+            }
+            tx[15] = 1;
+            return ndFactory.matrix4d(tx);
+        }
+    }
+
+    private final MarkerBoard board;
+    private final Mat cameraMat;
+    private final MatOfDouble distortionMat;
+    private float reprojectionError = 4;
+    private int iterations = 100;
+    private double confidence = 0.99;
+
+    // buffers reused across the calls
+    private final MatOfPoint3f objectPoints = new MatOfPoint3f();
+    private final MatOfPoint2f imagePoints = new MatOfPoint2f();
+    private final Mat rvec = new Mat();
+    private final Mat tvec = new Mat();
+    private final Mat inliers = new Mat();
+    private final List<MarkerType> types = new ArrayList<>();
+    private final List<MarkerLocation2d> selected = new ArrayList<>();
+    private float[] objectBuf = new float[0];
+    private float[] imageBuf = new float[0];
+    private int[] inliersBuf = new int[0];
+    private final float[] cornersBuf = new float[8];
+    private final double[] vecBuf = new double[3];
+
+    public MarkerBoardPoseEstimator(CameraInfo cameraInfo, MarkerBoard board) {
+        this.board = board;
+        cameraMat = converters.toMat64F(cameraInfo.cameraIntrinsics().cameraMatrix());
+        distortionMat = converters.toMatOfDouble(cameraInfo.distortionCoefficients());
+    }
+
+    /**
+     * RANSAC parameters
+     *
+     * @param reprojectionError maximum distance in pixels between the corner and its projection to
+     *     be considered an inlier. Default 4.
+     * @param iterations maximum number of iterations. Default 100.
+     * @param confidence probability that algorithm produces useful result. Default 0.99.
+     */
+    public MarkerBoardPoseEstimator withRansac(
+            float reprojectionError, int iterations, double confidence) {
+        Preconditions.isTrue(reprojectionError > 0, "Reprojection error must be positive");
+        this.reprojectionError = reprojectionError;
+        this.iterations = iterations;
+        this.confidence = confidence;
+        return this;
+    }
+
+    /**
+     * @param markers markers detected on the image, markers which are not part of the board are
+     *     ignored
+     * @return empty when there are no board markers or PnP did not converge
+     */
+    public Optional<BoardPose> estimate(List<MarkerLocation2d> markers) {
+        types.clear();
+        selected.clear();
+        for (var ml : markers) {
+            var type = ml.marker().type();
+            if (board.contains(type) && ml.corners().isPresent() && !types.contains(type)) {
+                types.add(type);
+                selected.add(ml);
+            }
+        }
+        if (types.isEmpty()) {
+            LOGGER.fine("No board markers found");
+            return Optional.empty();
+        }
+        var n = types.size() * 4;
+        if (objectBuf.length < n * 3) {
+            objectBuf = new float[n * 3];
+            imageBuf = new float[n * 2];
+            inliersBuf = new int[n];
+        }
+        for (int m = 0; m < selected.size(); m++) {
+            System.arraycopy(board.corners(types.get(m)), 0, objectBuf, m * 12, 12);
+            selected.get(m).corners().get().get(0, 0, cornersBuf);
+            System.arraycopy(cornersBuf, 0, imageBuf, m * 8, 8);
+        }
+        objectPoints.alloc(n);
+        objectPoints.put(0, 0, objectBuf);
+        imagePoints.alloc(n);
+        imagePoints.put(0, 0, imageBuf);
+        var isSolved =
+                Calib3d.solvePnPRansac(
+                        objectPoints,
+                        imagePoints,
+                        cameraMat,
+                        distortionMat,
+                        rvec,
+                        tvec,
+                        false,
+                        iterations,
+                        reprojectionError,
+                        confidence,
+                        inliers,
+                        Calib3d.SOLVEPNP_ITERATIVE);
+        if (!isSolved || inliers.empty()) {
+            LOGGER.fine("Board pose could not be estimated");
+            return Optional.empty();
+        }
+        var tx = new double[16];
+        rvec.get(0, 0, vecBuf);
+        CameraPoseEstimator.rodrigues(vecBuf, 0, tx);
+        tvec.get(0, 0, vecBuf);
+        tx[3] = vecBuf[0];
+        tx[7] = vecBuf[1];
+        tx[11] = vecBuf[2];
+        tx[15] = 1;
+        // count inlier corners for each marker
+        var inliersCount = (int) inliers.total();
+        inliers.get(0, 0, inliersBuf);
+        var counts = new int[types.size()];
+        for (int i = 0; i < inliersCount; i++) counts[inliersBuf[i] / 4]++;
+        var inlierMarkers = EnumSet.noneOf(MarkerType.class);
+        var outlierMarkers = EnumSet.noneOf(MarkerType.class);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 4) inlierMarkers.add(types.get(i));
+            else outlierMarkers.add(types.get(i));
+        }
+        LOGGER.fine("Board pose inliers {0}, outliers {1}", inlierMarkers, outlierMarkers);
+        return Optional.of(new BoardPose(ndFactory.matrix4d(tx), inlierMarkers, outlierMarkers));
+    }
+}
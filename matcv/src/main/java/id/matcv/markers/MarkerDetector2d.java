@@ -21,30 +21,46 @@ import id.matcv.MatUtils;
 import id.matcv.converters.ConvertersToOpenCv;
 import id.matcv.types.FileMat;
 import id.matcv.types.camera.CameraInfo;
+import id.xfunction.Preconditions;
 import id.xfunction.XJsonStringBuilder;
 import id.xfunction.logging.XLogger;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import org.opencv.aruco.Aruco;
+import org.opencv.aruco.DetectorParameters;
 import org.opencv.aruco.Dictionary;
+import org.opencv.core.Core;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfDouble;
 import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.MatOfPoint3f;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
 
 /**
  * Detect marked in 2d images
  *
+ * <p>Detector is a long-lived session which keeps ArUco dictionary, detector parameters and output
+ * buffers between the frames, so that it is not allocated on every {@link #detect(Mat)} call. For
+ * the same reason it is not thread safe and each thread should use its own detector (ex. using
+ * {@link ThreadLocal}).
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class MarkerDetector2d {
     private static final XLogger LOGGER = XLogger.getLogger(MarkerDetector2d.class);
     private static final MatUtils matUtils = new MatUtils();
     private static final ConvertersToOpenCv converters = new ConvertersToOpenCv();
+    private static final double DEFAULT_ROI_MARGIN = 0.5;
 
     public record Result(
             Mat img,
@@ -60,9 +76,43 @@ public class MarkerDetector2d {
         }
     }
 
+    /** How markers of the frame were found */
+    public enum DetectionMode {
+        /** Markers were searched in the entire frame */
+        FULL_FRAME,
+        /** Markers were searched only around the markers of the previous frame */
+        TRACKING,
+        /** Markers were found in the downscaled frame and refined in the original frame */
+        COARSE
+    }
+
     private record DistortionParams(Mat cameraMat, MatOfDouble distortionMat) {}
 
     private Optional<DistortionParams> distortionParams = Optional.empty();
+    private final Dictionary dictionary = Aruco.getPredefinedDictionary(MarkerType.getDict());
+    private DetectorParameters detectorParams = DetectorParameters.create();
+    private final List<Mat> detectedMarkers = new ArrayList<>();
+    private final Mat ids = new Mat();
+    private int[] idsBuf = new int[0];
+
+    private final List<Mat> foundCorners = new ArrayList<>();
+    private int[] foundIds = new int[16];
+    private int foundCount;
+    private final float[] cornersBuf = new float[8];
+
+    // tracking
+    private int trackingInterval;
+    private double roiMargin;
+    private List<MarkerLocation2d> tracked = List.of();
+    private int framesTracked;
+    private final List<Rect> rois = new ArrayList<>();
+    private double coarseScale = 1;
+    private final Mat coarseImg = new Mat();
+    private int[] coarseIds = new int[16];
+    private DetectionMode lastDetectionMode = DetectionMode.FULL_FRAME;
+
+    /** 3d models of the markers which are used for undistortion */
+    private final EnumMap<MarkerType, MatOfPoint3f> models = new EnumMap<>(MarkerType.class);
 
     public MarkerDetector2d withUndistortion(CameraInfo cameraInfo) {
         var cameraMat = converters.toMat64F(cameraInfo.cameraIntrinsics().cameraMatrix());
@@ -71,6 +121,56 @@ public class MarkerDetector2d {
         return this;
     }
 
+    /** Parameters of the ArUco detector, by default {@link DetectorParameters#create()} */
+    public MarkerDetector2d withDetectorParameters(DetectorParameters params) {
+        this.detectorParams = params;
+        return this;
+    }
+
+    /**
+     * Enable tracking mode for the video streams. In this mode markers are searched only inside of
+     * the regions around the markers found in the previous frame. Full frame detection runs when
+     * any of the tracked markers is lost, when there is nothing to track, and periodically to find
+     * new markers.
+     *
+     * <p>Tracking assumes that all images passed to the detector are consecutive frames of the same
+     * video stream.
+     *
+     * @param redetectInterval number of frames after which full frame detection is performed
+     * @param roiMargin how much to expand the region around the marker, relative to the marker size
+     *     (ex. 0.5 expands by half of the marker size in each direction)
+     */
+    public MarkerDetector2d withTracking(int redetectInterval, double roiMargin) {
+        Preconditions.isTrue(redetectInterval > 0, "Redetect interval must be positive");
+        Preconditions.isTrue(roiMargin >= 0, "ROI margin must not be negative");
+        this.trackingInterval = redetectInterval;
+        this.roiMargin = roiMargin;
+        return this;
+    }
+
+    /**
+     * Run full frame detection on the downscaled image first and then refine found markers inside
+     * of the regions of the original image (see {@link #withTracking(int, double)} for the region
+     * size). When downscaled image has no markers, or any of its markers is not confirmed in the
+     * original image, detection falls back to the original image.
+     *
+     * <p>Small markers may not be detected on the downscaled image, so scale should be chosen with
+     * respect to the expected marker size in pixels.
+     *
+     * @param scale value in range (0, 1]
+     */
+    public MarkerDetector2d withCoarseDetection(double scale) {
+        Preconditions.isTrue(scale > 0 && scale <= 1, "Scale must be in range (0, 1]");
+        this.coarseScale = scale;
+        if (roiMargin == 0) roiMargin = DEFAULT_ROI_MARGIN;
+        return this;
+    }
+
+    /** How markers of the last frame passed to {@link #detect(Mat)} were found */
+    public DetectionMode lastDetectionMode() {
+        return lastDetectionMode;
+    }
+
     /** Detect all {@link MarkerType} markers */
     public Result detect(FileMat img) {
         return detect(img, EnumSet.allOf(MarkerType.class));
@@ -95,35 +195,203 @@ public class MarkerDetector2d {
     public Result detect(Mat img, Optional<Path> file, EnumSet<MarkerType> types) {
         var origin = Optional.<MarkerLocation2d>empty();
         var markers = new LinkedList<MarkerLocation2d>();
-        Dictionary dictionary = Aruco.getPredefinedDictionary(MarkerType.getDict());
-        List<Mat> detectedMarkers = new ArrayList<>();
-        Mat ids = new Mat();
-        Aruco.detectMarkers(img, dictionary, detectedMarkers, ids);
-        for (int i = 0; i < detectedMarkers.size(); i++) {
-            Optional<MarkerType> type = MarkerType.findType((int) ids.get(i, 0)[0]);
+        findMarkers(img);
+        for (int i = 0; i < foundCount; i++) {
+            Optional<MarkerType> type = MarkerType.findType(foundIds[i]);
             if (type.isEmpty()) {
                 LOGGER.warning("Unknown marker type - ignoring");
                 continue;
             }
             if (!types.contains(type.get())) continue;
             var marker = new Marker(type.get());
-            var corners = detectedMarkers.get(i);
+            var corners = foundCorners.get(i);
             distortionParams.ifPresent(
                     params -> {
                         var points2d = new MatOfPoint2f(corners.reshape(2, 4));
                         matUtils.undistort(
                                 points2d,
-                                converters.copyToMatOfPoint32F(marker.create3dModel(1)),
+                                models.computeIfAbsent(
+                                        marker.type(),
+                                        t ->
+                                                converters.copyToMatOfPoint32F(
+                                                        marker.create3dModel(1))),
                                 params.cameraMat,
                                 params.distortionMat);
                     });
-            var mloc = MarkerLocation2d.create(marker, corners);
+            var mloc = MarkerLocation2d.create(marker, corners, cornersBuf);
             markers.add(mloc);
             if (mloc.marker().isOrigin()) origin = Optional.of(markers.getLast());
         }
         markers.sort(Comparator.<MarkerLocation2d, Marker>comparing(ml -> ml.marker()));
+        if (trackingInterval > 0) tracked = List.copyOf(markers);
 
         LOGGER.fine("Number of markers detected: {0}", markers.size());
         return new Result(img, markers, origin);
     }
+
+    /**
+     * Find markers in the image and store them into {@link #foundIds}, {@link #foundCorners}
+     *
+     * <p>When tracking is enabled, markers are searched only inside ROIs around the markers from
+     * the previous frame.
+     */
+    private void findMarkers(Mat img) {
+        resetFound();
+        if (trackingInterval > 0 && !tracked.isEmpty() && framesTracked < trackingInterval) {
+            framesTracked++;
+            rois.clear();
+            for (var ml : tracked) {
+                for (int i = 0; i < 4; i++) {
+                    var p = ml.points().get(i + 1);
+                    cornersBuf[2 * i] = (float) p.getX();
+                    cornersBuf[2 * i + 1] = (float) p.getY();
+                }
+                addRoi(cornersBuf, 1, img.size());
+            }
+            detectInRois(img);
+            if (isAllTrackedFound()) {
+                lastDetectionMode = DetectionMode.TRACKING;
+                return;
+            }
+            LOGGER.fine("Tracked markers are lost, running full frame detection");
+            resetFound();
+        }
+        framesTracked = 0;
+        if (coarseScale < 1) {
+            Imgproc.resize(
+                    img, coarseImg, new Size(), coarseScale, coarseScale, Imgproc.INTER_AREA);
+            detectInto(coarseImg, 0, 0);
+            if (foundCount > 0) {
+                // refine markers in full resolution
+                rois.clear();
+                for (int i = 0; i < foundCount; i++) {
+                    foundCorners.get(i).get(0, 0, cornersBuf);
+                    addRoi(cornersBuf, 1 / coarseScale, img.size());
+                }
+                if (coarseIds.length < foundCount) coarseIds = new int[foundIds.length];
+                var coarseCount = foundCount;
+                System.arraycopy(foundIds, 0, coarseIds, 0, coarseCount);
+                resetFound();
+                detectInRois(img);
+                if (isAllFound(coarseIds, coarseCount)) {
+                    lastDetectionMode = DetectionMode.COARSE;
+                    return;
+                }
+                LOGGER.fine("Coarse markers are lost, running full frame detection");
+            } else {
+                LOGGER.fine(
+                        "Coarse detection did not find any markers, running full frame detection");
+            }
+            resetFound();
+        }
+        detectInto(img, 0, 0);
+        lastDetectionMode = DetectionMode.FULL_FRAME;
+    }
+
+    private boolean isAllTrackedFound() {
+        for (var ml : tracked) {
+            if (!isFound(ml.marker().type().getId())) return false;
+        }
+        return true;
+    }
+
+    private boolean isAllFound(int[] ids, int count) {
+        for (int i = 0; i < count; i++) {
+            if (!isFound(ids[i])) return false;
+        }
+        return true;
+    }
+
+    private boolean isFound(int id) {
+        for (int i = 0; i < foundCount; i++) if (foundIds[i] == id) return true;
+        return false;
+    }
+
+    private void detectInRois(Mat img) {
+        for (var roi : rois) {
+            // submat does not copy the image data
+            var roiImg = img.submat(roi);
+            detectInto(roiImg, roi.x, roi.y);
+            roiImg.release();
+        }
+    }
+
+    /**
+     * Detect markers in the image and append them to the found markers. Markers which were already
+     * found are ignored.
+     *
+     * @param x offset of the image which is added to all marker corners
+     * @param y offset of the image which is added to all marker corners
+     */
+    private void detectInto(Mat img, int x, int y) {
+        // corner Mats are not reused since they are referenced by MarkerLocation2d
+        detectedMarkers.clear();
+        Aruco.detectMarkers(img, dictionary, detectedMarkers, ids, detectorParams);
+        var count = detectedMarkers.size();
+        if (idsBuf.length < count) idsBuf = new int[count];
+        if (count > 0) ids.get(0, 0, idsBuf);
+        for (int i = 0; i < count; i++) {
+            if (isFound(idsBuf[i])) continue;
+            var corners = detectedMarkers.get(i);
+            if (x != 0 || y != 0) Core.add(corners, new Scalar(x, y), corners);
+            if (foundCount == foundIds.length)
+                foundIds = Arrays.copyOf(foundIds, foundIds.length * 2);
+            foundIds[foundCount++] = idsBuf[i];
+            foundCorners.add(corners);
+        }
+    }
+
+    private void resetFound() {
+        foundCount = 0;
+        foundCorners.clear();
+    }
+
+    /**
+     * Add ROI around the marker corners expanded by the {@link #roiMargin}. Overlapping ROIs are
+     * merged so that each marker is detected only once.
+     *
+     * @param corners x, y coordinates of 4 marker corners
+     * @param scale scale of the corners coordinates to the image coordinates
+     */
+    private void addRoi(float[] corners, double scale, Size imgSize) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < 8; i += 2) {
+            minX = Math.min(minX, corners[i] * scale);
+            maxX = Math.max(maxX, corners[i] * scale);
+            minY = Math.min(minY, corners[i + 1] * scale);
+            maxY = Math.max(maxY, corners[i + 1] * scale);
+        }
+        var margin = roiMargin * Math.max(maxX - minX, maxY - minY);
+        var x1 = (int) Math.max(0, Math.floor(minX - margin));
+        var y1 = (int) Math.max(0, Math.floor(minY - margin));
+        var x2 = (int) Math.min(imgSize.width, Math.ceil(maxX + margin));
+        var y2 = (int) Math.min(imgSize.height, Math.ceil(maxY + margin));
+        if (x2 <= x1 || y2 <= y1) return;
+        var roi = new Rect(x1, y1, x2 - x1, y2 - y1);
+        // merge with all overlapping ROIs, merged ROI may overlap new ones so repeat until none
+        var isMerged = true;
+        while (isMerged) {
+            isMerged = false;
+            for (var iter = rois.iterator(); iter.hasNext(); ) {
+                var other = iter.next();
+                if (!isOverlap(roi, other)) continue;
+                var mx1 = Math.min(roi.x, other.x);
+                var my1 = Math.min(roi.y, other.y);
+                var mx2 = Math.max(roi.x + roi.width, other.x + other.width);
+                var my2 = Math.max(roi.y + roi.height, other.y + other.height);
+                roi = new Rect(mx1, my1, mx2 - mx1, my2 - my1);
+                iter.remove();
+                isMerged = true;
+            }
+        }
+        rois.add(roi);
+    }
+
+    private static boolean isOverlap(Rect a, Rect b) {
+        return a.x < b.x + b.width
+                && b.x < a.x + a.width
+                && a.y < b.y + b.height
+                && b.y < a.y + a.height;
+    }
 }
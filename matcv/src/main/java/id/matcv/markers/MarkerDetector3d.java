@@ -18,23 +18,33 @@
 package id.matcv.markers;
 
 import id.matcv.OpenCvKit;
-import id.matcv.converters.ConvertersToNdBuffers;
+import id.matcv.pointcloud.filters.OutlierFilter;
 import id.matcv.types.FileMat;
 import id.matcv.types.KeyPoints3dTable;
 import id.matcv.types.camera.CameraInfo;
 import id.matcv.types.datatables.DataTable2;
+import id.matcv.types.pointcloud.OrganizedPointCloud;
 import id.matcv.types.pointcloud.PointCloud;
 import id.mathcat.NdBuffersMath;
 import id.ndbuffers.NdBuffersFactory;
+import id.ndbuffers.matrix.Vector2d;
+import id.ndbuffers.matrix.Vector3d;
 import id.xfunction.Preconditions;
 import id.xfunction.logging.XLogger;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import org.opencv.core.Mat;
 import org.opencv.imgcodecs.Imgcodecs;
 
@@ -44,7 +54,6 @@ import org.opencv.imgcodecs.Imgcodecs;
 public class MarkerDetector3d {
     private static final XLogger LOGGER = XLogger.getLogger(MarkerDetector3d.class);
     private NdBuffersFactory ndFactory = new NdBuffersFactory();
-    private ConvertersToNdBuffers converters = new ConvertersToNdBuffers();
     private Marker2dUtils markerUtils = new Marker2dUtils();
     private Marker3dUtils marker3dUtils = new Marker3dUtils();
     private OpenCvKit cvKit = new OpenCvKit();
@@ -52,11 +61,23 @@ public class MarkerDetector3d {
     private CameraInfo cameraInfo;
     private boolean showDetectedMarkers;
     private boolean isUndistortion;
-    private CameraPoseEstimator cameraPoseEstimator;
+    private OutlierFilter outlierFilter;
+    private int searchRadius;
+
+    private ExecutorService executor;
+
+    /**
+     * Detector sessions which are reused across the calls. Each running task takes its own session
+     * so that the number of sessions equals to maximum number of tasks running in parallel (this
+     * works for both platform and virtual threads).
+     */
+    private final Queue<MarkerDetector2d> detectors2d = new ConcurrentLinkedQueue<>();
+
+    /** Same as {@link #detectors2d} */
+    private final Queue<CameraPoseEstimator> poseEstimators = new ConcurrentLinkedQueue<>();
 
     public MarkerDetector3d(CameraInfo cameraInfo) {
         this.cameraInfo = cameraInfo;
-        this.cameraPoseEstimator = new CameraPoseEstimator(cameraInfo);
     }
 
     public MarkerDetector3d withUndistortion() {
@@ -69,14 +90,49 @@ public class MarkerDetector3d {
         return this;
     }
 
+    /**
+     * Remove noise from the point cloud before looking up marker keypoints in it.
+     *
+     * <p>Filter is applied only to the region of the point cloud (see {@link
+     * OrganizedPointCloud#subView(int, int, int, int)}) around each marker. When marker keypoint is
+     * a hole or an outlier, the nearest valid point within the search radius is used instead, so
+     * that marker is not ignored.
+     *
+     * @param searchRadius radius in pixels where to search for valid point
+     */
+    public MarkerDetector3d withOutlierFilter(OutlierFilter filter, int searchRadius) {
+        this.outlierFilter = filter;
+        this.searchRadius = searchRadius;
+        return this;
+    }
+
+    /**
+     * Process images in parallel using the given executor. Results are always returned in the order
+     * of the input images.
+     *
+     * <p>By default all images are processed sequentially in the calling thread.
+     *
+     * @param executor for example {@link Executors#newVirtualThreadPerTaskExecutor()} or {@link
+     *     Executors#newFixedThreadPool(int)}
+     */
+    public MarkerDetector3d withExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
     /** Detect all {@link MarkerType} markers */
     public DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> detectInFiles(
             DataTable2<Path, PointCloud> inputTable) {
-        var imgs =
-                inputTable.col1().stream()
-                        .map(imgPath -> new FileMat(Imgcodecs.imread(imgPath.toString()), imgPath))
-                        .toList();
-        return detectInPointCloud(new DataTable2<>(imgs, inputTable.col2()));
+        // images are read inside of the tasks so that decoding runs in parallel too
+        var results =
+                map(
+                        inputTable.size(),
+                        i -> {
+                            var imgPath = inputTable.col1(i);
+                            var img = new FileMat(Imgcodecs.imread(imgPath.toString()), imgPath);
+                            return detect3d(detect2d(img), inputTable.col2(i));
+                        });
+        return toDataTable(results);
     }
 
     /**
@@ -86,77 +142,11 @@ public class MarkerDetector3d {
      */
     public DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> detectInPointCloud(
             DataTable2<? extends Mat, PointCloud> inputTable) {
-        List<MarkerDetector2d.Result> detectorResults2d =
-                runArucoMarkersDetector(inputTable.col1(), showDetectedMarkers);
-        LOGGER.fine("detectorResults2d={0}", detectorResults2d);
-        var w = cameraInfo.cameraIntrinsics().width();
-        var h = cameraInfo.cameraIntrinsics().height();
-        var col1 = new ArrayList<KeyPoints3dTable>();
-        var col2 = new ArrayList<List<MarkerLocation3d>>();
-        for (int i = 0; i < detectorResults2d.size(); i++) {
-            var result = detectorResults2d.get(i);
-            var pc = inputTable.col2(i);
-            var pointHashesMap = new HashMap<Integer, Integer>();
-            var locations = new ArrayList<MarkerLocation3d>();
-            for (var ml : result.markersSortedByType()) {
-                var mlt = ml.marker().type();
-                Preconditions.equals(
-                        5, ml.points().size(), "Each marker has 5 keypoints (center + 4 corners)");
-                var centerId = converters.toIndex(ml.center(), w, h);
-                var p1Id = converters.toIndex(ml.p1(), w, h);
-                var p2Id = converters.toIndex(ml.p2(), w, h);
-                var p3Id = converters.toIndex(ml.p3(), w, h);
-                var p4Id = converters.toIndex(ml.p4(), w, h);
-                pointHashesMap.put(centerId, mlt.centerHash());
-                pointHashesMap.put(p1Id, mlt.p1Hash());
-                pointHashesMap.put(p2Id, mlt.p2Hash());
-                pointHashesMap.put(p3Id, mlt.p3Hash());
-                pointHashesMap.put(p4Id, mlt.p4Hash());
-                var center = pc.getPoint(centerId);
-                if (center == PointCloud.HOLE) {
-                    LOGGER.fine("Marker {0} has hole in point center and will be ignored", mlt);
-                    continue;
-                }
-                var p1 = pc.getPoint(p1Id);
-                if (p1 == PointCloud.HOLE) {
-                    LOGGER.fine("Marker {0} has hole in point p1 and will be ignored", mlt);
-                    continue;
-                }
-                var p2 = pc.getPoint(p2Id);
-                if (p2 == PointCloud.HOLE) {
-                    LOGGER.fine("Marker {0} has hole in point p2 and will be ignored", mlt);
-                    continue;
-                }
-                var p3 = pc.getPoint(p3Id);
-                if (p3 == PointCloud.HOLE) {
-                    LOGGER.fine("Marker {0} has hole in point p3 and will be ignored", mlt);
-                    continue;
-                }
-                var p4 = pc.getPoint(p4Id);
-                if (p4 == PointCloud.HOLE) {
-                    LOGGER.fine("Marker {0} has hole in point p4 and will be ignored", mlt);
-                    continue;
-                }
-                var loc = new MarkerLocation3d(ml.marker(), center, p1, p2, p3, p4, ml.corners());
-                if (marker3dUtils.hasVaildPoints(loc)) locations.add(loc);
-                else LOGGER.fine("Marker has invalid points and will be ignored: {0}", loc);
-            }
-            if (result.img() instanceof FileMat fm)
-                LOGGER.fine(
-                        "Found {0} keypoints on image {1}", pointHashesMap.size(), fm.getFile());
-            var pointHashes =
-                    pointHashesMap.entrySet().stream()
-                            .sorted(Comparator.comparing(Entry::getKey))
-                            .toList();
-            col1.add(
-                    new KeyPoints3dTable(
-                            pointHashes.stream().map(Entry::getKey).toList(),
-                            pointHashes.stream().map(Entry::getValue).toList()));
-            col2.add(locations);
-        }
-        var ret = new DataTable2<>(col1, col2);
-        LOGGER.fine("detectorResults3d={0}", ret);
-        return ret;
+        var results =
+                map(
+                        inputTable.size(),
+                        i -> detect3d(detect2d(inputTable.col1(i)), inputTable.col2(i)));
+        return toDataTable(results);
     }
 
     /**
@@ -165,44 +155,249 @@ public class MarkerDetector3d {
      * @param inputImages RGB image
      */
     public List<List<MarkerLocation3d>> detect(List<? extends Mat> inputImages) {
-        List<MarkerDetector2d.Result> detectorResults2d =
-                runArucoMarkersDetector(inputImages, showDetectedMarkers);
-        LOGGER.fine("detectorResults2d={0}", detectorResults2d);
-        var ret = new ArrayList<List<MarkerLocation3d>>();
-        for (int i = 0; i < detectorResults2d.size(); i++) {
-            var result = detectorResults2d.get(i);
-            var locations = new ArrayList<MarkerLocation3d>();
-            for (var ml : result.markersSortedByType()) {
-                var tx = cameraPoseEstimator.estimate(ml).get();
-                var points3d = ndFactory.matrixN3d(5);
-                // first point is center point at [0, 0]
-                ml.marker().create3dModel(0.001).copyTo(points3d, 1, 0);
-                points3d = ndMath.transform(points3d, tx);
-                var loc =
-                        new MarkerLocation3d(ml.marker(), points3d, ml.corners(), Optional.empty());
-                locations.add(loc);
+        var results = map(inputImages.size(), i -> estimate3d(detect2d(inputImages.get(i))));
+        var ret = results.stream().map(FrameMarkers::locations).toList();
+        LOGGER.fine("detectorResults3d={0}", ret);
+        return ret;
+    }
+
+    /** Markers found in a single frame */
+    private record FrameMarkers(
+            MarkerDetector2d.Result result2d,
+            KeyPoints3dTable keyPoints,
+            List<MarkerLocation3d> locations) {}
+
+    private FrameMarkers detect3d(MarkerDetector2d.Result result, PointCloud points) {
+        var pc =
+                OrganizedPointCloud.of(
+                        points,
+                        cameraInfo.cameraIntrinsics().width(),
+                        cameraInfo.cameraIntrinsics().height());
+        var markers = result.markersSortedByType();
+        // key points of all markers as (point index, insertion order) pairs packed into longs
+        var keys = new long[markers.size() * MarkerLocation3d.NUM_OF_POINTS];
+        var hashes = new int[keys.length];
+        var n = 0;
+        var locations = new ArrayList<MarkerLocation3d>();
+        for (var ml : markers) {
+            var mlt = ml.marker().type();
+            Preconditions.equals(
+                    5, ml.points().size(), "Each marker has 5 keypoints (center + 4 corners)");
+            var centerId = index(pc, ml.center());
+            var p1Id = index(pc, ml.p1());
+            var p2Id = index(pc, ml.p2());
+            var p3Id = index(pc, ml.p3());
+            var p4Id = index(pc, ml.p4());
+            n = addKeyPoint(keys, hashes, n, centerId, mlt.centerHash());
+            n = addKeyPoint(keys, hashes, n, p1Id, mlt.p1Hash());
+            n = addKeyPoint(keys, hashes, n, p2Id, mlt.p2Hash());
+            n = addKeyPoint(keys, hashes, n, p3Id, mlt.p3Hash());
+            n = addKeyPoint(keys, hashes, n, p4Id, mlt.p4Hash());
+            var keyPoints = createKeyPointsLookup(pc, ml);
+            var center = keyPoints.apply(ml.center());
+            if (center == PointCloud.HOLE) {
+                LOGGER.fine("Marker {0} has hole in point center and will be ignored", mlt);
+                continue;
+            }
+            var p1 = keyPoints.apply(ml.p1());
+            if (p1 == PointCloud.HOLE) {
+                LOGGER.fine("Marker {0} has hole in point p1 and will be ignored", mlt);
+                continue;
             }
-            if (result.img() instanceof FileMat fm)
-                LOGGER.fine("Found {0} markers on image {1}", ret.size(), fm.getFile());
-            ret.add(locations);
+            var p2 = keyPoints.apply(ml.p2());
+            if (p2 == PointCloud.HOLE) {
+                LOGGER.fine("Marker {0} has hole in point p2 and will be ignored", mlt);
+                continue;
+            }
+            var p3 = keyPoints.apply(ml.p3());
+            if (p3 == PointCloud.HOLE) {
+                LOGGER.fine("Marker {0} has hole in point p3 and will be ignored", mlt);
+                continue;
+            }
+            var p4 = keyPoints.apply(ml.p4());
+            if (p4 == PointCloud.HOLE) {
+                LOGGER.fine("Marker {0} has hole in point p4 and will be ignored", mlt);
+                continue;
+            }
+            var loc = new MarkerLocation3d(ml.marker(), center, p1, p2, p3, p4, ml.corners());
+            if (marker3dUtils.hasVaildPoints(loc)) locations.add(loc);
+            else LOGGER.fine("Marker has invalid points and will be ignored: {0}", loc);
+        }
+        var keyPointsTable = toKeyPointsTable(keys, hashes, n);
+        if (result.img() instanceof FileMat fm)
+            LOGGER.fine("Found {0} keypoints on image {1}", keyPointsTable.size(), fm.getFile());
+        return new FrameMarkers(result, keyPointsTable, locations);
+    }
+
+    private static int addKeyPoint(long[] keys, int[] hashes, int n, int pointId, int hash) {
+        keys[n] = ((long) pointId << 32) | n;
+        hashes[n] = hash;
+        return n + 1;
+    }
+
+    /**
+     * Sort key points by point index. When same point belongs to several markers, hash of the last
+     * added one is used.
+     */
+    private static KeyPoints3dTable toKeyPointsTable(long[] keys, int[] hashes, int n) {
+        Arrays.sort(keys, 0, n);
+        var pointIds = new int[n];
+        var pointHashes = new int[n];
+        var size = 0;
+        for (int i = 0; i < n; i++) {
+            var pointId = (int) (keys[i] >>> 32);
+            if (i + 1 < n && (int) (keys[i + 1] >>> 32) == pointId) continue;
+            pointIds[size] = pointId;
+            pointHashes[size] = hashes[(int) keys[i]];
+            size++;
+        }
+        return new KeyPoints3dTable(
+                Arrays.copyOf(pointIds, size), Arrays.copyOf(pointHashes, size));
+    }
+
+    private FrameMarkers estimate3d(MarkerDetector2d.Result result) {
+        var locations = new ArrayList<MarkerLocation3d>();
+        var markers = result.markersSortedByType();
+        var txs =
+                borrow(
+                        poseEstimators,
+                        () -> new CameraPoseEstimator(cameraInfo),
+                        estimator -> estimator.estimate(markers));
+        for (int i = 0; i < markers.size(); i++) {
+            var ml = markers.get(i);
+            var tx = txs.get(i);
+            var points3d = ndFactory.matrixN3d(5);
+            // first point is center point at [0, 0]
+            ml.marker().create3dModel(0.001).copyTo(points3d, 1, 0);
+            points3d = ndMath.transform(points3d, tx);
+            var loc = new MarkerLocation3d(ml.marker(), points3d, ml.corners(), Optional.empty());
+            locations.add(loc);
+        }
+        if (result.img() instanceof FileMat fm)
+            LOGGER.fine("Found {0} markers on image {1}", locations.size(), fm.getFile());
+        return new FrameMarkers(result, null, locations);
+    }
+
+    private DataTable2<KeyPoints3dTable, List<MarkerLocation3d>> toDataTable(
+            List<FrameMarkers> results) {
+        var col1 = new ArrayList<KeyPoints3dTable>(results.size());
+        var col2 = new ArrayList<List<MarkerLocation3d>>(results.size());
+        for (var r : results) {
+            col1.add(r.keyPoints());
+            col2.add(r.locations());
         }
+        var ret = new DataTable2<>(col1, col2);
         LOGGER.fine("detectorResults3d={0}", ret);
         return ret;
     }
 
-    private List<MarkerDetector2d.Result> runArucoMarkersDetector(
-            List<? extends Mat> rgbImages, boolean showDetectedMarkers) {
-        List<MarkerDetector2d.Result> results = new ArrayList<MarkerDetector2d.Result>();
-        var detector = new MarkerDetector2d();
-        if (isUndistortion) detector = detector.withUndistortion(cameraInfo);
-        for (var img : rgbImages) {
-            var result = detector.detect(img);
-            results.add(result);
-            if (showDetectedMarkers) {
-                result.markersSortedByType().forEach(ml -> markerUtils.drawMarker(img, ml));
-                cvKit.show(img, true);
+    /** Function which maps marker keypoint in the image to the point in point cloud */
+    private Function<Vector2d, Vector3d> createKeyPointsLookup(
+            OrganizedPointCloud pc, MarkerLocation2d ml) {
+        if (outlierFilter == null) return p -> pc.getPoint(index(pc, p));
+        var w = pc.width();
+        var h = pc.height();
+        // region around the marker which includes search radius for all its keypoints
+        int minX = w, minY = h, maxX = 0, maxY = 0;
+        for (var p : ml.points()) {
+            minX = Math.min(minX, (int) p.getX());
+            minY = Math.min(minY, (int) p.getY());
+            maxX = Math.max(maxX, (int) p.getX());
+            maxY = Math.max(maxY, (int) p.getY());
+        }
+        var x = Math.max(0, minX - searchRadius);
+        var y = Math.max(0, minY - searchRadius);
+        var roi =
+                pc.subView(
+                        x,
+                        y,
+                        Math.min(w, maxX + searchRadius + 1) - x,
+                        Math.min(h, maxY + searchRadius + 1) - y);
+        var denoised = outlierFilter.mask(roi);
+        return p -> findNearestValidPoint(denoised, (int) p.getX() - x, (int) p.getY() - y);
+    }
+
+    /** Index of the point which corresponds to the given pixel of the image */
+    private static int index(OrganizedPointCloud pc, Vector2d pixel) {
+        return pc.index((int) pixel.getY(), (int) pixel.getX());
+    }
+
+    /** Search valid point in the square rings around the given column and row */
+    private Vector3d findNearestValidPoint(OrganizedPointCloud pc, int col, int row) {
+        for (int r = 0; r <= searchRadius; r++) {
+            for (int dy = -r; dy <= r; dy++) {
+                var y = row + dy;
+                if (y < 0 || y >= pc.height()) continue;
+                // only border of the ring, inner part was already checked
+                var step = dy == -r || dy == r ? 1 : 2 * r;
+                for (int dx = -r; dx <= r; dx += Math.max(1, step)) {
+                    var x = col + dx;
+                    if (x < 0 || x >= pc.width()) continue;
+                    var index = pc.index(y, x);
+                    if (!pc.isHole(index)) return pc.getPoint(index);
+                }
             }
         }
-        return results;
+        return PointCloud.HOLE;
+    }
+
+    private MarkerDetector2d.Result detect2d(Mat img) {
+        var result = borrow(detectors2d, this::createDetector2d, detector -> detector.detect(img));
+        LOGGER.fine("detectorResult2d={0}", result);
+        return result;
+    }
+
+    /** Take object from the pool (or create new one) and return it back once task is done */
+    private static <T, R> R borrow(Queue<T> pool, Supplier<T> factory, Function<T, R> task) {
+        var obj = pool.poll();
+        if (obj == null) obj = factory.get();
+        try {
+            return task.apply(obj);
+        } finally {
+            pool.offer(obj);
+        }
+    }
+
+    /**
+     * Run tasks for all frames and return their results in the order of the frames.
+     *
+     * <p>Detected markers are shown in the calling thread since OpenCV windows are not thread safe.
+     */
+    private List<FrameMarkers> map(int size, IntFunction<FrameMarkers> task) {
+        var ret = new ArrayList<FrameMarkers>(size);
+        if (executor == null) {
+            for (int i = 0; i < size; i++) ret.add(show(task.apply(i)));
+            return ret;
+        }
+        var futures = new ArrayList<Future<FrameMarkers>>(size);
+        for (int i = 0; i < size; i++) {
+            var index = i;
+            futures.add(executor.submit(() -> task.apply(index)));
+        }
+        try {
+            for (var future : futures) ret.add(show(future.get()));
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException(e.getCause());
+        }
+        return ret;
+    }
+
+    private FrameMarkers show(FrameMarkers frame) {
+        if (!showDetectedMarkers) return frame;
+        var img = frame.result2d().img();
+        frame.result2d().markersSortedByType().forEach(ml -> markerUtils.drawMarker(img, ml));
+        cvKit.show(img, true);
+        return frame;
+    }
+
+    private MarkerDetector2d createDetector2d() {
+        var detector = new MarkerDetector2d();
+        if (isUndistortion) detector = detector.withUndistortion(cameraInfo);
+        return detector;
     }
 }
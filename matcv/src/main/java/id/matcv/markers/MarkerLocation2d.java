@@ -23,6 +23,7 @@ import id.ndbuffers.matrix.MatrixN2d;
 import id.ndbuffers.matrix.Vector2d;
 import id.xfunction.Preconditions;
 import id.xfunction.XJsonStringBuilder;
+import java.nio.DoubleBuffer;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -59,24 +60,40 @@ public class MarkerLocation2d extends AbstractMarkerLocation {
         this.vector = vector;
     }
 
+    /**
+     * @param corners marker corners as returned by ArUco detector (1x4 {@link
+     *     org.opencv.core.CvType#CV_32FC2})
+     */
     public static MarkerLocation2d create(Marker marker, Mat corners) {
-        System.out.println(corners.toString());
-        double[] buf;
-        buf = corners.get(0, 0);
-        var p1 = new Vector2d(buf[0], buf[1]);
-        buf = corners.get(0, 1);
-        var p2 = new Vector2d(buf[0], buf[1]);
-        buf = corners.get(0, 2);
-        var p3 = new Vector2d(buf[0], buf[1]);
-        buf = corners.get(0, 3);
-        var p4 = new Vector2d(buf[0], buf[1]);
-        var center = ndMath.midPoint(ndMath.midPoint(p1, p2), ndMath.midPoint(p3, p4));
+        return create(marker, corners, new float[8]);
+    }
+
+    /**
+     * Same as {@link #create(Marker, Mat)} but reads corners into the buffer provided by the
+     * caller, so that it can be reused across the markers
+     *
+     * @param buf buffer of at least 8 elements
+     */
+    static MarkerLocation2d create(Marker marker, Mat corners, float[] buf) {
+        Preconditions.equals(
+                8 * Float.BYTES, corners.get(0, 0, buf), "Marker should have 4 corners");
+        double x1 = buf[0], y1 = buf[1], x2 = buf[2], y2 = buf[3];
+        double x3 = buf[4], y3 = buf[5], x4 = buf[6], y4 = buf[7];
+        // midpoint of p1p2
+        var mx = (x1 + x2) / 2;
+        var my = (y1 + y2) / 2;
+        var cx = (mx + (x3 + x4) / 2) / 2;
+        var cy = (my + (y3 + y4) / 2) / 2;
+        var data =
+                new MatrixN2d(
+                        DoubleBuffer.wrap(new double[] {cx, cy, x1, y1, x2, y2, x3, y3, x4, y4}));
         return new MarkerLocation2d(
                 marker,
-                p1.distance(p2),
-                p2.distance(p3),
-                ndMath.createVector(center, ndMath.midPoint(p1, p2)),
-                new MatrixN2d(center, p1, p2, p3, p4),
+                Math.hypot(x1 - x2, y1 - y2),
+                Math.hypot(x2 - x3, y2 - y3),
+                new Vector2d(mx - cx, my - cy),
+                data,
+                // shares data with corners
                 Optional.of(new MatOfPoint2f(corners.reshape(2, 4))),
                 Optional.empty());
     }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.markers;
+
+import id.mathcat.NdBuffersMath;
+import id.ndbuffers.NdBuffersFactory;
+import id.ndbuffers.matrix.Matrix4d;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * List of {@link MarkerLocation3d} where points of all markers are stored in a single contiguous
+ * buffer (see {@link #data()}).
+ *
+ * <p>Each {@link MarkerLocation3d} of the batch is a view to its {@link #STRIDE} values inside the
+ * buffer, so any changes to the buffer are visible through the views and vice versa.
+ *
+ * <p>All views share one backing array: {@link java.nio.DoubleBuffer#array()} of the view data
+ * returns the whole {@link #data()} array and the view points start at {@link
+ * java.nio.DoubleBuffer#arrayOffset()}. Use {@link java.nio.DoubleBuffer#get(double[])} to copy
+ * points of a single marker.
+ *
+ * <p>Batch has fixed size and can not be structurally modified.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MarkerLocation3dBatch extends AbstractList<MarkerLocation3d> implements RandomAccess {
+    private static final NdBuffersFactory ndFactory = new NdBuffersFactory();
+    private static final NdBuffersMath ndMath = new NdBuffersMath();
+
+    /** Number of values which each marker occupies in the buffer (5 points by 3 coordinates) */
+    public static final int STRIDE = MarkerLocation3d.NUM_OF_POINTS * 3;
+
+    private final double[] data;
+    private final MarkerLocation3d[] views;
+
+    /** Copy points of all markers into the new batch */
+    public MarkerLocation3dBatch(List<MarkerLocation3d> markers) {
+        this(new double[markers.size() * STRIDE], markers);
+        for (int i = 0; i < markers.size(); i++) {
+            markers.get(i).getData().duplicate().get(data, i * STRIDE, STRIDE);
+        }
+    }
+
+    /**
+     * Batch with markers which have same attributes (type, corners, image file) as the given
+     * markers but their points are taken from the data buffer.
+     */
+    private MarkerLocation3dBatch(double[] data, List<MarkerLocation3d> markers) {
+        this.data = data;
+        views = new MarkerLocation3d[markers.size()];
+        for (int i = 0; i < views.length; i++) {
+            var loc = markers.get(i);
+            var points = DoubleBuffer.wrap(data, i * STRIDE, STRIDE).slice();
+            views[i] =
+                    new MarkerLocation3d(
+                            loc.marker(),
+                            ndFactory.matrixN3d(points),
+                            loc.corners(),
+                            loc.imageFile());
+        }
+    }
+
+    @Override
+    public MarkerLocation3d get(int index) {
+        return views[index];
+    }
+
+    @Override
+    public int size() {
+        return views.length;
+    }
+
+    /**
+     * Points of all markers in row-major order. Points of marker "i" (center, p1, ..., p4) start at
+     * i * {@link #STRIDE}.
+     */
+    public double[] data() {
+        return data;
+    }
+
+    /** New batch with a copy of the points */
+    public MarkerLocation3dBatch copy() {
+        return new MarkerLocation3dBatch(data.clone(), this);
+    }
+
+    /**
+     * Apply rigid transformation to the points of all markers in place
+     *
+     * @return this batch
+     */
+    public MarkerLocation3dBatch transform(Matrix4d tx) {
+        ndMath.transform(data, 0, data, 0, views.length * MarkerLocation3d.NUM_OF_POINTS, tx);
+        return this;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.markers;
+
+import id.ndbuffers.NdBuffersFactory;
+import id.ndbuffers.matrix.Matrix4d;
+import id.xfunction.Preconditions;
+import java.util.Arrays;
+
+/**
+ * Temporal filter which removes frame to frame jitter from the stream of poses (rigid
+ * transformation matrices), for example ones returned by {@link CameraPoseEstimator} or {@link
+ * Marker3dUtils#calculateTransformationMatrix(MarkerLocation3d, MarkerLocation3d)}.
+ *
+ * <p>Filter can track multiple poses at the same time (ex. one per marker, where {@link
+ * MarkerType#ordinal()} is used as pose id). Each pose is filtered independently:
+ *
+ * <ul>
+ *   <li>translation - alpha-beta filter (steady state Kalman filter of the constant velocity
+ *       model). When beta is 0 it is an exponential smoother.
+ *   <li>rotation - exponential smoother on the unit quaternion (slerp between the current estimate
+ *       and the new measurement)
+ * </ul>
+ *
+ * <p>When new translation is too far from the predicted one the pose state is reset to the new
+ * measurement, so that the filter does not lag behind after the marker was moved or lost.
+ *
+ * <p>State of all poses is kept in primitive arrays and {@link #update(int, double[], double[])}
+ * does not allocate. Filter assumes that poses arrive at constant rate and it is not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PoseFilter {
+    private static final NdBuffersFactory ndFactory = new NdBuffersFactory();
+
+    /** Number of values per each pose: translation (3), velocity (3), quaternion w, x, y, z (4) */
+    private static final int STATE_SIZE = 10;
+
+    private final int capacity;
+    private final double[] state;
+    private final boolean[] isInitialized;
+    private final double[] q = new double[4];
+    private double translationAlpha = 0.5;
+    private double rotationAlpha = 0.5;
+    private double beta = 0;
+    private double resetDistance = Double.POSITIVE_INFINITY;
+
+    /**
+     * @param capacity maximum number of poses which are tracked (ids are in range [0, capacity))
+     */
+    public PoseFilter(int capacity) {
+        this.capacity = capacity;
+        state = new double[capacity * STATE_SIZE];
+        isInitialized = new boolean[capacity];
+    }
+
+    /** Filter which tracks one pose per each {@link MarkerType} */
+    public static PoseFilter forMarkers() {
+        return new PoseFilter(MarkerType.values().length);
+    }
+
+    /**
+     * Weights of the new measurement in range (0, 1]. Smaller values give smoother but more lagging
+     * poses. Default 0.5.
+     */
+    public PoseFilter withSmoothing(double translationAlpha, double rotationAlpha) {
+        Preconditions.isTrue(
+                translationAlpha > 0 && translationAlpha <= 1, "Alpha must be in range (0, 1]");
+        Preconditions.isTrue(
+                rotationAlpha > 0 && rotationAlpha <= 1, "Alpha must be in range (0, 1]");
+        this.translationAlpha = translationAlpha;
+        this.rotationAlpha = rotationAlpha;
+        return this;
+    }
+
+    /**
+     * Enable constant velocity model for translation, which removes the lag of the moving poses.
+     * Default 0 (no velocity).
+     *
+     * @param beta weight of the velocity correction, usually much smaller than translation alpha
+     */
+    public PoseFilter withVelocity(double beta) {
+        Preconditions.isTrue(beta >= 0 && beta < 1, "Beta must be in range [0, 1)");
+        this.beta = beta;
+        return this;
+    }
+
+    /** Distance between predicted and measured translation after which pose state is reset */
+    public PoseFilter withResetDistance(double resetDistance) {
+        this.resetDistance = resetDistance;
+        return this;
+    }
+
+    /**
+     * Update pose with new measurement
+     *
+     * @param id pose id
+     * @param tx row-major 4x4 rigid transformation matrix
+     * @param out row-major 4x4 filtered transformation matrix (may be same array as tx)
+     */
+    public void update(int id, double[] tx, double[] out) {
+        Preconditions.isTrue(id >= 0 && id < capacity, "Pose id is out of range");
+        var s = id * STATE_SIZE;
+        toQuaternion(tx, q);
+        double zx = tx[3], zy = tx[7], zz = tx[11];
+        if (isInitialized[id]) {
+            // predict
+            var px = state[s] + state[s + 3];
+            var py = state[s + 1] + state[s + 4];
+            var pz = state[s + 2] + state[s + 5];
+            double rx = zx - px, ry = zy - py, rz = zz - pz;
+            if (rx * rx + ry * ry + rz * rz > resetDistance * resetDistance) {
+                init(s, zx, zy, zz);
+            } else {
+                state[s] = px + translationAlpha * rx;
+                state[s + 1] = py + translationAlpha * ry;
+                state[s + 2] = pz + translationAlpha * rz;
+                state[s + 3] += beta * rx;
+                state[s + 4] += beta * ry;
+                state[s + 5] += beta * rz;
+                slerp(s + 6, rotationAlpha);
+            }
+        } else {
+            init(s, zx, zy, zz);
+            isInitialized[id] = true;
+        }
+        toMatrix(s, out);
+    }
+
+    /**
+     * @see #update(int, double[], double[])
+     */
+    public Matrix4d update(int id, Matrix4d tx) {
+        var buf = new double[16];
+        for (int r = 0; r < 4; r++) for (int c = 0; c < 4; c++) buf[r * 4 + c] = tx.get(r, c);
+        update(id, buf, buf);
+        return ndFactory.matrix4d(buf);
+    }
+
+    /** Filter pose of the marker */
+    public Matrix4d update(MarkerType type, Matrix4d tx) {
+        return update(type.ordinal(), tx);
+    }
+
+    /** Forget the state of the pose so that its next measurement is used as is */
+    public void reset(int id) {
+        isInitialized[id] = false;
+    }
+
+    /** Forget the state of all poses */
+    public void reset() {
+        Arrays.fill(isInitialized, false);
+    }
+
+    private void init(int s, double x, double y, double z) {
+        state[s] = x;
+        state[s + 1] = y;
+        state[s + 2] = z;
+        state[s + 3] = state[s + 4] = state[s + 5] = 0;
+        System.arraycopy(q, 0, state, s + 6, 4);
+    }
+
+    /** Move quaternion state towards {@link #q} */
+    private void slerp(int offset, double t) {
+        double w = state[offset],
+                x = state[offset + 1],
+                y = state[offset + 2],
+                z = state[offset + 3];
+        var dot = w * q[0] + x * q[1] + y * q[2] + z * q[3];
+        // q and -q are same rotation, take the shortest path
+        var sign = 1.;
+        if (dot < 0) {
+            dot = -dot;
+            sign = -1;
+        }
+        double a, b;
+        if (dot > 0.9995) {
+            // quaternions are too close, use linear interpolation
+            a = 1 - t;
+            b = t * sign;
+        } else {
+            var theta = Math.acos(dot);
+            var sin = Math.sin(theta);
+            a = Math.sin((1 - t) * theta) / sin;
+            b = Math.sin(t * theta) / sin * sign;
+        }
+        w = a * w + b * q[0];
+        x = a * x + b * q[1];
+        y = a * y + b * q[2];
+        z = a * z + b * q[3];
+        var norm = Math.sqrt(w * w + x * x + y * y + z * z);
+        state[offset] = w / norm;
+        state[offset + 1] = x / norm;
+        state[offset + 2] = y / norm;
+        state[offset + 3] = z / norm;
+    }
+
+    private void toMatrix(int s, double[] out) {
+        double w = state[s + 6], x = state[s + 7], y = state[s + 8], z = state[s + 9];
+        out[0] = 1 - 2 * (y * y + z * z);
+        out[1] = 2 * (x * y - z * w);
+        out[2] = 2 * (x * z + y * w);
+        out[3] = state[s];
+        out[4] = 2 * (x * y + z * w);
+        out[5] = 1 - 2 * (x * x + z * z);
+        out[6] = 2 * (y * z - x * w);
+        out[7] = state[s + 1];
+        out[8] = 2 * (x * z - y * w);
+        out[9] = 2 * (y * z + x * w);
+        out[10] = 1 - 2 * (x * x + y * y);
+        out[11] = state[s + 2];
+        out[12] = out[13] = out[14] = 0;
+        out[15] = 1;
+    }
+
+    /** Convert rotation part of the matrix to unit quaternion (w, x, y, z) */
+    private static void toQuaternion(double[] m, double[] q) {
+        var trace = m[0] + m[5] + m[10];
+        double w, x, y, z;
+        if (trace > 0) {
+            var s = 2 * Math.sqrt(trace + 1);
+            w = s / 4;
+            x = (m[9] - m[6]) / s;
+            y = (m[2] - m[8]) / s;
+            z = (m[4] - m[1]) / s;
+        } else if (m[0] > m[5] && m[0] > m[10]) {
+            var s = 2 * Math.sqrt(1 + m[0] - m[5] - m[10]);
+            w = (m[9] - m[6]) / s;
+            x = s / 4;
+            y = (m[1] + m[4]) / s;
+            z = (m[2] + m[8]) / s;
+        } else if (m[5] > m[10]) {
+            var s = 2 * Math.sqrt(1 + m[5] - m[0] - m[10]);
+            w = (m[2] - m[8]) / s;
+            x = (m[1] + m[4]) / s;
+            y = s / 4;
+            z = (m[6] + m[9]) / s;
+        } else {
+            var s = 2 * Math.sqrt(1 + m[10] - m[0] - m[5]);
+            w = (m[4] - m[1]) / s;
+            x = (m[2] + m[8]) / s;
+            y = (m[6] + m[9]) / s;
+            z = s / 4;
+        }
+        var norm = Math.sqrt(w * w + x * x + y * y + z * z);
+        q[0] = w / norm;
+        q[1] = x / norm;
+        q[2] = y / norm;
+        q[3] = z / norm;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.pointcloud.filters;
+
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.MaskedPointCloud;
+import id.matcv.types.pointcloud.PointCloud;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Base class for filters which remove noise (outlier) points from the point cloud.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class OutlierFilter {
+    /** Number of points processed by a single task */
+    protected static final int CHUNK_SIZE = 1 << 12;
+
+    protected ForkJoinPool pool = ForkJoinPool.commonPool();
+    protected boolean isParallel = true;
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public OutlierFilter withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Process points in parallel. Default is true. */
+    public OutlierFilter withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
+    /**
+     * Find outliers among the points of the point cloud. Holes are never reported as outliers.
+     *
+     * @return indices of outliers
+     */
+    public abstract BitSet findOutliers(PointCloud pc);
+
+    /** Point cloud which contains only points which are not outliers or holes */
+    public FloatArrayPointCloud apply(PointCloud pc) {
+        var outliers = findOutliers(pc);
+        var data = new float[pc.size() * 3];
+        pc.copyTo(0, pc.size(), data, 0);
+        var n = 0;
+        for (int i = 0; i < pc.size(); i++) {
+            var s = i * 3;
+            if (outliers.get(i) || (data[s] == 0 && data[s + 1] == 0 && data[s + 2] == 0)) continue;
+            data[n++] = data[s];
+            data[n++] = data[s + 1];
+            data[n++] = data[s + 2];
+        }
+        return new FloatArrayPointCloud(Arrays.copyOf(data, n));
+    }
+
+    /**
+     * View to the point cloud where outliers are replaced with {@link PointCloud#HOLE}. Indices of
+     * all other points stay same.
+     */
+    public MaskedPointCloud mask(PointCloud pc) {
+        return new MaskedPointCloud(pc, findOutliers(pc));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.pointcloud.filters;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.matcv.pointcloud.index.KdTree;
+import id.matcv.types.pointcloud.PointCloud;
+import id.xfunction.Preconditions;
+import java.util.BitSet;
+
+/**
+ * Radius outlier removal.
+ *
+ * <p>Points which have fewer than minNeighbors other points within the given radius are considered
+ * outliers.
+ *
+ * <p>Neighbors are searched with {@link KdTree}, points are processed in parallel.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RadiusOutlierFilter extends OutlierFilter {
+    private final float radius;
+    private final int minNeighbors;
+
+    /**
+     * @param radius search radius in the same units as point cloud coordinates
+     */
+    public RadiusOutlierFilter(double radius, int minNeighbors) {
+        Preconditions.isTrue(radius > 0, "Radius must be positive");
+        this.radius = (float) radius;
+        this.minNeighbors = minNeighbors;
+    }
+
+    @Override
+    public BitSet findOutliers(PointCloud pc) {
+        var tree = new KdTree(pc);
+        var n = tree.size();
+        var isOutlier = new boolean[n];
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        n,
+                        (from, to) -> {
+                            for (int pos = from; pos < to; pos++) {
+                                // count includes the query point itself
+                                var count =
+                                        tree.countInRadius(
+                                                tree.x(pos),
+                                                tree.y(pos),
+                                                tree.z(pos),
+                                                radius,
+                                                minNeighbors + 1);
+                                isOutlier[pos] = count <= minNeighbors;
+                            }
+                        });
+        var outliers = new BitSet(pc.size());
+        for (int pos = 0; pos < n; pos++) if (isOutlier[pos]) outliers.set(tree.id(pos));
+        return outliers;
+    }
+}
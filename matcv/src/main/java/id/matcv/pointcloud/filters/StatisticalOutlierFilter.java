@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.pointcloud.filters;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.matcv.pointcloud.index.KdTree;
+import id.matcv.types.pointcloud.PointCloud;
+import id.xfunction.Preconditions;
+import java.util.BitSet;
+
+/**
+ * Statistical outlier removal.
+ *
+ * <p>For each point, mean distance to its k nearest neighbors is calculated. Assuming that these
+ * distances are normally distributed, points which mean distance is greater than (global mean +
+ * stdDevMultiplier * standard deviation) are considered outliers.
+ *
+ * <p>Neighbors are searched with {@link KdTree}, points are processed in parallel.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class StatisticalOutlierFilter extends OutlierFilter {
+    private final int k;
+    private final double stdDevMultiplier;
+
+    /**
+     * @param k number of nearest neighbors used to calculate mean distance
+     * @param stdDevMultiplier how many standard deviations mean distance of a point can exceed
+     *     global mean before point is considered outlier
+     */
+    public StatisticalOutlierFilter(int k, double stdDevMultiplier) {
+        Preconditions.isTrue(k > 0, "k must be positive");
+        this.k = k;
+        this.stdDevMultiplier = stdDevMultiplier;
+    }
+
+    @Override
+    public BitSet findOutliers(PointCloud pc) {
+        var tree = new KdTree(pc);
+        var n = tree.size();
+        var meanDistances = new double[n];
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        n,
+                        (from, to) -> {
+                            // first found point is the query point itself
+                            var ids = new int[k + 1];
+                            var distances = new float[k + 1];
+                            for (int pos = from; pos < to; pos++) {
+                                var count =
+                                        tree.nearest(
+                                                tree.x(pos),
+                                                tree.y(pos),
+                                                tree.z(pos),
+                                                k + 1,
+                                                ids,
+                                                distances);
+                                var sum = 0.;
+                                for (int i = 1; i < count; i++) sum += Math.sqrt(distances[i]);
+                                meanDistances[pos] = count > 1 ? sum / (count - 1) : 0;
+                            }
+                        });
+        var sum = 0.;
+        var sumSq = 0.;
+        for (var d : meanDistances) {
+            sum += d;
+            sumSq += d * d;
+        }
+        var mean = sum / n;
+        var stdDev = Math.sqrt(Math.max(0, sumSq / n - mean * mean));
+        var threshold = mean + stdDevMultiplier * stdDev;
+        var outliers = new BitSet(pc.size());
+        for (int pos = 0; pos < n; pos++)
+            if (meanDistances[pos] > threshold) outliers.set(tree.id(pos));
+        return outliers;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.pointcloud.filters;
+
+import id.matcv.impl.collections.LongIntHashMap;
+import id.matcv.types.pointcloud.FloatArrayPointCloud;
+import id.matcv.types.pointcloud.PointCloud;
+import id.xfunction.Preconditions;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Downsample point cloud by dividing space into voxels (cubes) of given size and replacing all
+ * points inside each voxel with a single point.
+ *
+ * <p>Holes are ignored. Output points are ordered by the index of the first point of their voxel in
+ * the input point cloud.
+ *
+ * <p>Voxels are tracked with primitive open addressing hash map without allocating objects per
+ * point or per voxel. Points are processed in stripes of fixed size (which for organized point
+ * clouds are bands of rows of the depth frame), each thread copies the stripe into its own scratch
+ * buffer which is reused across the calls. Stripes are processed in parallel using {@link
+ * ForkJoinPool} and then stripes are merged in order. Since stripe size does not depend on
+ * parallelism, the result is same for parallel and sequential execution.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class VoxelGridFilter {
+    /** Number of points processed by a single task */
+    private static final int STRIPE_SIZE = 1 << 16;
+
+    /** Number of bits used for each voxel coordinate inside the voxel key */
+    private static final int COORD_BITS = 21;
+
+    private static final int COORD_OFFSET = 1 << (COORD_BITS - 1);
+
+    /** Scratch buffer of a single stripe reused by each thread across the calls */
+    private static final ThreadLocal<float[]> stripeBuffer =
+            ThreadLocal.withInitial(() -> new float[STRIPE_SIZE * 3]);
+
+    public enum Mode {
+        /** Replace all points in the voxel with their centroid */
+        CENTROID,
+
+        /** Keep only the first point of the voxel */
+        FIRST_POINT
+    }
+
+    private final double voxelSize;
+    private Mode mode = Mode.CENTROID;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean isParallel = true;
+
+    /**
+     * @param voxelSize size of the voxel edge in the same units as point cloud coordinates
+     */
+    public VoxelGridFilter(double voxelSize) {
+        Preconditions.isTrue(voxelSize > 0, "Voxel size must be positive");
+        this.voxelSize = voxelSize;
+    }
+
+    /** Default is {@link Mode#CENTROID} */
+    public VoxelGridFilter withMode(Mode mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public VoxelGridFilter withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Process stripes of the point cloud in parallel. Default is true. */
+    public VoxelGridFilter withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
+    public FloatArrayPointCloud apply(PointCloud pc) {
+        var n = pc.size();
+        var task = new StripesTask(pc, 0, (n + STRIPE_SIZE - 1) / STRIPE_SIZE);
+        var stripes = isParallel ? pool.invoke(task) : task.compute();
+        var result = stripes[0];
+        for (int i = 1; i < stripes.length; i++) result.merge(stripes[i]);
+        return new FloatArrayPointCloud(result.toPoints());
+    }
+
+    /** Voxels found in the stripe of points, in the order of their first point */
+    private class Voxels {
+        private final LongIntHashMap index;
+        private long[] keys;
+        private double[] values;
+        private int[] counts;
+        private int size;
+        private long lastKey = LongIntHashMap.EMPTY_KEY;
+        private int lastVoxel;
+
+        Voxels(int expectedSize) {
+            index = new LongIntHashMap(expectedSize);
+            keys = new long[expectedSize];
+            values = new double[expectedSize * 3];
+            counts = new int[expectedSize];
+        }
+
+        void add(long key, double x, double y, double z, int count) {
+            // neighbor points of organized point clouds often belong to the same voxel
+            var voxel = key == lastKey ? lastVoxel : index.putIfAbsent(key, size);
+            lastKey = key;
+            if (voxel == LongIntHashMap.NO_VALUE) {
+                if (size == keys.length) grow();
+                voxel = size++;
+                lastVoxel = voxel;
+                keys[voxel] = key;
+                values[voxel * 3] = x;
+                values[voxel * 3 + 1] = y;
+                values[voxel * 3 + 2] = z;
+                counts[voxel] = count;
+                return;
+            }
+            lastVoxel = voxel;
+            counts[voxel] += count;
+            if (mode == Mode.FIRST_POINT) return;
+            values[voxel * 3] += x;
+            values[voxel * 3 + 1] += y;
+            values[voxel * 3 + 2] += z;
+        }
+
+        void merge(Voxels other) {
+            for (int i = 0; i < other.size; i++)
+                add(
+                        other.keys[i],
+                        other.values[i * 3],
+                        other.values[i * 3 + 1],
+                        other.values[i * 3 + 2],
+                        other.counts[i]);
+        }
+
+        float[] toPoints() {
+            var points = new float[size * 3];
+            for (int i = 0; i < points.length; i++) {
+                var v = values[i];
+                if (mode == Mode.CENTROID) v /= counts[i / 3];
+                points[i] = (float) v;
+            }
+            return points;
+        }
+
+        private void grow() {
+            var capacity = Math.max(16, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity * 3);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+    }
+
+    /** Process stripes [fromStripe, toStripe) */
+    private class StripesTask extends RecursiveTask<Voxels[]> {
+        private final PointCloud pc;
+        private final int fromStripe, toStripe;
+
+        StripesTask(PointCloud pc, int fromStripe, int toStripe) {
+            this.pc = pc;
+            this.fromStripe = fromStripe;
+            this.toStripe = toStripe;
+        }
+
+        @Override
+        protected Voxels[] compute() {
+            if (toStripe - fromStripe <= 1 || !isParallel) {
+                var out = new Voxels[Math.max(1, toStripe - fromStripe)];
+                for (int i = 0; i < out.length; i++) out[i] = processStripe(fromStripe + i);
+                return out;
+            }
+            var mid = (fromStripe + toStripe) >>> 1;
+            var left = new StripesTask(pc, fromStripe, mid);
+            left.fork();
+            var right = new StripesTask(pc, mid, toStripe).compute();
+            var leftResult = left.join();
+            var out = Arrays.copyOf(leftResult, leftResult.length + right.length);
+            System.arraycopy(right, 0, out, leftResult.length, right.length);
+            return out;
+        }
+
+        private Voxels processStripe(int stripe) {
+            var from = Math.min(stripe * STRIPE_SIZE, pc.size());
+            var to = Math.min(from + STRIPE_SIZE, pc.size());
+            var points = stripeBuffer.get();
+            pc.copyTo(from, to, points, 0);
+            var voxels = new Voxels(Math.max(16, (to - from) / 8));
+            var scale = 1. / voxelSize;
+            for (int i = 0; i < (to - from) * 3; i += 3) {
+                var x = points[i];
+                var y = points[i + 1];
+                var z = points[i + 2];
+                if (x == 0 && y == 0 && z == 0) continue;
+                var key =
+                        (toVoxelCoord(x * scale) << (2 * COORD_BITS))
+                                | (toVoxelCoord(y * scale) << COORD_BITS)
+                                | toVoxelCoord(z * scale);
+                voxels.add(key, x, y, z, 1);
+            }
+            return voxels;
+        }
+
+        private long toVoxelCoord(double v) {
+            if (!(v >= -COORD_OFFSET && v < COORD_OFFSET))
+                throw new IllegalArgumentException("Point is too far for the given voxel size");
+            // coordinate is shifted to be positive, so floor is same as truncation
+            return (long) (v + COORD_OFFSET);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Filters which take {@link id.matcv.types.pointcloud.PointCloud} and produce new, filtered, point
+ * cloud.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.matcv.pointcloud.filters;
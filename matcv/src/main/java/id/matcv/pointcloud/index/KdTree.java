@@ -0,0 +1,453 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.pointcloud.index;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.matcv.types.pointcloud.PointCloud;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * KD-tree over all points of {@link PointCloud} which are not holes.
+ *
+ * <p>Tree is stored implicitly inside primitive arrays: points are reordered so that each node is
+ * the median point of its range of points and its children are the left and the right halves of
+ * that range. No objects are allocated per point or per node.
+ *
+ * <p>Queries return indices of the points in the original point cloud and do not allocate any
+ * objects, results are written into arrays provided by the caller. Tree is immutable and can be
+ * queried from multiple threads.
+ *
+ * <p>When tree is created with {@link ForkJoinPool}, it is built in parallel (independent subtrees
+ * are built by separate tasks) and batched queries (ex. {@link #nearest(float[], int, int[],
+ * float[], int[])}) are split between the tasks of that pool. Otherwise everything runs in the
+ * caller thread.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class KdTree {
+    /** Ranges of this size or smaller are not split and scanned linearly */
+    private static final int LEAF_SIZE = 16;
+
+    /** Subtrees smaller than this are built by a single task */
+    private static final int PARALLEL_BUILD_SIZE = 1 << 15;
+
+    /** Number of queries executed by a single task in batched queries */
+    private static final int QUERIES_CHUNK_SIZE = 1 << 10;
+
+    /** Points in XYZ layout reordered in tree order */
+    private final float[] points;
+
+    /** Index of each point in the original point cloud */
+    private final int[] ids;
+
+    /** Split axis of the node which median point is located at given position */
+    private final byte[] axes;
+
+    private final int size;
+    private final ParallelRange parallelRange;
+
+    /** Build tree in the caller thread */
+    public KdTree(PointCloud pc) {
+        this(pc, null);
+    }
+
+    /**
+     * @param pool pool which is used to build the tree and run batched queries, when null
+     *     everything runs in the caller thread
+     */
+    public KdTree(PointCloud pc, ForkJoinPool pool) {
+        parallelRange = new ParallelRange(pool, pool != null, QUERIES_CHUNK_SIZE);
+        var n = pc.size();
+        var all = new float[n * 3];
+        pc.copyTo(0, n, all, 0);
+        var count = 0;
+        for (int i = 0; i < n * 3; i += 3) if (!isHole(all, i)) count++;
+        size = count;
+        points = count == n ? all : new float[size * 3];
+        ids = new int[size];
+        axes = new byte[size];
+        for (int i = 0, pos = 0; i < n; i++) {
+            if (isHole(all, i * 3)) continue;
+            if (points != all) System.arraycopy(all, i * 3, points, pos * 3, 3);
+            ids[pos++] = i;
+        }
+        if (pool == null) build(0, size);
+        else pool.invoke(new BuildTask(0, size));
+    }
+
+    /** Number of points in the tree */
+    public int size() {
+        return size;
+    }
+
+    /** Index in the original point cloud of the point at given position of the tree */
+    public int id(int pos) {
+        return ids[pos];
+    }
+
+    public float x(int pos) {
+        return points[pos * 3];
+    }
+
+    public float y(int pos) {
+        return points[pos * 3 + 1];
+    }
+
+    public float z(int pos) {
+        return points[pos * 3 + 2];
+    }
+
+    /**
+     * Find k nearest neighbors of the query point.
+     *
+     * @param outIds indices of the found points in the original point cloud, sorted by the distance
+     * @param outDistances squared distances to the found points
+     * @return number of found points, which is k unless tree has fewer points
+     */
+    public int nearest(float x, float y, float z, int k, int[] outIds, float[] outDistances) {
+        var capacity = Math.min(k, size);
+        if (capacity == 0) return 0;
+        var count = nearest(0, size, x, y, z, outIds, outDistances, capacity, 0);
+        sortHeap(outIds, outDistances, count);
+        return count;
+    }
+
+    /** Pass indices (in the original point cloud) of all points within the radius */
+    public void forEachInRadius(float x, float y, float z, float radius, IntConsumer consumer) {
+        radius(0, size, x, y, z, radius * radius, consumer);
+    }
+
+    /**
+     * Count points within the radius
+     *
+     * @param limit stop counting when this number of points is found
+     */
+    public int countInRadius(float x, float y, float z, float radius, int limit) {
+        return count(0, size, x, y, z, radius * radius, limit, 0);
+    }
+
+    /**
+     * Pass indices (in the original point cloud) of all points inside the axis aligned box
+     * (including its boundaries)
+     */
+    public void forEachInBox(
+            float minX,
+            float minY,
+            float minZ,
+            float maxX,
+            float maxY,
+            float maxZ,
+            IntConsumer consumer) {
+        box(0, size, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+    }
+
+    /**
+     * Batched version of {@link #nearest(float, float, float, int, int[], float[])}
+     *
+     * @param queries query points in XYZ layout
+     * @param outIds results for the i-th query are stored in range [i * k, i * k + outCounts[i])
+     * @param outDistances squared distances, same layout as outIds
+     * @param outCounts number of found points for each query
+     */
+    public void nearest(
+            float[] queries, int k, int[] outIds, float[] outDistances, int[] outCounts) {
+        parallelRange.forEach(
+                0,
+                queries.length / 3,
+                (from, to) -> {
+                    var ids = new int[k];
+                    var distances = new float[k];
+                    for (int q = from; q < to; q++) {
+                        var count =
+                                nearest(
+                                        queries[q * 3],
+                                        queries[q * 3 + 1],
+                                        queries[q * 3 + 2],
+                                        k,
+                                        ids,
+                                        distances);
+                        System.arraycopy(ids, 0, outIds, q * k, count);
+                        System.arraycopy(distances, 0, outDistances, q * k, count);
+                        outCounts[q] = count;
+                    }
+                });
+    }
+
+    /**
+     * Batched version of {@link #countInRadius(float, float, float, float, int)}
+     *
+     * @param queries query points in XYZ layout
+     * @param outCounts number of found points for each query
+     */
+    public void countInRadius(float[] queries, float radius, int limit, int[] outCounts) {
+        parallelRange.forEach(
+                0,
+                queries.length / 3,
+                (from, to) -> {
+                    for (int q = from; q < to; q++)
+                        outCounts[q] =
+                                countInRadius(
+                                        queries[q * 3],
+                                        queries[q * 3 + 1],
+                                        queries[q * 3 + 2],
+                                        radius,
+                                        limit);
+                });
+    }
+
+    private void build(int lo, int hi) {
+        if (hi - lo <= LEAF_SIZE) return;
+        var axis = widestAxis(lo, hi);
+        var mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        axes[mid] = (byte) axis;
+        build(lo, mid);
+        build(mid + 1, hi);
+    }
+
+    private int widestAxis(int lo, int hi) {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = lo * 3; i < hi * 3; i += 3) {
+            minX = Math.min(minX, points[i]);
+            maxX = Math.max(maxX, points[i]);
+            minY = Math.min(minY, points[i + 1]);
+            maxY = Math.max(maxY, points[i + 1]);
+            minZ = Math.min(minZ, points[i + 2]);
+            maxZ = Math.max(maxZ, points[i + 2]);
+        }
+        var dx = maxX - minX;
+        var dy = maxY - minY;
+        var dz = maxZ - minZ;
+        if (dx >= dy && dx >= dz) return 0;
+        return dy >= dz ? 1 : 2;
+    }
+
+    /** Quickselect: put k-th smallest (by axis) point of [lo, hi] to position k */
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            var pivot = points[((lo + hi) >>> 1) * 3 + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (points[i * 3 + axis] < pivot) i++;
+                while (points[j * 3 + axis] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    private void swap(int a, int b) {
+        for (int c = 0; c < 3; c++) {
+            var t = points[a * 3 + c];
+            points[a * 3 + c] = points[b * 3 + c];
+            points[b * 3 + c] = t;
+        }
+        var t = ids[a];
+        ids[a] = ids[b];
+        ids[b] = t;
+    }
+
+    private float distance(int pos, float x, float y, float z) {
+        var dx = points[pos * 3] - x;
+        var dy = points[pos * 3 + 1] - y;
+        var dz = points[pos * 3 + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Search nearest points and store them in the bounded max-heap (ids, distances)
+     *
+     * @return new size of the heap
+     */
+    private int nearest(
+            int lo,
+            int hi,
+            float x,
+            float y,
+            float z,
+            int[] ids,
+            float[] distances,
+            int capacity,
+            int size) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++)
+                size = offer(ids, distances, capacity, size, this.ids[i], distance(i, x, y, z));
+            return size;
+        }
+        var mid = (lo + hi) >>> 1;
+        size = offer(ids, distances, capacity, size, this.ids[mid], distance(mid, x, y, z));
+        var axis = axes[mid];
+        var d = (axis == 0 ? x : axis == 1 ? y : z) - points[mid * 3 + axis];
+        var nearLo = d < 0 ? lo : mid + 1;
+        var nearHi = d < 0 ? mid : hi;
+        var farLo = d < 0 ? mid + 1 : lo;
+        var farHi = d < 0 ? hi : mid;
+        size = nearest(nearLo, nearHi, x, y, z, ids, distances, capacity, size);
+        if (size < capacity || d * d < distances[0])
+            size = nearest(farLo, farHi, x, y, z, ids, distances, capacity, size);
+        return size;
+    }
+
+    private void box(
+            int lo,
+            int hi,
+            float minX,
+            float minY,
+            float minZ,
+            float maxX,
+            float maxY,
+            float maxZ,
+            IntConsumer consumer) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++)
+                if (isInside(i, minX, minY, minZ, maxX, maxY, maxZ)) consumer.accept(ids[i]);
+            return;
+        }
+        var mid = (lo + hi) >>> 1;
+        if (isInside(mid, minX, minY, minZ, maxX, maxY, maxZ)) consumer.accept(ids[mid]);
+        var axis = axes[mid];
+        var split = points[mid * 3 + axis];
+        var min = axis == 0 ? minX : axis == 1 ? minY : minZ;
+        var max = axis == 0 ? maxX : axis == 1 ? maxY : maxZ;
+        if (min <= split) box(lo, mid, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+        if (max >= split) box(mid + 1, hi, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+    }
+
+    private boolean isInside(
+            int pos, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        var x = points[pos * 3];
+        var y = points[pos * 3 + 1];
+        var z = points[pos * 3 + 2];
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    private void radius(
+            int lo, int hi, float x, float y, float z, float radius2, IntConsumer consumer) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++)
+                if (distance(i, x, y, z) <= radius2) consumer.accept(ids[i]);
+            return;
+        }
+        var mid = (lo + hi) >>> 1;
+        if (distance(mid, x, y, z) <= radius2) consumer.accept(ids[mid]);
+        var axis = axes[mid];
+        var d = (axis == 0 ? x : axis == 1 ? y : z) - points[mid * 3 + axis];
+        if (d <= 0 || d * d <= radius2) radius(lo, mid, x, y, z, radius2, consumer);
+        if (d >= 0 || d * d <= radius2) radius(mid + 1, hi, x, y, z, radius2, consumer);
+    }
+
+    private int count(
+            int lo, int hi, float x, float y, float z, float radius2, int limit, int count) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi && count < limit; i++)
+                if (distance(i, x, y, z) <= radius2) count++;
+            return count;
+        }
+        var mid = (lo + hi) >>> 1;
+        if (distance(mid, x, y, z) <= radius2) count++;
+        var axis = axes[mid];
+        var d = (axis == 0 ? x : axis == 1 ? y : z) - points[mid * 3 + axis];
+        if (count < limit && (d <= 0 || d * d <= radius2))
+            count = count(lo, mid, x, y, z, radius2, limit, count);
+        if (count < limit && (d >= 0 || d * d <= radius2))
+            count = count(mid + 1, hi, x, y, z, radius2, limit, count);
+        return Math.min(count, limit);
+    }
+
+    private class BuildTask extends RecursiveAction {
+        private final int lo, hi;
+
+        BuildTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_BUILD_SIZE) {
+                build(lo, hi);
+                return;
+            }
+            var axis = widestAxis(lo, hi);
+            var mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            axes[mid] = (byte) axis;
+            invokeAll(new BuildTask(lo, mid), new BuildTask(mid + 1, hi));
+        }
+    }
+
+    private static boolean isHole(float[] points, int offset) {
+        return points[offset] == 0 && points[offset + 1] == 0 && points[offset + 2] == 0;
+    }
+
+    /**
+     * Add point to the bounded max-heap, if heap is full the point replaces the farthest one
+     *
+     * @return new size of the heap
+     */
+    private static int offer(
+            int[] ids, float[] distances, int capacity, int size, int id, float distance) {
+        if (size < capacity) {
+            var i = size++;
+            while (i > 0) {
+                var parent = (i - 1) / 2;
+                if (distances[parent] >= distance) break;
+                ids[i] = ids[parent];
+                distances[i] = distances[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        } else if (distance < distances[0]) {
+            siftDown(ids, distances, size, id, distance);
+        }
+        return size;
+    }
+
+    /** Heap sort, so that points are ordered by distance ascending */
+    private static void sortHeap(int[] ids, float[] distances, int size) {
+        for (int n = size - 1; n > 0; n--) {
+            var id = ids[n];
+            var distance = distances[n];
+            ids[n] = ids[0];
+            distances[n] = distances[0];
+            siftDown(ids, distances, n, id, distance);
+        }
+    }
+
+    /** Put the point to the root of the heap of size n and move it down to its place */
+    private static void siftDown(int[] ids, float[] distances, int n, int id, float distance) {
+        var i = 0;
+        while (true) {
+            var child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && distances[child + 1] > distances[child]) child++;
+            if (distances[child] <= distance) break;
+            ids[i] = ids[child];
+            distances[i] = distances[child];
+            i = child;
+        }
+        ids[i] = id;
+        distances[i] = distance;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Spatial indices for nearest neighbor and radius queries over {@link
+ * id.matcv.types.pointcloud.PointCloud}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.matcv.pointcloud.index;
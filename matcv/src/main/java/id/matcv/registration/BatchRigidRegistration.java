@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.registration;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.matcv.impl.ejml.KabschAlgorithm;
+import id.matcv.markers.MarkerLocation3d;
+import id.matcv.markers.MarkerLocation3dBatch;
+import id.ndbuffers.matrix.Matrix4d;
+import id.xfunction.Preconditions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculates transformations for many pairs of corresponding point sets at once.
+ *
+ * <p>Pairs are split into chunks which are solved in parallel. Each chunk uses its own {@link
+ * KabschAlgorithm} so solving the pairs inside of the chunk does not allocate.
+ *
+ * <p>Results are same as when each pair is solved separately with {@link KabschAlgorithm}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BatchRigidRegistration {
+    /** Number of pairs processed by a single task */
+    private static final int CHUNK_SIZE = 256;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean isParallel = true;
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public BatchRigidRegistration withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Process pairs in parallel. Default is true. */
+    public BatchRigidRegistration withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
+    /**
+     * Calculate transformations for all pairs of point sets packed contiguously.
+     *
+     * <p>Point set of pair i starts at offset i * numPoints * 3 and consists of numPoints xyz
+     * triples.
+     *
+     * @param from source point sets of all pairs
+     * @param to target point sets of all pairs, same size as from
+     * @param numPoints number of points in each point set
+     * @param tx output buffer where 4x4 row-major transformation of pair i is stored at offset i *
+     *     16
+     * @return number of pairs
+     */
+    public int calculateTransformations(double[] from, double[] to, int numPoints, double[] tx) {
+        Preconditions.isTrue(numPoints >= 3, "At least 3 points per set are required");
+        Preconditions.equals(from.length, to.length, "Point sets size mismatch");
+        var pairSize = numPoints * 3;
+        Preconditions.equals(0, from.length % pairSize, "Point sets are not aligned to numPoints");
+        var numPairs = from.length / pairSize;
+        Preconditions.isTrue(tx.length >= numPairs * 16, "Output buffer is too small");
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        numPairs,
+                        (start, end) -> {
+                            var kabsch = new KabschAlgorithm();
+                            for (int i = start; i < end; i++) {
+                                kabsch.calculateTransformation(
+                                        from,
+                                        i * pairSize,
+                                        to,
+                                        i * pairSize,
+                                        numPoints,
+                                        tx,
+                                        i * 16);
+                            }
+                        });
+        return numPairs;
+    }
+
+    /**
+     * Calculate transformation matrices between markers with the same index in both batches. Points
+     * are read directly from the batch buffers.
+     */
+    public List<Matrix4d> calculateTransformations(
+            MarkerLocation3dBatch from, MarkerLocation3dBatch to) {
+        var tx = new double[from.size() * 16];
+        calculateTransformations(from.data(), to.data(), MarkerLocation3d.NUM_OF_POINTS, tx);
+        var out = new Matrix4d[from.size()];
+        for (int i = 0; i < out.length; i++)
+            out[i] = new Matrix4d(Arrays.copyOfRange(tx, i * 16, i * 16 + 16));
+        return Arrays.asList(out);
+    }
+
+    /**
+     * Calculate transformation matrices from each marker of the first list to the marker with the
+     * same index in the second list.
+     */
+    public List<Matrix4d> calculateTransformations(
+            List<MarkerLocation3d> from, List<MarkerLocation3d> to) {
+        Preconditions.equals(from.size(), to.size(), "Marker lists size mismatch");
+        var pairSize = MarkerLocation3d.NUM_OF_POINTS * 3;
+        var fromData = new double[from.size() * pairSize];
+        var toData = new double[to.size() * pairSize];
+        var tx = new double[from.size() * 16];
+        var out = new Matrix4d[from.size()];
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        out.length,
+                        (start, end) -> {
+                            var kabsch = new KabschAlgorithm();
+                            for (int i = start; i < end; i++) {
+                                var offset = i * pairSize;
+                                from.get(i).getData().duplicate().get(fromData, offset, pairSize);
+                                to.get(i).getData().duplicate().get(toData, offset, pairSize);
+                                kabsch.calculateTransformation(
+                                        fromData,
+                                        offset,
+                                        toData,
+                                        offset,
+                                        MarkerLocation3d.NUM_OF_POINTS,
+                                        tx,
+                                        i * 16);
+                                out[i] = new Matrix4d(Arrays.copyOfRange(tx, i * 16, i * 16 + 16));
+                            }
+                        });
+        return Arrays.asList(out);
+    }
+}
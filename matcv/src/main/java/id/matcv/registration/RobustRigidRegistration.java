@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.registration;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.matcv.impl.ejml.KabschAlgorithm;
+import id.matcv.markers.MarkerLocation3d;
+import id.ndbuffers.matrix.Matrix4d;
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Robust version of {@link KabschAlgorithm} which tolerates outliers (for example depth noise
+ * pixels on some of the marker corners).
+ *
+ * <p>Hypotheses are fitted to minimal samples of 3 corresponding points and scored against all
+ * points. Points of the best hypothesis which agree with it (inliers) are then refitted with {@link
+ * KabschAlgorithm}.
+ *
+ * <p>Hypotheses are scored in parallel. Samples of each hypothesis are derived only from the seed
+ * and the hypothesis index, and ties are resolved in favor of the hypothesis with smaller index, so
+ * for the same seed results do not depend on the number of threads. Scoring of hypotheses does not
+ * allocate.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RobustRigidRegistration {
+    private static final XLogger LOGGER = XLogger.getLogger(RobustRigidRegistration.class);
+
+    /** Number of hypotheses scored by a single task */
+    private static final int CHUNK_SIZE = 32;
+
+    private static final int SAMPLE_SIZE = 3;
+
+    /** Samples which points are closer to be collinear are skipped */
+    private static final double MIN_SAMPLE_AREA_SQ = 1e-12;
+
+    public enum Method {
+        /** Maximize number of points which residual is below the threshold */
+        RANSAC,
+
+        /**
+         * Least median of squares. Minimize median of squared residuals, does not need a threshold
+         * to score hypotheses but requires less than half of outliers. Inliers threshold is
+         * estimated from the median residual, but it is never below the configured threshold.
+         */
+        LMEDS
+    }
+
+    /**
+     * @param tx transformation from source points to target points
+     * @param inliers indices of points which were used to calculate the transformation
+     */
+    public record Registration(Matrix4d tx, BitSet inliers) {}
+
+    private Method method = Method.RANSAC;
+    private double threshold = 0.01;
+    private int iterations = 200;
+    private long seed = System.nanoTime();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean isParallel = true;
+
+    /** Default is {@link Method#RANSAC} */
+    public RobustRigidRegistration withMethod(Method method) {
+        this.method = method;
+        return this;
+    }
+
+    /**
+     * Maximum distance between the transformed source point and its target point for the point to
+     * be considered an inlier. For {@link Method#LMEDS} it is the minimum threshold (see {@link
+     * Method#LMEDS}). Default is 0.01 (1cm when points are in meters).
+     */
+    public RobustRigidRegistration withThreshold(double threshold) {
+        Preconditions.isTrue(threshold > 0, "Threshold must be positive");
+        this.threshold = threshold;
+        return this;
+    }
+
+    /** Number of hypotheses to score. Default is 200. */
+    public RobustRigidRegistration withIterations(int iterations) {
+        Preconditions.isTrue(iterations > 0, "Number of iterations must be positive");
+        this.iterations = iterations;
+        return this;
+    }
+
+    /** Seed for sampling points. Use same seed to get reproducible results. */
+    public RobustRigidRegistration withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public RobustRigidRegistration withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Score hypotheses in parallel. Default is true. */
+    public RobustRigidRegistration withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
+    /** Transformation between all points of the markers (center and corners) */
+    public Optional<Registration> estimate(MarkerLocation3d from, MarkerLocation3d to) {
+        var fromData = from.getData().duplicate();
+        var toData = to.getData().duplicate();
+        var n = MarkerLocation3d.NUM_OF_POINTS;
+        var fromPoints = new double[n * 3];
+        var toPoints = new double[n * 3];
+        fromData.get(fromPoints);
+        toData.get(toPoints);
+        return estimate(fromPoints, toPoints, n);
+    }
+
+    /**
+     * @param from source points as xyz triples
+     * @param to target points as xyz triples, same order as source points
+     * @param numPoints number of points
+     * @return empty when there is no hypothesis with at least 3 inliers
+     */
+    public Optional<Registration> estimate(double[] from, double[] to, int numPoints) {
+        Preconditions.isTrue(numPoints >= SAMPLE_SIZE, "At least 3 points are required");
+        Preconditions.isTrue(
+                from.length >= numPoints * 3 && to.length >= numPoints * 3,
+                "Not enough points in the buffers");
+        var inliersCount = new int[iterations];
+        var costs = new double[iterations];
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        iterations,
+                        (start, end) -> {
+                            var ws = new Workspace(numPoints);
+                            for (int i = start; i < end; i++) {
+                                if (!fitHypothesis(i, from, to, numPoints, ws)) {
+                                    inliersCount[i] = 0;
+                                    costs[i] = Double.POSITIVE_INFINITY;
+                                    continue;
+                                }
+                                score(from, to, numPoints, ws);
+                                inliersCount[i] = ws.inliersCount;
+                                costs[i] = ws.cost;
+                            }
+                        });
+        var best = -1;
+        for (int i = 0; i < iterations; i++) {
+            if (costs[i] == Double.POSITIVE_INFINITY) continue;
+            if (best == -1 || isBetter(inliersCount[i], costs[i], inliersCount[best], costs[best]))
+                best = i;
+        }
+        if (best == -1) {
+            LOGGER.fine("All samples are degenerate");
+            return Optional.empty();
+        }
+        var ws = new Workspace(numPoints);
+        fitHypothesis(best, from, to, numPoints, ws);
+        var inliers = findInliers(from, to, numPoints, ws);
+        if (inliers.cardinality() < SAMPLE_SIZE) {
+            LOGGER.fine("Not enough inliers: {0}", inliers.cardinality());
+            return Optional.empty();
+        }
+        var tx = new double[16];
+        refit(from, to, inliers, ws.kabsch, tx);
+        LOGGER.fine("Best hypothesis {0}, inliers {1}", best, inliers.cardinality());
+        return Optional.of(new Registration(new Matrix4d(tx), inliers));
+    }
+
+    private boolean isBetter(int count, double cost, int bestCount, double bestCost) {
+        return switch (method) {
+            case RANSAC -> count > bestCount || (count == bestCount && cost < bestCost);
+            case LMEDS -> cost < bestCost;
+        };
+    }
+
+    /** Per task buffers */
+    private static class Workspace {
+        final KabschAlgorithm kabsch = new KabschAlgorithm();
+        final double[] sampleFrom = new double[SAMPLE_SIZE * 3];
+        final double[] sampleTo = new double[SAMPLE_SIZE * 3];
+        final double[] tx = new double[16];
+        final double[] residuals;
+        int inliersCount;
+        double cost;
+
+        Workspace(int numPoints) {
+            residuals = new double[numPoints];
+        }
+    }
+
+    /**
+     * Fit hypothesis to the sample of points which are chosen based on the seed and the hypothesis
+     * index.
+     *
+     * @return false if sample is degenerate
+     */
+    private boolean fitHypothesis(
+            int hypothesis, double[] from, double[] to, int numPoints, Workspace ws) {
+        var state = seed + hypothesis * 0x9E3779B97F4A7C15L;
+        int a, b, c;
+        state = mix(state);
+        a = (int) ((state >>> 1) % numPoints);
+        do {
+            state = mix(state);
+            b = (int) ((state >>> 1) % numPoints);
+        } while (b == a);
+        do {
+            state = mix(state);
+            c = (int) ((state >>> 1) % numPoints);
+        } while (c == a || c == b);
+        System.arraycopy(from, a * 3, ws.sampleFrom, 0, 3);
+        System.arraycopy(from, b * 3, ws.sampleFrom, 3, 3);
+        System.arraycopy(from, c * 3, ws.sampleFrom, 6, 3);
+        if (isCollinear(ws.sampleFrom)) return false;
+        System.arraycopy(to, a * 3, ws.sampleTo, 0, 3);
+        System.arraycopy(to, b * 3, ws.sampleTo, 3, 3);
+        System.arraycopy(to, c * 3, ws.sampleTo, 6, 3);
+        if (isCollinear(ws.sampleTo)) return false;
+        ws.kabsch.calculateTransformation(ws.sampleFrom, 0, ws.sampleTo, 0, SAMPLE_SIZE, ws.tx, 0);
+        return true;
+    }
+
+    /** SplitMix64 finalizer */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static boolean isCollinear(double[] p) {
+        var ux = p[3] - p[0];
+        var uy = p[4] - p[1];
+        var uz = p[5] - p[2];
+        var vx = p[6] - p[0];
+        var vy = p[7] - p[1];
+        var vz = p[8] - p[2];
+        var cx = uy * vz - uz * vy;
+        var cy = uz * vx - ux * vz;
+        var cz = ux * vy - uy * vx;
+        return cx * cx + cy * cy + cz * cz < MIN_SAMPLE_AREA_SQ;
+    }
+
+    /** Squared distances between transformed source points and target points */
+    private static void residuals(
+            double[] from, double[] to, int numPoints, double[] tx, double[] out) {
+        for (int i = 0, o = 0; i < numPoints; i++, o += 3) {
+            var x = from[o];
+            var y = from[o + 1];
+            var z = from[o + 2];
+            var dx = tx[0] * x + tx[1] * y + tx[2] * z + tx[3] - to[o];
+            var dy = tx[4] * x + tx[5] * y + tx[6] * z + tx[7] - to[o + 1];
+            var dz = tx[8] * x + tx[9] * y + tx[10] * z + tx[11] - to[o + 2];
+            out[i] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    private void score(double[] from, double[] to, int numPoints, Workspace ws) {
+        residuals(from, to, numPoints, ws.tx, ws.residuals);
+        switch (method) {
+            case RANSAC -> {
+                var thresholdSq = threshold * threshold;
+                var count = 0;
+                var cost = 0.;
+                for (int i = 0; i < numPoints; i++) {
+                    if (ws.residuals[i] >= thresholdSq) continue;
+                    count++;
+                    cost += ws.residuals[i];
+                }
+                ws.inliersCount = count;
+                ws.cost = cost;
+            }
+            case LMEDS -> {
+                ws.inliersCount = 0;
+                ws.cost = select(ws.residuals, numPoints, numPoints / 2);
+            }
+        }
+    }
+
+    private BitSet findInliers(double[] from, double[] to, int numPoints, Workspace ws) {
+        residuals(from, to, numPoints, ws.tx, ws.residuals);
+        var thresholdSq = threshold * threshold;
+        if (method == Method.LMEDS) {
+            // robust standard deviation estimate from the median residual
+            var median = select(ws.residuals.clone(), numPoints, numPoints / 2);
+            var sigma =
+                    1.4826 * (1 + 5. / Math.max(1, numPoints - SAMPLE_SIZE)) * Math.sqrt(median);
+            // on clean data median is close to 0 and would reject points because of rounding
+            // errors or negligible noise, configured threshold is used as a floor
+            thresholdSq = Math.max(thresholdSq, 2.5 * 2.5 * sigma * sigma);
+        }
+        var inliers = new BitSet(numPoints);
+        for (int i = 0; i < numPoints; i++) {
+            if (ws.residuals[i] <= thresholdSq) inliers.set(i);
+        }
+        return inliers;
+    }
+
+    private static void refit(
+            double[] from, double[] to, BitSet inliers, KabschAlgorithm kabsch, double[] tx) {
+        var n = inliers.cardinality();
+        var inFrom = new double[n * 3];
+        var inTo = new double[n * 3];
+        var o = 0;
+        for (int i = inliers.nextSetBit(0); i >= 0; i = inliers.nextSetBit(i + 1), o += 3) {
+            System.arraycopy(from, i * 3, inFrom, o, 3);
+            System.arraycopy(to, i * 3, inTo, o, 3);
+        }
+        kabsch.calculateTransformation(inFrom, 0, inTo, 0, n, tx, 0);
+    }
+
+    /** Quickselect k-th smallest among first n values (reorders them) */
+    private static double select(double[] a, int n, int k) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            var pivot = a[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    var t = a[i];
+                    a[i++] = a[j];
+                    a[j--] = t;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else break;
+        }
+        return a[k];
+    }
+}
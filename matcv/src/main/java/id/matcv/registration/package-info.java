@@ -0,0 +1,7 @@
+/**
+ * Rigid registration of 3D point sets (rotation, translation and scale between corresponding
+ * points) built on top of Kabsch algorithm.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+package id.matcv.registration;
@@ -19,41 +19,115 @@ package id.matcv.types;
 
 import id.matcv.types.datatables.DataTable;
 import id.xfunction.Preconditions;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Table of all key points detected in a single point cloud
  *
- * @param pointIds list of key points indices inside the point cloud. Indices must be sorted in the
- *     increasing order, to match same order how points are stored inside point clouds (important
- *     for {@link
- *     RegistratorFromKeyPoints#reconstructScene(id.clouds3d.types.datatables.DataTable3)})
+ * <p>Columns are stored as primitive arrays. {@link #pointIds()} and {@link #pointHashes()} are
+ * read-only views over them.
+ *
+ * <p>Key points indices inside the point cloud must be sorted in the increasing order, to match
+ * same order how points are stored inside point clouds (important for {@link
+ * RegistratorFromKeyPoints#reconstructScene(id.clouds3d.types.datatables.DataTable3)})
+ *
  * @author lambdaprime intid@protonmail.com
  */
-public record KeyPoints3dTable(List<Integer> pointIds, List<Integer> pointHashes)
-        implements DataTable {
-    public KeyPoints3dTable {
+public final class KeyPoints3dTable implements DataTable {
+    private final int[] pointIds;
+    private final int[] pointHashes;
+
+    /**
+     * Table which owns the given arrays (they are not copied)
+     *
+     * @param pointIds key points indices inside the point cloud
+     * @param pointHashes hashes of the key points
+     */
+    public KeyPoints3dTable(int[] pointIds, int[] pointHashes) {
         Preconditions.equals(
-                pointIds.size(),
-                pointHashes.size(),
+                pointIds.length,
+                pointHashes.length,
                 "Mismatch between pointIds and globalPointIds");
+        this.pointIds = pointIds;
+        this.pointHashes = pointHashes;
+    }
+
+    public KeyPoints3dTable(List<Integer> pointIds, List<Integer> pointHashes) {
+        this(toArray(pointIds), toArray(pointHashes));
     }
 
     @Override
     public int size() {
-        return pointIds.size();
+        return pointIds.length;
     }
 
     @Override
     public boolean isEmpty() {
-        return pointIds.isEmpty();
+        return pointIds.length == 0;
+    }
+
+    /** Key points indices inside the point cloud */
+    public List<Integer> pointIds() {
+        return new IntListView(pointIds);
+    }
+
+    public List<Integer> pointHashes() {
+        return new IntListView(pointHashes);
     }
 
     public int pointIds(int i) {
-        return pointIds.get(i);
+        return pointIds[i];
     }
 
     public int pointHashes(int i) {
-        return pointHashes.get(i);
+        return pointHashes[i];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof KeyPoints3dTable other
+                && Arrays.equals(pointIds, other.pointIds)
+                && Arrays.equals(pointHashes, other.pointHashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(pointIds) + Arrays.hashCode(pointHashes);
+    }
+
+    @Override
+    public String toString() {
+        return "KeyPoints3dTable[pointIds="
+                + Arrays.toString(pointIds)
+                + ", pointHashes="
+                + Arrays.toString(pointHashes)
+                + "]";
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        var a = new int[list.size()];
+        for (int i = 0; i < a.length; i++) a[i] = list.get(i);
+        return a;
+    }
+
+    private static class IntListView extends AbstractList<Integer> implements RandomAccess {
+        private final int[] data;
+
+        IntListView(int[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return data[index];
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
     }
 }
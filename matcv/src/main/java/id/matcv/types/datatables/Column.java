@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.datatables;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Immutable column of {@link ColumnarTable}.
+ *
+ * <p>Missing (null) items are tracked with validity bitmap instead of being stored as nulls. Bit
+ * "i" of the bitmap is set when item "i" is valid. Columns without missing items do not have bitmap
+ * at all.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract sealed class Column permits IntColumn, DoubleColumn, ObjectColumn {
+    private final int size;
+    private final BitSet validity;
+
+    /**
+     * @param validity null when all items are valid (bitmap is not copied)
+     */
+    Column(int size, BitSet validity) {
+        this.size = size;
+        this.validity = validity != null && validity.nextClearBit(0) >= size ? null : validity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Returns false when item "i" is missing */
+    public boolean isValid(int i) {
+        return validity == null || validity.get(i);
+    }
+
+    /** Number of missing items */
+    public int invalidCount() {
+        return validity == null ? 0 : size - validity.cardinality();
+    }
+
+    /** Copy of validity bitmap or empty when all items are valid */
+    public Optional<BitSet> validity() {
+        return Optional.ofNullable(validity).map(b -> (BitSet) b.clone());
+    }
+
+    /** Bitmap which is not copied, for internal use only */
+    BitSet validityBitmap() {
+        return validity;
+    }
+
+    /** New column with items at the given row indices in the given order */
+    abstract Column select(int[] rows, int n, ParallelRange range);
+
+    BitSet selectValidity(int[] rows, int n) {
+        if (validity == null) return null;
+        var out = new BitSet(n);
+        for (int i = 0; i < n; i++) if (validity.get(rows[i])) out.set(i);
+        return out;
+    }
+}
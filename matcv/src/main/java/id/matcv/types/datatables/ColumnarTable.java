@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.datatables;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import id.xfunction.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Table which stores its data in typed columns ({@link IntColumn}, {@link DoubleColumn}, {@link
+ * ObjectColumn}). Unlike {@link DataTable2}, {@link DataTable3}, ... primitive values are not boxed
+ * and missing items are allowed (see {@link Column}).
+ *
+ * <p>Tables are immutable, all operators return new tables. Operators which process every row
+ * (filter, map, gather of the columns) run in parallel for large tables. Row functions passed to
+ * them may be called from multiple threads and should not have side effects.
+ *
+ * <p>Columns are accessed by their index, same as in {@link DataTable}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ColumnarTable implements DataTable {
+    /** Number of rows processed by a single task */
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    private final List<Column> columns;
+    private final int size;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean isParallel = true;
+
+    public ColumnarTable(Column... columns) {
+        this(List.of(columns));
+    }
+
+    public ColumnarTable(List<Column> columns) {
+        Preconditions.isTrue(!columns.isEmpty(), "Table should have at least one column");
+        this.columns = List.copyOf(columns);
+        this.size = columns.get(0).size();
+        for (int i = 1; i < columns.size(); i++) {
+            Preconditions.equals(
+                    size,
+                    columns.get(i).size(),
+                    "Mismatch between number of items in column 1 and %s: %s != %s",
+                    i + 1,
+                    size,
+                    columns.get(i).size());
+        }
+    }
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public ColumnarTable withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Process rows in parallel. Default is true. Tables returned by operators inherit it. */
+    public ColumnarTable withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int numColumns() {
+        return columns.size();
+    }
+
+    public Column col(int i) {
+        return columns.get(i);
+    }
+
+    public IntColumn intCol(int i) {
+        return (IntColumn) columns.get(i);
+    }
+
+    public DoubleColumn doubleCol(int i) {
+        return (DoubleColumn) columns.get(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ObjectColumn<T> objectCol(int i) {
+        return (ObjectColumn<T>) columns.get(i);
+    }
+
+    /** New table with the given column added after all existing columns */
+    public ColumnarTable withColumn(Column column) {
+        var out = new ArrayList<>(columns);
+        out.add(column);
+        return newTable(out);
+    }
+
+    /** Rows for which predicate (which accepts row index) is true */
+    public ColumnarTable filter(IntPredicate row) {
+        var isSelected = new boolean[size];
+        range().forEach(
+                        0,
+                        size,
+                        (from, to) -> {
+                            for (int i = from; i < to; i++) isSelected[i] = row.test(i);
+                        });
+        var rows = new int[size];
+        var n = 0;
+        for (int i = 0; i < size; i++) if (isSelected[i]) rows[n++] = i;
+        return select(rows, n);
+    }
+
+    /**
+     * Rows which have no missing items in any of the columns. Same as {@link
+     * DataTable#collapse(List, List, List)} but based on validity bitmaps.
+     */
+    public ColumnarTable dropInvalid() {
+        BitSet valid = null;
+        for (var col : columns) {
+            var bitmap = col.validityBitmap();
+            if (bitmap == null) continue;
+            if (valid == null) valid = bitmap.get(0, size);
+            else valid.and(bitmap);
+        }
+        if (valid == null) return this;
+        var rows = new int[valid.cardinality()];
+        for (int i = valid.nextSetBit(0), n = 0; i >= 0; i = valid.nextSetBit(i + 1)) rows[n++] = i;
+        return select(rows, rows.length);
+    }
+
+    /** Compute column from row indices */
+    public IntColumn mapToInt(IntUnaryOperator row) {
+        var out = new int[size];
+        range().forEach(
+                        0,
+                        size,
+                        (from, to) -> {
+                            for (int i = from; i < to; i++) out[i] = row.applyAsInt(i);
+                        });
+        return new IntColumn(out);
+    }
+
+    /** Compute column from row indices */
+    public DoubleColumn mapToDouble(IntToDoubleFunction row) {
+        var out = new double[size];
+        range().forEach(
+                        0,
+                        size,
+                        (from, to) -> {
+                            for (int i = from; i < to; i++) out[i] = row.applyAsDouble(i);
+                        });
+        return new DoubleColumn(out);
+    }
+
+    /** Compute column from row indices, null results are marked as missing */
+    public <T> ObjectColumn<T> mapToObj(IntFunction<T> row) {
+        var out = new Object[size];
+        range().forEach(
+                        0,
+                        size,
+                        (from, to) -> {
+                            for (int i = from; i < to; i++) out[i] = row.apply(i);
+                        });
+        @SuppressWarnings("unchecked")
+        var list = (List<T>) Arrays.asList(out);
+        return ObjectColumn.of(list);
+    }
+
+    /**
+     * Inner join using hash table built over the keys of the right table.
+     *
+     * <p>Result contains all columns of this table followed by all columns of the right table
+     * except its key column. Rows are ordered by this table rows, and for the duplicate keys by the
+     * right table rows. Rows with missing keys are not joined.
+     */
+    public ColumnarTable hashJoin(int keyCol, ColumnarTable right, int rightKeyCol) {
+        var leftKeys = intCol(keyCol);
+        var rightKeys = right.intCol(rightKeyCol);
+        var capacity = Integer.highestOneBit(Math.max(1, rightKeys.size()) * 2 - 1) << 1;
+        var mask = capacity - 1;
+        var slotKeys = new int[capacity];
+        // first right row for each slot, -1 for empty slots
+        var slotHeads = new int[capacity];
+        Arrays.fill(slotHeads, -1);
+        var next = new int[rightKeys.size()];
+        // insert in reverse order so that chains are ordered by row
+        for (int r = rightKeys.size() - 1; r >= 0; r--) {
+            if (!rightKeys.isValid(r)) continue;
+            var key = rightKeys.get(r);
+            var slot = hash(key) & mask;
+            while (slotHeads[slot] != -1 && slotKeys[slot] != key) slot = (slot + 1) & mask;
+            slotKeys[slot] = key;
+            next[r] = slotHeads[slot];
+            slotHeads[slot] = r;
+        }
+        var pairs = new RowPairs(size);
+        for (int l = 0; l < size; l++) {
+            if (!leftKeys.isValid(l)) continue;
+            var key = leftKeys.get(l);
+            var slot = hash(key) & mask;
+            while (slotHeads[slot] != -1 && slotKeys[slot] != key) slot = (slot + 1) & mask;
+            for (int r = slotHeads[slot]; r != -1; r = next[r]) pairs.add(l, r);
+        }
+        return join(right, rightKeyCol, pairs);
+    }
+
+    /**
+     * Inner join which sorts keys of both tables and merges them.
+     *
+     * <p>Result has same columns as {@link #hashJoin(int, ColumnarTable, int)} but rows are ordered
+     * by the key.
+     */
+    public ColumnarTable sortMergeJoin(int keyCol, ColumnarTable right, int rightKeyCol) {
+        var leftSorted = sortedKeys(intCol(keyCol));
+        var rightSorted = right.sortedKeys(right.intCol(rightKeyCol));
+        var pairs = new RowPairs(Math.max(leftSorted.length, rightSorted.length));
+        int l = 0, r = 0;
+        while (l < leftSorted.length && r < rightSorted.length) {
+            var leftKey = (int) (leftSorted[l] >> 32);
+            var rightKey = (int) (rightSorted[r] >> 32);
+            if (leftKey < rightKey) l++;
+            else if (leftKey > rightKey) r++;
+            else {
+                var rightStart = r;
+                for (; l < leftSorted.length && (int) (leftSorted[l] >> 32) == leftKey; l++) {
+                    for (r = rightStart;
+                            r < rightSorted.length && (int) (rightSorted[r] >> 32) == leftKey;
+                            r++) pairs.add((int) leftSorted[l], (int) rightSorted[r]);
+                }
+            }
+        }
+        return join(right, rightKeyCol, pairs);
+    }
+
+    /** Valid keys packed with their row indices, sorted by key and then by row */
+    private long[] sortedKeys(IntColumn keys) {
+        var out = new long[keys.size() - keys.invalidCount()];
+        for (int i = 0, n = 0; i < keys.size(); i++) {
+            if (keys.isValid(i)) out[n++] = ((long) keys.get(i) << 32) | i;
+        }
+        if (isParallel) Arrays.parallelSort(out);
+        else Arrays.sort(out);
+        return out;
+    }
+
+    private ColumnarTable join(ColumnarTable right, int rightKeyCol, RowPairs pairs) {
+        var range = range();
+        var out = new ArrayList<Column>(columns.size() + right.numColumns() - 1);
+        for (var col : columns) out.add(col.select(pairs.left, pairs.size, range));
+        for (int i = 0; i < right.numColumns(); i++) {
+            if (i == rightKeyCol) continue;
+            out.add(right.col(i).select(pairs.right, pairs.size, range));
+        }
+        return newTable(out);
+    }
+
+    private ColumnarTable select(int[] rows, int n) {
+        var range = range();
+        var out = new ArrayList<Column>(columns.size());
+        for (var col : columns) out.add(col.select(rows, n, range));
+        return newTable(out);
+    }
+
+    private ColumnarTable newTable(List<Column> columns) {
+        return new ColumnarTable(columns).withForkJoinPool(pool).withParallel(isParallel);
+    }
+
+    private ParallelRange range() {
+        return new ParallelRange(pool, isParallel, CHUNK_SIZE);
+    }
+
+    private static int hash(int key) {
+        var h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Growable pairs of joined row indices */
+    private static class RowPairs {
+        int[] left;
+        int[] right;
+        int size;
+
+        RowPairs(int capacity) {
+            left = new int[Math.max(16, capacity)];
+            right = new int[left.length];
+        }
+
+        void add(int l, int r) {
+            if (size == left.length) {
+                left = Arrays.copyOf(left, size * 2);
+                right = Arrays.copyOf(right, size * 2);
+            }
+            left[size] = l;
+            right[size] = r;
+            size++;
+        }
+    }
+}
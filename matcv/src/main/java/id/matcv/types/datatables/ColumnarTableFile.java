@@ -0,0 +1,403 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.datatables;
+
+import id.xfunction.Preconditions;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Self-describing columnar binary file (similar to Apache Arrow IPC file) which can be
+ * memory-mapped and read without decoding or copying the data. It allows to pass {@link
+ * ColumnarTable} results to other processes.
+ *
+ * <p>Each column has a name, a type and a width (number of values per row). Columns with width
+ * greater than 1 are fixed size lists (for example all 5x3 points of a marker in a single row).
+ *
+ * <p>File layout (all offsets are in bytes):
+ *
+ * <pre>{@code
+ * 0   magic "MATCVCTF"
+ * 8   int byte order mark 0x01020304
+ * 12  int version
+ * 16  int number of columns
+ * 24  long number of rows
+ * 32  column descriptors, 64 bytes each:
+ *     0   int type
+ *     4   int width
+ *     8   long data offset
+ *     16  long validity bitmap offset (0 when all items are valid)
+ *     24  int name length
+ *     28  name in UTF-8
+ * ... column buffers
+ * }</pre>
+ *
+ * <p>Column buffers are aligned to {@link #ALIGNMENT} bytes. Validity bitmap is stored as array of
+ * longs where bit "i % 64" of long "i / 64" is set when row "i" is valid.
+ *
+ * <p>Header and data are stored in native byte order, so files can be mapped only on the machines
+ * with the same byte order as the one where they were written.
+ *
+ * <p>Opened file keeps the mapping until it is closed. All segments returned by {@link #data(int)}
+ * are views to the mapped memory and must not be used after file is closed.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ColumnarTableFile implements AutoCloseable {
+    public static final int VERSION = 1;
+    public static final int ALIGNMENT = 64;
+
+    private static final byte[] MAGIC = "MATCVCTF".getBytes(StandardCharsets.US_ASCII);
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+    private static final int PREAMBLE_SIZE = 32;
+    private static final int DESCRIPTOR_SIZE = 64;
+    private static final int MAX_NAME_LENGTH = DESCRIPTOR_SIZE - 28;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED;
+
+    public enum Type {
+        INT32(Integer.BYTES),
+        FLOAT64(Double.BYTES);
+
+        private final int byteSize;
+
+        Type(int byteSize) {
+            this.byteSize = byteSize;
+        }
+
+        public int byteSize() {
+            return byteSize;
+        }
+    }
+
+    /**
+     * Writes columns to the file mapped with {@link FileChannel}. Column arrays are copied directly
+     * into the mapped memory without intermediate buffers.
+     */
+    public static class Writer {
+        private record ColumnData(
+                String name, Type type, int width, MemorySegment data, BitSet validity) {}
+
+        private final List<ColumnData> columns = new ArrayList<>();
+        private long numRows = -1;
+
+        public Writer withColumn(String name, IntColumn column) {
+            return withColumn(
+                    name,
+                    Type.INT32,
+                    1,
+                    MemorySegment.ofArray(column.data()),
+                    column.validityBitmap());
+        }
+
+        public Writer withColumn(String name, DoubleColumn column) {
+            return withColumn(
+                    name,
+                    Type.FLOAT64,
+                    1,
+                    MemorySegment.ofArray(column.data()),
+                    column.validityBitmap());
+        }
+
+        /**
+         * Column where each row is a fixed size list of doubles
+         *
+         * @param values values of all rows, values of row "i" start at index i * width
+         */
+        public Writer withColumn(String name, double[] values, int width) {
+            Preconditions.isTrue(width > 0, "Width must be positive");
+            Preconditions.equals(0, values.length % width, "Values are not aligned to the width");
+            return withColumn(name, Type.FLOAT64, width, MemorySegment.ofArray(values), null);
+        }
+
+        private Writer withColumn(
+                String name, Type type, int width, MemorySegment data, BitSet validity) {
+            Preconditions.isTrue(
+                    name.getBytes(StandardCharsets.UTF_8).length <= MAX_NAME_LENGTH,
+                    "Column name is too long: %s",
+                    name);
+            var rows = data.byteSize() / type.byteSize() / width;
+            if (numRows == -1) numRows = rows;
+            Preconditions.equals(numRows, rows, "Column " + name + " size mismatch");
+            columns.add(new ColumnData(name, type, width, data, validity));
+            return this;
+        }
+
+        /** Write all columns to the file. If file exists it is overwritten. */
+        public void write(Path file) {
+            Preconditions.isTrue(!columns.isEmpty(), "No columns to write");
+            var bitmapSize = (numRows + 63) / 64 * Long.BYTES;
+            var fileSize = (long) headerSize(columns.size());
+            for (var col : columns) {
+                fileSize = align(fileSize + col.data().byteSize());
+                if (col.validity() != null) fileSize = align(fileSize + bitmapSize);
+            }
+            try (var arena = Arena.ofConfined();
+                    var channel =
+                            FileChannel.open(
+                                    file,
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE)) {
+                var segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize, arena);
+                MemorySegment.copy(MAGIC, 0, segment, ValueLayout.JAVA_BYTE, 0, MAGIC.length);
+                segment.set(INT, 8, BYTE_ORDER_MARK);
+                segment.set(INT, 12, VERSION);
+                segment.set(INT, 16, columns.size());
+                segment.set(LONG, 24, numRows);
+                var offset = (long) headerSize(columns.size());
+                for (int i = 0; i < columns.size(); i++) {
+                    var col = columns.get(i);
+                    var descriptor = PREAMBLE_SIZE + i * DESCRIPTOR_SIZE;
+                    segment.set(INT, descriptor, col.type().ordinal());
+                    segment.set(INT, descriptor + 4, col.width());
+                    segment.set(LONG, descriptor + 8, offset);
+                    MemorySegment.copy(col.data(), 0, segment, offset, col.data().byteSize());
+                    offset = align(offset + col.data().byteSize());
+                    if (col.validity() != null) {
+                        var bitmap = col.validity().toLongArray();
+                        segment.set(LONG, descriptor + 16, offset);
+                        MemorySegment.copy(
+                                bitmap,
+                                0,
+                                segment,
+                                ValueLayout.JAVA_LONG_UNALIGNED,
+                                offset,
+                                (int) Math.min(bitmap.length, bitmapSize / Long.BYTES));
+                        offset = align(offset + bitmapSize);
+                    }
+                    var name = col.name().getBytes(StandardCharsets.UTF_8);
+                    segment.set(INT, descriptor + 24, name.length);
+                    MemorySegment.copy(
+                            name, 0, segment, ValueLayout.JAVA_BYTE, descriptor + 28, name.length);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final int numColumns;
+    private final long numRows;
+
+    private ColumnarTableFile(Arena arena, MemorySegment segment, int numColumns, long numRows) {
+        this.arena = arena;
+        this.segment = segment;
+        this.numColumns = numColumns;
+        this.numRows = numRows;
+    }
+
+    /** Map the file into the memory */
+    public static ColumnarTableFile open(Path file) {
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var fileSize = channel.size();
+            Preconditions.isTrue(fileSize >= PREAMBLE_SIZE, "File is too small: %s", file);
+            var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize, arena);
+            Preconditions.isTrue(
+                    Arrays.equals(
+                            MAGIC, segment.asSlice(0, MAGIC.length).toArray(ValueLayout.JAVA_BYTE)),
+                    "Not a columnar table file: %s",
+                    file);
+            Preconditions.equals(
+                    BYTE_ORDER_MARK,
+                    segment.get(INT, 8),
+                    "File was written on the machine with different byte order");
+            Preconditions.equals(VERSION, segment.get(INT, 12), "Unsupported file version");
+            var numColumns = segment.get(INT, 16);
+            var numRows = segment.get(LONG, 24);
+            Preconditions.isTrue(numColumns >= 0, "Negative number of columns: %s", file);
+            Preconditions.isTrue(
+                    numRows >= 0 && numRows <= fileSize, "Invalid number of rows: %s", file);
+            Preconditions.isTrue(
+                    PREAMBLE_SIZE + (long) numColumns * DESCRIPTOR_SIZE <= fileSize,
+                    "File is truncated: %s",
+                    file);
+            var tableFile = new ColumnarTableFile(arena, segment, numColumns, numRows);
+            var bitmapSize = (numRows + 63) / 64 * Long.BYTES;
+            for (int i = 0; i < numColumns; i++) {
+                var descriptor = tableFile.descriptor(i);
+                var type = segment.get(INT, descriptor);
+                Preconditions.isTrue(
+                        type >= 0 && type < Type.values().length,
+                        "Column %s has unknown type %s: %s",
+                        i,
+                        type,
+                        file);
+                var width = segment.get(INT, descriptor + 4);
+                Preconditions.isTrue(width > 0, "Column %s has invalid width: %s", i, file);
+                var dataOffset = segment.get(LONG, descriptor + 8);
+                // compare number of values instead of the data size which may overflow
+                Preconditions.isTrue(
+                        dataOffset >= 0
+                                && dataOffset <= fileSize
+                                && (numRows == 0
+                                        || width
+                                                <= (fileSize - dataOffset)
+                                                        / Type.values()[type].byteSize()
+                                                        / numRows),
+                        "Column %s data is out of file bounds: %s",
+                        i,
+                        file);
+                var validityOffset = segment.get(LONG, descriptor + 16);
+                Preconditions.isTrue(
+                        validityOffset == 0
+                                || (validityOffset > 0 && validityOffset <= fileSize - bitmapSize),
+                        "Column %s validity bitmap is out of file bounds: %s",
+                        i,
+                        file);
+                var nameLength = segment.get(INT, descriptor + 24);
+                Preconditions.isTrue(
+                        nameLength >= 0 && nameLength <= MAX_NAME_LENGTH,
+                        "Column %s has invalid name length %s: %s",
+                        i,
+                        nameLength,
+                        file);
+            }
+            return tableFile;
+        } catch (IOException e) {
+            arena.close();
+            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public long numRows() {
+        return numRows;
+    }
+
+    public int numColumns() {
+        return numColumns;
+    }
+
+    public String name(int col) {
+        var descriptor = descriptor(col);
+        var length = segment.get(INT, descriptor + 24);
+        return new String(
+                segment.asSlice(descriptor + 28, length).toArray(ValueLayout.JAVA_BYTE),
+                StandardCharsets.UTF_8);
+    }
+
+    /** Index of the column with the given name or -1 */
+    public int indexOf(String name) {
+        for (int i = 0; i < numColumns; i++) if (name(i).equals(name)) return i;
+        return -1;
+    }
+
+    public Type type(int col) {
+        return Type.values()[segment.get(INT, descriptor(col))];
+    }
+
+    /** Number of values per row */
+    public int width(int col) {
+        return segment.get(INT, descriptor(col) + 4);
+    }
+
+    /** Values of the column mapped into the memory. No data is copied. */
+    public MemorySegment data(int col) {
+        return segment.asSlice(dataOffset(col), dataSize(col));
+    }
+
+    public boolean isValid(int col, long row) {
+        var offset = segment.get(LONG, descriptor(col) + 16);
+        if (offset == 0) return true;
+        return ((segment.get(LONG, offset + (row >>> 6) * Long.BYTES) >>> (row & 63)) & 1) != 0;
+    }
+
+    public int getInt(int col, long row) {
+        return segment.get(INT, dataOffset(col) + row * Integer.BYTES);
+    }
+
+    public double getDouble(int col, long row) {
+        return getDouble(col, row, 0);
+    }
+
+    /** Value "k" of the fixed size list at the given row */
+    public double getDouble(int col, long row, int k) {
+        return segment.get(DOUBLE, dataOffset(col) + (row * width(col) + k) * Double.BYTES);
+    }
+
+    /** Copy file data to the heap columns */
+    public ColumnarTable toColumnarTable() {
+        var columns = new ArrayList<Column>(numColumns);
+        for (int i = 0; i < numColumns; i++) {
+            Preconditions.equals(1, width(i), "Fixed size list columns are not supported");
+            var validityOffset = segment.get(LONG, descriptor(i) + 16);
+            var validity =
+                    validityOffset == 0
+                            ? null
+                            : BitSet.valueOf(
+                                    segment.asSlice(
+                                                    validityOffset,
+                                                    (numRows + 63) / 64 * Long.BYTES)
+                                            .toArray(ValueLayout.JAVA_LONG));
+            columns.add(
+                    switch (type(i)) {
+                        case INT32 ->
+                                new IntColumn(data(i).toArray(ValueLayout.JAVA_INT), validity);
+                        case FLOAT64 ->
+                                new DoubleColumn(
+                                        data(i).toArray(ValueLayout.JAVA_DOUBLE), validity);
+                    });
+        }
+        return new ColumnarTable(columns);
+    }
+
+    /** Unmap the file */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static int headerSize(int numColumns) {
+        return (int) align(PREAMBLE_SIZE + (long) numColumns * DESCRIPTOR_SIZE);
+    }
+
+    private static long align(long offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private long descriptor(int col) {
+        Preconditions.isTrue(col >= 0 && col < numColumns, "Column %s does not exist", col);
+        return PREAMBLE_SIZE + (long) col * DESCRIPTOR_SIZE;
+    }
+
+    private long dataOffset(int col) {
+        return segment.get(LONG, descriptor(col) + 8);
+    }
+
+    private long dataSize(int col) {
+        return numRows * width(col) * type(col).byteSize();
+    }
+}
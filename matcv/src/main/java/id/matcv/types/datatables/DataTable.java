@@ -32,12 +32,14 @@ public interface DataTable {
     /**
      * Join col1, col2 with column {@link DataTable2#col2()} from the input table based on the
      * primary keys inside column {@link DataTable2#col1()}
+     *
+     * @see ColumnarTable#hashJoin(int, ColumnarTable, int) for joining large tables
      */
     static <C1, C2, C3> DataTable3<C1, C2, C3> innerJoin(
             List<C1> col1, List<C2> col2, DataTable2<Integer, C3> table2) {
-        var outCol1 = new ArrayList<C1>();
-        var outCol2 = new ArrayList<C2>();
-        var outCol3 = new ArrayList<C3>();
+        var outCol1 = new ArrayList<C1>(table2.size());
+        var outCol2 = new ArrayList<C2>(table2.size());
+        var outCol3 = new ArrayList<C3>(table2.size());
         for (int i = 0; i < table2.size(); ++i) {
             var key = table2.col1(i);
             outCol1.add(col1.get(key));
@@ -47,17 +49,14 @@ public interface DataTable {
         return new DataTable3<>(outCol1, outCol2, outCol3);
     }
 
+    /** Remove all null items. Remaining items are moved inside of the list itself. */
     static <C1, C2, C3> void collapse(List<C1> col1) {
-        var ncol1 = new ArrayList<C1>();
+        var n = 0;
         for (int i = 0; i < col1.size(); i++) {
             var f1 = col1.get(i);
-            var hasNullField = f1 == null;
-            if (!hasNullField) {
-                ncol1.add(f1);
-            }
+            if (f1 != null) col1.set(n++, f1);
         }
-        col1.clear();
-        col1.addAll(ncol1);
+        truncate(col1, n);
     }
 
     /**
@@ -66,36 +65,33 @@ public interface DataTable {
      *
      * <p>Row "i" is removed by removing corresponding elements with index "i" across all the
      * columns, even if they contain non null items.
+     *
+     * <p>Remaining rows are moved inside of the lists themselves.
+     *
+     * @see ColumnarTable#dropInvalid()
      */
     static <C1, C2, C3> void collapse(List<C1> col1, List<C2> col2, List<C3> col3) {
-        var ncol1 = new ArrayList<C1>();
-        var ncol2 = new ArrayList<C2>();
-        var ncol3 = new ArrayList<C3>();
+        var n = 0;
         for (int i = 0; i < col1.size(); i++) {
             var f1 = col1.get(i);
             var f2 = col2.get(i);
             var f3 = col3.get(i);
             var hasNullField = f1 == null || f2 == null || f3 == null;
             if (!hasNullField) {
-                ncol1.add(f1);
-                ncol2.add(f2);
-                ncol3.add(f3);
+                col1.set(n, f1);
+                col2.set(n, f2);
+                col3.set(n, f3);
+                n++;
             }
         }
-        col1.clear();
-        col1.addAll(ncol1);
-        col2.clear();
-        col2.addAll(ncol2);
-        col3.clear();
-        col3.addAll(ncol3);
+        truncate(col1, n);
+        truncate(col2, n);
+        truncate(col3, n);
     }
 
     static <C1, C2, C3, C4> void collapse(
             List<C1> col1, List<C2> col2, List<C3> col3, List<C4> col4) {
-        var ncol1 = new ArrayList<C1>();
-        var ncol2 = new ArrayList<C2>();
-        var ncol3 = new ArrayList<C3>();
-        var ncol4 = new ArrayList<C4>();
+        var n = 0;
         for (int i = 0; i < col1.size(); i++) {
             var f1 = col1.get(i);
             var f2 = col2.get(i);
@@ -103,19 +99,20 @@ public interface DataTable {
             var f4 = col4.get(i);
             var hasNullField = f1 == null || f2 == null || f3 == null || f4 == null;
             if (!hasNullField) {
-                ncol1.add(f1);
-                ncol2.add(f2);
-                ncol3.add(f3);
-                ncol4.add(f4);
+                col1.set(n, f1);
+                col2.set(n, f2);
+                col3.set(n, f3);
+                col4.set(n, f4);
+                n++;
             }
         }
-        col1.clear();
-        col1.addAll(ncol1);
-        col2.clear();
-        col2.addAll(ncol2);
-        col3.clear();
-        col3.addAll(ncol3);
-        col4.clear();
-        col4.addAll(ncol4);
+        truncate(col1, n);
+        truncate(col2, n);
+        truncate(col3, n);
+        truncate(col4, n);
+    }
+
+    private static void truncate(List<?> col, int size) {
+        col.subList(size, col.size()).clear();
     }
 }
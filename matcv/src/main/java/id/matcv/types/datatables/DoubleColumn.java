@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.datatables;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column of primitive double values.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class DoubleColumn extends Column {
+    private final double[] data;
+
+    /** Column which owns the given array (it is not copied) and has no missing items */
+    public DoubleColumn(double... data) {
+        this(data, null);
+    }
+
+    /**
+     * @param validity set bits mark valid items, null when all items are valid
+     */
+    public DoubleColumn(double[] data, BitSet validity) {
+        super(data.length, validity);
+        this.data = data;
+    }
+
+    /** Column from the list where null items are marked as missing */
+    public static DoubleColumn of(List<Double> values) {
+        var data = new double[values.size()];
+        var validity = new BitSet(data.length);
+        for (int i = 0; i < data.length; i++) {
+            var v = values.get(i);
+            if (v == null) continue;
+            data[i] = v;
+            validity.set(i);
+        }
+        return new DoubleColumn(data, validity);
+    }
+
+    /** Value of item "i" or 0 when it is missing */
+    public double get(int i) {
+        return data[i];
+    }
+
+    /** Backing array, for internal use only */
+    double[] data() {
+        return data;
+    }
+
+    /** Read-only view where missing items are null */
+    public List<Double> asList() {
+        return new View();
+    }
+
+    @Override
+    DoubleColumn select(int[] rows, int n, ParallelRange range) {
+        var out = new double[n];
+        range.forEach(
+                0,
+                n,
+                (from, to) -> {
+                    for (int i = from; i < to; i++) out[i] = data[rows[i]];
+                });
+        return new DoubleColumn(out, selectValidity(rows, n));
+    }
+
+    private class View extends AbstractList<Double> implements RandomAccess {
+        @Override
+        public Double get(int index) {
+            return isValid(index) ? data[index] : null;
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+    }
+}
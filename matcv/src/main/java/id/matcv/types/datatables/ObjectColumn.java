@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.datatables;
+
+import id.matcv.impl.concurrent.ParallelRange;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column of objects. Missing items are stored as nulls and marked in the validity bitmap.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class ObjectColumn<T> extends Column {
+    private final Object[] data;
+
+    private ObjectColumn(Object[] data, BitSet validity) {
+        super(data.length, validity);
+        this.data = data;
+    }
+
+    /** Column from the list where null items are marked as missing */
+    public static <T> ObjectColumn<T> of(List<T> values) {
+        var data = values.toArray();
+        var validity = new BitSet(data.length);
+        for (int i = 0; i < data.length; i++) if (data[i] != null) validity.set(i);
+        return new ObjectColumn<>(data, validity);
+    }
+
+    /** Item "i" or null when it is missing */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) data[i];
+    }
+
+    /** Read-only view where missing items are null */
+    public List<T> asList() {
+        return new View();
+    }
+
+    @Override
+    ObjectColumn<T> select(int[] rows, int n, ParallelRange range) {
+        var out = new Object[n];
+        range.forEach(
+                0,
+                n,
+                (from, to) -> {
+                    for (int i = from; i < to; i++) out[i] = data[rows[i]];
+                });
+        return new ObjectColumn<>(out, selectValidity(rows, n));
+    }
+
+    private class View extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            return ObjectColumn.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+    }
+}
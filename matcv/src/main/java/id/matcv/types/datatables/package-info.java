@@ -50,6 +50,14 @@
  *       </ul>
  * </ul>
  *
+ * <h2>Columnar tables</h2>
+ *
+ * <p>For large tables (millions of rows) {@link id.matcv.types.datatables.ColumnarTable} stores
+ * primitive values in {@link id.matcv.types.datatables.IntColumn} and {@link
+ * id.matcv.types.datatables.DoubleColumn} without boxing. Missing items are allowed there and are
+ * tracked with validity bitmaps. It provides parallel filter and map operators as well as hash and
+ * sort-merge joins.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 package id.matcv.types.datatables;
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.matcv.types.camera.CameraIntrinsics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed ray coefficients used to deproject depth image pixels into 3d points:
+ *
+ * <ul>
+ *   <li>for each column u: xRay(u) = (u - cx) / fx
+ *   <li>for each row v: yRay(v) = (v - cy) / fy
+ * </ul>
+ *
+ * <p>With such table deprojection of pixel (u, v) with depth z becomes multiplication only: x =
+ * xRay(u) * z, y = yRay(v) * z
+ *
+ * <p>Tables are immutable and cached per camera intrinsics values (width, height and camera
+ * matrix), so all point clouds which are built for the same camera share the same table and pay its
+ * setup cost only once. Cache keeps only {@link #CACHE_SIZE} most recently used tables, tables of
+ * the cameras which are no longer used are evicted. Cache lock is held only for the lookup and
+ * publication of the table, tables are built outside of it.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class DeprojectionTable {
+
+    private record Key(int width, int height, double cx, double cy, double fx, double fy) {}
+
+    /** Maximum number of cached tables */
+    public static final int CACHE_SIZE = 16;
+
+    private static final Map<Key, DeprojectionTable> CACHE =
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, DeprojectionTable> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    final double[] xRays;
+    final double[] yRays;
+
+    private DeprojectionTable(Key key) {
+        xRays = new double[key.width];
+        for (int u = 0; u < xRays.length; u++) xRays[u] = (u - key.cx) / key.fx;
+        yRays = new double[key.height];
+        for (int v = 0; v < yRays.length; v++) yRays[v] = (v - key.cy) / key.fy;
+    }
+
+    /** Return table for the given intrinsics, creating it if it is not cached yet */
+    public static DeprojectionTable of(CameraIntrinsics intrinsics) {
+        var cameraMatrix = intrinsics.cameraMatrix();
+        var key =
+                new Key(
+                        intrinsics.width(),
+                        intrinsics.height(),
+                        cameraMatrix.cx(),
+                        cameraMatrix.cy(),
+                        cameraMatrix.fx(),
+                        cameraMatrix.fy());
+        DeprojectionTable table;
+        synchronized (CACHE) {
+            table = CACHE.get(key);
+        }
+        if (table != null) return table;
+        // table is built outside of the lock so that threads which use other cameras are not
+        // blocked, if another thread published same table meanwhile its table is returned
+        var newTable = new DeprojectionTable(key);
+        synchronized (CACHE) {
+            table = CACHE.putIfAbsent(key, newTable);
+        }
+        return table != null ? table : newTable;
+    }
+
+    /** Ray coefficient (u - cx) / fx for the given column */
+    public double xRay(int col) {
+        return xRays[col];
+    }
+
+    /** Ray coefficient (v - cy) / fy for the given row */
+    public double yRay(int row) {
+        return yRays[row];
+    }
+
+    public int width() {
+        return xRays.length;
+    }
+
+    public int height() {
+        return yRays.length;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Deprojects rows of depth image (HEIGHT*WIDTH*CV_16UC1) into 3d points.
+ *
+ * <p>Points are calculated exactly as in {@link PointCloudFromMemorySegmentAccessor#getPoint(int)}
+ * so that both per point and bulk access return same values. Deprojection uses {@link
+ * DeprojectionTable} so there are no divisions per pixel.
+ *
+ * <p>Default implementation is scalar. When <a href="https://openjdk.org/jeps/460">Vector API</a>
+ * module is available (JVM started with "--add-modules jdk.incubator.vector") then {@link
+ * VectorDepthDeprojector} is used instead.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class DepthDeprojector {
+    private static final boolean IS_VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    protected final int width;
+    protected final double[] xRays;
+    protected final double[] yRays;
+
+    /** 1 / depthScale */
+    protected final double depthUnit;
+
+    protected DepthDeprojector(DeprojectionTable table, double depthUnit) {
+        this.width = table.width();
+        this.xRays = table.xRays;
+        this.yRays = table.yRays;
+        this.depthUnit = depthUnit;
+    }
+
+    /**
+     * Create deprojector which is best suited for the given depth image segment
+     *
+     * <p>Vector API supports only native or byte[] backed segments, for others scalar
+     * implementation is returned.
+     */
+    static DepthDeprojector create(MemorySegment depth, DeprojectionTable table, double depthUnit) {
+        if (IS_VECTOR_API_AVAILABLE && depth.isNative())
+            return new VectorDepthDeprojector(table, depthUnit);
+        return new DepthDeprojector(table, depthUnit);
+    }
+
+    /**
+     * Deproject depth values of a single row in range [fromCol, toCol) and store coordinates of
+     * resulting points into x, y, z arrays starting from index 0.
+     *
+     * <p>Holes are stored as {@link PointCloud#HOLE} coordinates.
+     */
+    void deproject(
+            MemorySegment depth,
+            int row,
+            int fromCol,
+            int toCol,
+            double[] x,
+            double[] y,
+            double[] z) {
+        deprojectScalar(depth, row, fromCol, toCol, x, y, z, 0);
+    }
+
+    /** Same as deproject but coordinates are stored starting from the given offset */
+    protected void deprojectScalar(
+            MemorySegment depth,
+            int row,
+            int fromCol,
+            int toCol,
+            double[] x,
+            double[] y,
+            double[] z,
+            int offset) {
+        var rowOffset = (long) row * width * Short.BYTES;
+        var yRay = yRays[row];
+        for (int col = fromCol, i = offset; col < toCol; col++, i++) {
+            var d =
+                    depth.get(
+                            ValueLayout.JAVA_SHORT_UNALIGNED, rowOffset + (long) col * Short.BYTES);
+            if (d == 0) {
+                x[i] = 0;
+                y[i] = 0;
+                z[i] = 0;
+                continue;
+            }
+            var pz = d * depthUnit;
+            x[i] = xRays[col] * pz;
+            y[i] = yRay * pz;
+            z[i] = pz;
+        }
+    }
+}
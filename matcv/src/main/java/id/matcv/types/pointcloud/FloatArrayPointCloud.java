@@ -18,6 +18,8 @@
 package id.matcv.types.pointcloud;
 
 import id.ndbuffers.matrix.Vector3d;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 
 /**
  * Point cloud stored inside float array.
@@ -31,11 +33,39 @@ public record FloatArrayPointCloud(float[] data) implements PointCloud {
     @Override
     public Vector3d getPoint(int index) {
         var s = index * 3;
-        return new Vector3d(s + 0, s + 1, s + 2);
+        return new Vector3d(data[s], data[s + 1], data[s + 2]);
     }
 
     @Override
     public int size() {
         return data.length / 3;
     }
+
+    @Override
+    public boolean isHole(int index) {
+        var s = index * 3;
+        return data[s] == 0 && data[s + 1] == 0 && data[s + 2] == 0;
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        MemorySegment.copy(
+                data,
+                fromIndex * 3,
+                dst,
+                ValueLayout.JAVA_FLOAT_UNALIGNED,
+                dstOffset,
+                (toIndex - fromIndex) * 3);
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, float[] dst, int dstOffset) {
+        System.arraycopy(data, fromIndex * 3, dst, dstOffset, (toIndex - fromIndex) * 3);
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        for (int i = fromIndex * 3; i < toIndex * 3; i += 3)
+            consumer.accept(data[i], data[i + 1], data[i + 2]);
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import id.xfunction.Preconditions;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Point cloud stored as structure of arrays: each coordinate is kept in its own float array.
+ *
+ * <p>Unlike {@link FloatArrayPointCloud}, such layout allows to process each coordinate separately
+ * (ex. filter points by depth using only z array) with sequential memory access.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public record FloatColumnsPointCloud(float[] x, float[] y, float[] z) implements PointCloud {
+
+    public FloatColumnsPointCloud {
+        Preconditions.isTrue(
+                x.length == y.length && y.length == z.length,
+                "Columns have different lengths: %d, %d, %d",
+                x.length,
+                y.length,
+                z.length);
+    }
+
+    /** Create point cloud with all points set to {@link #HOLE} */
+    public FloatColumnsPointCloud(int numOfPoints) {
+        this(new float[numOfPoints], new float[numOfPoints], new float[numOfPoints]);
+    }
+
+    /** Create new point cloud and copy all points of the given point cloud into it */
+    public static FloatColumnsPointCloud copyOf(PointCloud pc) {
+        var out = new FloatColumnsPointCloud(pc.size());
+        var i = new int[1];
+        pc.forEachPoint(
+                (x, y, z) -> {
+                    out.x[i[0]] = x;
+                    out.y[i[0]] = y;
+                    out.z[i[0]] = z;
+                    i[0]++;
+                });
+        return out;
+    }
+
+    @Override
+    public Vector3d getPoint(int index) {
+        return new Vector3d(x[index], y[index], z[index]);
+    }
+
+    @Override
+    public int size() {
+        return x.length;
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        return x[index] == 0 && y[index] == 0 && z[index] == 0;
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        var layout = ValueLayout.JAVA_FLOAT_UNALIGNED;
+        for (int i = fromIndex; i < toIndex; i++) {
+            dst.set(layout, dstOffset, x[i]);
+            dst.set(layout, dstOffset + Float.BYTES, y[i]);
+            dst.set(layout, dstOffset + 2 * Float.BYTES, z[i]);
+            dstOffset += 3 * Float.BYTES;
+        }
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, float[] dst, int dstOffset) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            dst[dstOffset++] = x[i];
+            dst[dstOffset++] = y[i];
+            dst[dstOffset++] = z[i];
+        }
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        for (int i = fromIndex; i < toIndex; i++) consumer.accept(x[i], y[i], z[i]);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import java.lang.foreign.MemorySegment;
+import java.util.BitSet;
+
+/**
+ * View to the point cloud where some of the points are masked and reported as {@link #HOLE}.
+ *
+ * <p>Masking points keeps indices of all other points unchanged, which allows to remove points from
+ * the organized point clouds without breaking their organization. If point cloud is not organized
+ * it is viewed as organized point cloud with single row.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MaskedPointCloud implements OrganizedPointCloud {
+    private final PointCloud pc;
+    private final BitSet mask;
+    private final int width, height;
+
+    /**
+     * @param mask indices of the points which should be masked
+     */
+    public MaskedPointCloud(PointCloud pc, BitSet mask) {
+        this.pc = pc;
+        this.mask = mask;
+        if (pc instanceof OrganizedPointCloud opc) {
+            width = opc.width();
+            height = opc.height();
+        } else {
+            width = pc.size();
+            height = 1;
+        }
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public Vector3d getPoint(int index) {
+        return mask.get(index) ? HOLE : pc.getPoint(index);
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        return mask.get(index) || pc.isHole(index);
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        pc.copyTo(fromIndex, toIndex, dst, dstOffset);
+        for (int i = mask.nextSetBit(fromIndex); i >= 0 && i < toIndex; i = mask.nextSetBit(i + 1))
+            dst.asSlice(dstOffset + (long) (i - fromIndex) * 3 * Float.BYTES, 3 * Float.BYTES)
+                    .fill((byte) 0);
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        while (fromIndex < toIndex) {
+            var next = mask.nextSetBit(fromIndex);
+            if (next < 0 || next >= toIndex) next = toIndex;
+            pc.forEachPoint(fromIndex, next, consumer);
+            if (next == toIndex) break;
+            consumer.accept(0, 0, 0);
+            fromIndex = next + 1;
+        }
+    }
+}
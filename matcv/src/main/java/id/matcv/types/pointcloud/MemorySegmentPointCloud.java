@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Point cloud stored inside memory segment (which can be off-heap or memory-mapped file).
+ *
+ * <p>Points are stored as floats in native byte order using XYZ layout: p1.x, p1.y, p1.z, p2.x,
+ * p2.y, p2.z, ..., pN.x, pN.y, pN.z
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public record MemorySegmentPointCloud(MemorySegment data) implements PointCloud {
+
+    private static final ValueLayout.OfFloat LAYOUT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+    private static final int POINT_BYTES = 3 * Float.BYTES;
+
+    /** Allocate point cloud with all points set to {@link #HOLE} */
+    public static MemorySegmentPointCloud allocate(Arena arena, int numOfPoints) {
+        return new MemorySegmentPointCloud(
+                arena.allocate((long) numOfPoints * POINT_BYTES, Float.BYTES));
+    }
+
+    /** Allocate new point cloud and copy all points of the given point cloud into it */
+    public static MemorySegmentPointCloud copyOf(Arena arena, PointCloud pc) {
+        var out = allocate(arena, pc.size());
+        pc.copyTo(0, pc.size(), out.data(), 0);
+        return out;
+    }
+
+    @Override
+    public Vector3d getPoint(int index) {
+        var offset = (long) index * POINT_BYTES;
+        return new Vector3d(
+                data.get(LAYOUT, offset),
+                data.get(LAYOUT, offset + Float.BYTES),
+                data.get(LAYOUT, offset + 2 * Float.BYTES));
+    }
+
+    @Override
+    public int size() {
+        return (int) (data.byteSize() / POINT_BYTES);
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        var offset = (long) index * POINT_BYTES;
+        return data.get(LAYOUT, offset) == 0
+                && data.get(LAYOUT, offset + Float.BYTES) == 0
+                && data.get(LAYOUT, offset + 2 * Float.BYTES) == 0;
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        MemorySegment.copy(
+                data,
+                (long) fromIndex * POINT_BYTES,
+                dst,
+                dstOffset,
+                (long) (toIndex - fromIndex) * POINT_BYTES);
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, float[] dst, int dstOffset) {
+        MemorySegment.copy(
+                data,
+                LAYOUT,
+                (long) fromIndex * POINT_BYTES,
+                dst,
+                dstOffset,
+                (toIndex - fromIndex) * 3);
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        var end = (long) toIndex * POINT_BYTES;
+        for (long offset = (long) fromIndex * POINT_BYTES; offset < end; offset += POINT_BYTES)
+            consumer.accept(
+                    data.get(LAYOUT, offset),
+                    data.get(LAYOUT, offset + Float.BYTES),
+                    data.get(LAYOUT, offset + 2 * Float.BYTES));
+    }
+}
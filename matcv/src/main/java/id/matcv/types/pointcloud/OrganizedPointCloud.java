@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import id.xfunction.Preconditions;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Point cloud which points are organized into the grid of rows and columns (ex. point cloud
+ * deprojected from the depth image where each point corresponds to the pixel of the image).
+ *
+ * <p>Point index in such point cloud is: row * {@link #width()} + col
+ *
+ * <p>Views returned by {@link #subView(int, int, int, int)} and {@link #strideView(int, int)} do
+ * not copy any points and access only points which are part of the view.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface OrganizedPointCloud extends PointCloud {
+
+    /** Number of columns */
+    int width();
+
+    /** Number of rows */
+    int height();
+
+    @Override
+    default int size() {
+        return width() * height();
+    }
+
+    /** Index of the point at the given row and column */
+    default int index(int row, int col) {
+        return row * width() + col;
+    }
+
+    default Vector3d getPoint(int row, int col) {
+        return getPoint(index(row, col));
+    }
+
+    /**
+     * Organized point cloud of the given width and height.
+     *
+     * <p>If point cloud is already organized with the same width and height it is returned as is,
+     * otherwise it is wrapped without copying its points.
+     */
+    static OrganizedPointCloud of(PointCloud pc, int width, int height) {
+        if (pc instanceof OrganizedPointCloud opc && opc.width() == width && opc.height() == height)
+            return opc;
+        Preconditions.equals(
+                width * height, pc.size(), "Point cloud size does not match width and height");
+        return new OrganizedPointCloudWrapper(pc, width, height);
+    }
+
+    /**
+     * View to the region of this point cloud (ROI)
+     *
+     * @param x column of the top left corner of the region
+     * @param y row of the top left corner of the region
+     */
+    default OrganizedPointCloud subView(int x, int y, int width, int height) {
+        return OrganizedPointCloudView.create(this, x, y, width, height, 1, 1);
+    }
+
+    /**
+     * View to every colStride point in every rowStride row of this point cloud (decimation)
+     *
+     * <p>First point of the view is the first point of this point cloud.
+     */
+    default OrganizedPointCloud strideView(int rowStride, int colStride) {
+        return OrganizedPointCloudView.create(
+                this,
+                0,
+                0,
+                (width() + colStride - 1) / colStride,
+                (height() + rowStride - 1) / rowStride,
+                rowStride,
+                colStride);
+    }
+
+    /**
+     * Spliterator over indices of all points which are not holes (see {@link #isHole(int)}).
+     *
+     * <p>Spliterator supports splitting, so it can be used by parallel streams.
+     */
+    default Spliterator.OfInt validPointsSpliterator() {
+        return new ValidPointsSpliterator(this, 0, size());
+    }
+
+    /**
+     * Sequential stream of indices of all points which are not holes. Use {@link
+     * IntStream#parallel()} to process them in parallel.
+     */
+    default IntStream validPoints() {
+        return StreamSupport.intStream(validPointsSpliterator(), false);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import id.xfunction.Preconditions;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * View to the region of {@link OrganizedPointCloud} with optional row and column strides.
+ *
+ * <p>Views of the views are not chained and always point to the original point cloud.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class OrganizedPointCloudView implements OrganizedPointCloud {
+    private final OrganizedPointCloud parent;
+    private final int x, y, width, height, rowStride, colStride;
+
+    private OrganizedPointCloudView(
+            OrganizedPointCloud parent,
+            int x,
+            int y,
+            int width,
+            int height,
+            int rowStride,
+            int colStride) {
+        this.parent = parent;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+    }
+
+    static OrganizedPointCloudView create(
+            OrganizedPointCloud pc,
+            int x,
+            int y,
+            int width,
+            int height,
+            int rowStride,
+            int colStride) {
+        Preconditions.isTrue(
+                x >= 0 && y >= 0 && width >= 0 && height >= 0, "Negative region coordinates");
+        Preconditions.isTrue(rowStride > 0 && colStride > 0, "Stride must be positive");
+        Preconditions.isTrue(
+                width == 0 || x + (width - 1) * colStride < pc.width(),
+                "Region is outside of the point cloud");
+        Preconditions.isTrue(
+                height == 0 || y + (height - 1) * rowStride < pc.height(),
+                "Region is outside of the point cloud");
+        if (pc instanceof OrganizedPointCloudView v) {
+            return new OrganizedPointCloudView(
+                    v.parent,
+                    v.x + x * v.colStride,
+                    v.y + y * v.rowStride,
+                    width,
+                    height,
+                    rowStride * v.rowStride,
+                    colStride * v.colStride);
+        }
+        return new OrganizedPointCloudView(pc, x, y, width, height, rowStride, colStride);
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public Vector3d getPoint(int index) {
+        return parent.getPoint(toParentIndex(index));
+    }
+
+    @Override
+    public Vector3d getPoint(int row, int col) {
+        return parent.getPoint(toParentIndex(row, col));
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        return parent.isHole(toParentIndex(index));
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        if (colStride != 1) {
+            var offset = new long[] {dstOffset};
+            forEachPoint(
+                    fromIndex,
+                    toIndex,
+                    (px, py, pz) -> {
+                        dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, offset[0], px);
+                        dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, offset[0] + Float.BYTES, py);
+                        dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, offset[0] + 2 * Float.BYTES, pz);
+                        offset[0] += 3 * Float.BYTES;
+                    });
+            return;
+        }
+        while (fromIndex < toIndex) {
+            var count = Math.min(width - fromIndex % width, toIndex - fromIndex);
+            var parentIndex = toParentIndex(fromIndex);
+            parent.copyTo(parentIndex, parentIndex + count, dst, dstOffset);
+            fromIndex += count;
+            dstOffset += (long) count * 3 * Float.BYTES;
+        }
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        if (colStride != 1) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                var parentIndex = toParentIndex(i);
+                parent.forEachPoint(parentIndex, parentIndex + 1, consumer);
+            }
+            return;
+        }
+        while (fromIndex < toIndex) {
+            var count = Math.min(width - fromIndex % width, toIndex - fromIndex);
+            var parentIndex = toParentIndex(fromIndex);
+            parent.forEachPoint(parentIndex, parentIndex + count, consumer);
+            fromIndex += count;
+        }
+    }
+
+    private int toParentIndex(int index) {
+        return toParentIndex(index / width, index % width);
+    }
+
+    private int toParentIndex(int row, int col) {
+        return (y + row * rowStride) * parent.width() + x + col * colStride;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.ndbuffers.matrix.Vector3d;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * {@link OrganizedPointCloud} on top of any {@link PointCloud} which points are stored in row-major
+ * order.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+final class OrganizedPointCloudWrapper implements OrganizedPointCloud {
+    private final PointCloud pc;
+    private final int width, height;
+
+    OrganizedPointCloudWrapper(PointCloud pc, int width, int height) {
+        this.pc = pc;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public Vector3d getPoint(int index) {
+        return pc.getPoint(index);
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        return pc.isHole(index);
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        pc.copyTo(fromIndex, toIndex, dst, dstOffset);
+    }
+
+    @Override
+    public void copyTo(int fromIndex, int toIndex, float[] dst, int dstOffset) {
+        pc.copyTo(fromIndex, toIndex, dst, dstOffset);
+    }
+
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        pc.forEachPoint(fromIndex, toIndex, consumer);
+    }
+}
@@ -18,6 +18,8 @@
 package id.matcv.types.pointcloud;
 
 import id.ndbuffers.matrix.Vector3d;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 
 /**
  * @author lambdaprime intid@protonmail.com
@@ -36,4 +38,74 @@ public interface PointCloud {
 
     /** Total number of points */
     int size();
+
+    /**
+     * Check if point is a {@link #HOLE}.
+     *
+     * <p>Default implementation relies on {@link #getPoint(int)}. Implementations are encouraged to
+     * override it with more efficient version which does not allocate objects.
+     */
+    default boolean isHole(int index) {
+        var p = getPoint(index);
+        return p.getX() == 0 && p.getY() == 0 && p.getZ() == 0;
+    }
+
+    /**
+     * Copy points in range [fromIndex, toIndex) into the memory segment.
+     *
+     * <p>Points are stored as floats in native byte order using XYZ layout: p1.x, p1.y, p1.z, ...,
+     * pN.x, pN.y, pN.z. Holes are stored same as {@link #HOLE}.
+     *
+     * <p>Default implementation relies on {@link #getPoint(int)}. Implementations are encouraged to
+     * override it with more efficient version which does not allocate objects per point.
+     *
+     * @param dstOffset offset in bytes inside dst segment where to store first point
+     */
+    default void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            var p = getPoint(i);
+            dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, dstOffset, (float) p.getX());
+            dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, dstOffset + Float.BYTES, (float) p.getY());
+            dst.set(
+                    ValueLayout.JAVA_FLOAT_UNALIGNED,
+                    dstOffset + 2 * Float.BYTES,
+                    (float) p.getZ());
+            dstOffset += 3 * Float.BYTES;
+        }
+    }
+
+    /**
+     * Copy points in range [fromIndex, toIndex) into the array.
+     *
+     * <p>Points are stored using XYZ layout same as in {@link #copyTo(int, int, MemorySegment,
+     * long)}.
+     *
+     * @param dstOffset index inside dst array where to store first point
+     */
+    default void copyTo(int fromIndex, int toIndex, float[] dst, int dstOffset) {
+        copyTo(fromIndex, toIndex, MemorySegment.ofArray(dst), (long) dstOffset * Float.BYTES);
+    }
+
+    /**
+     * Pass all points, including holes, to the consumer.
+     *
+     * @see #forEachPoint(int, int, FloatTriConsumer)
+     */
+    default void forEachPoint(FloatTriConsumer consumer) {
+        forEachPoint(0, size(), consumer);
+    }
+
+    /**
+     * Pass points in range [fromIndex, toIndex), including holes, to the consumer in the order of
+     * their indices.
+     *
+     * <p>Default implementation relies on {@link #getPoint(int)}. Implementations are encouraged to
+     * override it with more efficient version which does not allocate objects per point.
+     */
+    default void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            var p = getPoint(i);
+            consumer.accept((float) p.getX(), (float) p.getY(), (float) p.getZ());
+        }
+    }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import id.matcv.types.camera.CameraIntrinsics;
+import id.matcv.types.camera.CameraMatrix;
+import id.matcv.types.camera.DefaultCameraIntrinsics;
+import id.xfunction.Preconditions;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Binary file format for depth frames and point clouds which can be memory-mapped and accessed
+ * without decoding or copying the data.
+ *
+ * <p>File consists of fixed size header followed by the raw data:
+ *
+ * <ul>
+ *   <li>{@link Type#DEPTH_Z16} - depth image in HEIGHT*WIDTH*CV_16UC1 format, camera intrinsics and
+ *       depth scale. It is read as {@link PointCloudFromMemorySegmentAccessor}.
+ *   <li>{@link Type#POINTS_XYZ_F32} - points stored as floats in XYZ layout. It is read as {@link
+ *       MemorySegmentPointCloud}.
+ * </ul>
+ *
+ * <p>Header layout (all offsets are in bytes):
+ *
+ * <pre>{@code
+ * 0   magic "MATCVPCF"
+ * 8   int byte order mark 0x01020304
+ * 12  int version
+ * 16  int type
+ * 20  int width
+ * 24  int height
+ * 32  double fx, fy, cx, cy (all 0 when camera intrinsics are not available)
+ * 64  double depth scale
+ * 72  long data offset
+ * 80  long data size
+ * }</pre>
+ *
+ * <p>Header and data are stored in native byte order, so files can be mapped only on the machines
+ * with the same byte order as the one where they were written.
+ *
+ * <p>Data offset is aligned to {@link #HEADER_SIZE} bytes.
+ *
+ * <p>Opened file keeps the mapping until it is closed. All point clouds returned by {@link
+ * #pointCloud()} are views to the mapped memory and must not be used after file is closed.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PointCloudFile implements AutoCloseable {
+    public static final int HEADER_SIZE = 128;
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = "MATCVPCF".getBytes(StandardCharsets.US_ASCII);
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED;
+
+    public enum Type {
+        /** Depth image in HEIGHT*WIDTH*CV_16UC1 format */
+        DEPTH_Z16,
+
+        /** Points stored as floats in XYZ layout */
+        POINTS_XYZ_F32
+    }
+
+    private final Arena arena;
+    private final Type type;
+    private final Optional<CameraIntrinsics> cameraIntrinsics;
+    private final double depthScale;
+    private final MemorySegment data;
+
+    private PointCloudFile(
+            Arena arena,
+            Type type,
+            Optional<CameraIntrinsics> cameraIntrinsics,
+            double depthScale,
+            MemorySegment data) {
+        this.arena = arena;
+        this.type = type;
+        this.cameraIntrinsics = cameraIntrinsics;
+        this.depthScale = depthScale;
+        this.data = data;
+    }
+
+    /**
+     * Write depth frame to the file. If file exists it is overwritten.
+     *
+     * @param depth depth image in HEIGHT*WIDTH*CV_16UC1 format
+     * @param depthScale see {@link PointCloudFromMemorySegmentAccessor}
+     */
+    public static void writeDepthFrame(
+            Path file, MemorySegment depth, CameraIntrinsics cameraIntrinsics, double depthScale) {
+        var dataSize = (long) cameraIntrinsics.width() * cameraIntrinsics.height() * Short.BYTES;
+        Preconditions.isTrue(
+                depth.byteSize() >= dataSize,
+                "Depth image size %d is less than expected %d",
+                depth.byteSize(),
+                dataSize);
+        write(
+                file,
+                Type.DEPTH_Z16,
+                cameraIntrinsics.width(),
+                cameraIntrinsics.height(),
+                cameraIntrinsics.cameraMatrix(),
+                depthScale,
+                dataSize,
+                out -> MemorySegment.copy(depth, 0, out, 0, dataSize));
+    }
+
+    /** Write all points of the point cloud to the file. If file exists it is overwritten. */
+    public static void writePointCloud(Path file, PointCloud pc) {
+        var dataSize = (long) pc.size() * 3 * Float.BYTES;
+        write(
+                file,
+                Type.POINTS_XYZ_F32,
+                pc.size(),
+                1,
+                null,
+                0,
+                dataSize,
+                out -> pc.copyTo(0, pc.size(), out, 0));
+    }
+
+    /** Map the file into the memory */
+    public static PointCloudFile open(Path file) {
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var fileSize = channel.size();
+            Preconditions.isTrue(fileSize >= HEADER_SIZE, "File is too small: %s", file);
+            var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize, arena);
+            Preconditions.isTrue(
+                    Arrays.equals(
+                            MAGIC, segment.asSlice(0, MAGIC.length).toArray(ValueLayout.JAVA_BYTE)),
+                    "Not a point cloud file: %s",
+                    file);
+            Preconditions.equals(
+                    BYTE_ORDER_MARK,
+                    segment.get(INT, 8),
+                    "File was written on the machine with different byte order");
+            Preconditions.equals(VERSION, segment.get(INT, 12), "Unsupported file version");
+            var typeOrdinal = segment.get(INT, 16);
+            Preconditions.isTrue(
+                    typeOrdinal >= 0 && typeOrdinal < Type.values().length,
+                    "Unknown point cloud type %s: %s",
+                    typeOrdinal,
+                    file);
+            var type = Type.values()[typeOrdinal];
+            var width = segment.get(INT, 20);
+            var height = segment.get(INT, 24);
+            var fx = segment.get(DOUBLE, 32);
+            var fy = segment.get(DOUBLE, 40);
+            var cx = segment.get(DOUBLE, 48);
+            var cy = segment.get(DOUBLE, 56);
+            var depthScale = segment.get(DOUBLE, 64);
+            var dataOffset = segment.get(LONG, 72);
+            var dataSize = segment.get(LONG, 80);
+            Preconditions.isTrue(
+                    width >= 0 && height >= 0, "Invalid frame size %sx%s: %s", width, height, file);
+            Preconditions.isTrue(
+                    dataOffset >= 0 && dataSize >= 0 && dataOffset <= fileSize - dataSize,
+                    "File is truncated: %s",
+                    file);
+            switch (type) {
+                case DEPTH_Z16 -> {
+                    Preconditions.isTrue(fx != 0, "Depth frame has no camera intrinsics: %s", file);
+                    var expectedSize = (long) width * height * Short.BYTES;
+                    Preconditions.isTrue(
+                            dataSize >= expectedSize,
+                            "Depth frame size %s is less than expected %s: %s",
+                            dataSize,
+                            expectedSize,
+                            file);
+                }
+                case POINTS_XYZ_F32 ->
+                        Preconditions.equals(
+                                0L,
+                                dataSize % (3 * Float.BYTES),
+                                "Points data size is not aligned to XYZ points: " + file);
+            }
+            Optional<CameraIntrinsics> cameraIntrinsics =
+                    fx == 0
+                            ? Optional.empty()
+                            : Optional.of(
+                                    new DefaultCameraIntrinsics(
+                                            width,
+                                            height,
+                                            new CameraMatrix(
+                                                    new double[] {fx, 0, cx, 0, fy, cy, 0, 0, 1})));
+            return new PointCloudFile(
+                    arena,
+                    type,
+                    cameraIntrinsics,
+                    depthScale,
+                    segment.asSlice(dataOffset, dataSize));
+        } catch (IOException e) {
+            arena.close();
+            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /** Camera intrinsics, available only for {@link Type#DEPTH_Z16} files */
+    public Optional<CameraIntrinsics> cameraIntrinsics() {
+        return cameraIntrinsics;
+    }
+
+    /** Depth scale, available only for {@link Type#DEPTH_Z16} files */
+    public double depthScale() {
+        return depthScale;
+    }
+
+    /** Raw data (without header) mapped into the memory */
+    public MemorySegment data() {
+        return data;
+    }
+
+    /** Point cloud view to the mapped data. No data is copied. */
+    public PointCloud pointCloud() {
+        return switch (type) {
+            case DEPTH_Z16 ->
+                    new PointCloudFromMemorySegmentAccessor(
+                            data, cameraIntrinsics.orElseThrow(), depthScale);
+            case POINTS_XYZ_F32 -> new MemorySegmentPointCloud(data);
+        };
+    }
+
+    /** Unmap the file */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static void write(
+            Path file,
+            Type type,
+            int width,
+            int height,
+            CameraMatrix cameraMatrix,
+            double depthScale,
+            long dataSize,
+            Consumer<MemorySegment> dataWriter) {
+        try (var arena = Arena.ofConfined();
+                var channel =
+                        FileChannel.open(
+                                file,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE)) {
+            var segment =
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + dataSize, arena);
+            MemorySegment.copy(MAGIC, 0, segment, ValueLayout.JAVA_BYTE, 0, MAGIC.length);
+            segment.set(INT, 8, BYTE_ORDER_MARK);
+            segment.set(INT, 12, VERSION);
+            segment.set(INT, 16, type.ordinal());
+            segment.set(INT, 20, width);
+            segment.set(INT, 24, height);
+            if (cameraMatrix != null) {
+                segment.set(DOUBLE, 32, cameraMatrix.fx());
+                segment.set(DOUBLE, 40, cameraMatrix.fy());
+                segment.set(DOUBLE, 48, cameraMatrix.cx());
+                segment.set(DOUBLE, 56, cameraMatrix.cy());
+            }
+            segment.set(DOUBLE, 64, depthScale);
+            segment.set(LONG, 72, HEADER_SIZE);
+            segment.set(LONG, 80, dataSize);
+            dataWriter.accept(segment.asSlice(HEADER_SIZE, dataSize));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -17,12 +17,12 @@
  */
 package id.matcv.types.pointcloud;
 
-import id.matcv.converters.ConvertersToNdBuffers;
 import id.matcv.types.camera.CameraIntrinsics;
-import id.matcv.types.camera.CameraMatrix;
 import id.ndbuffers.matrix.Vector3d;
+import id.xfunction.Preconditions;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
+import java.nio.DoubleBuffer;
 
 /**
  * Point cloud accessor which points to the memory segment with depth image and reads point cloud 3d
@@ -35,15 +35,20 @@ import java.lang.foreign.ValueLayout;
  *
  * <p>Array format is: p1.x, p1.y, p1.z, p2.x, p2.y, p2.z, ..., pN.x, pN.y, pN.z
  *
+ * <p>Besides accessing points one by one with {@link #getPoint(int)}, it is possible to deproject
+ * entire depth image (or its region) into preallocated buffer with one of the copyTo methods. Bulk
+ * deprojection does not allocate any objects per point and, when Vector API is available (see
+ * {@link DepthDeprojector}), is vectorized.
+ *
  * @author lambdaprime intid@protonmail.com
  */
-public class PointCloudFromMemorySegmentAccessor implements PointCloud {
+public class PointCloudFromMemorySegmentAccessor implements OrganizedPointCloud {
 
-    private ConvertersToNdBuffers converters = new ConvertersToNdBuffers();
     private MemorySegment segment;
     private CameraIntrinsics cameraIntrinsics;
-    private CameraMatrix cameraMatrix;
-    private double depthScale;
+    private DeprojectionTable table;
+    private double depthUnit;
+    private DepthDeprojector deprojector;
 
     /**
      * @param segment
@@ -55,24 +60,209 @@ public class PointCloudFromMemorySegmentAccessor implements PointCloud {
             MemorySegment segment, CameraIntrinsics cameraIntrinsics, double depthScale) {
         this.segment = segment;
         this.cameraIntrinsics = cameraIntrinsics;
-        this.depthScale = depthScale;
-        this.cameraMatrix = cameraIntrinsics.cameraMatrix();
+        this.table = DeprojectionTable.of(cameraIntrinsics);
+        this.depthUnit = 1. / depthScale;
+        this.deprojector = DepthDeprojector.create(segment, table, depthUnit);
     }
 
     @Override
     public Vector3d getPoint(int index) {
-        var coords =
-                converters.toPoint2d(index, cameraIntrinsics.width(), cameraIntrinsics.height());
         var d = segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, index * Short.BYTES);
         if (d == 0) return HOLE;
-        var z = d / depthScale;
-        var x = (coords.getX() - cameraMatrix.cx()) * z / cameraMatrix.fx();
-        var y = (coords.getY() - cameraMatrix.cy()) * z / cameraMatrix.fy();
+        var w = cameraIntrinsics.width();
+        var z = d * depthUnit;
+        var x = table.xRay(index % w) * z;
+        var y = table.yRay(index / w) * z;
         return new Vector3d(x, y, z);
     }
 
     @Override
-    public int size() {
-        return cameraIntrinsics.width() * cameraIntrinsics.height();
+    public int width() {
+        return cameraIntrinsics.width();
+    }
+
+    @Override
+    public int height() {
+        return cameraIntrinsics.height();
+    }
+
+    @Override
+    public boolean isHole(int index) {
+        return segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, (long) index * Short.BYTES) == 0;
+    }
+
+    /**
+     * Deproject all points of the depth image into the array.
+     *
+     * @see #copyTo(int, int, int, int, float[], int)
+     */
+    public void copyTo(float[] dst) {
+        copyTo(0, 0, cameraIntrinsics.width(), cameraIntrinsics.height(), dst, 0);
+    }
+
+    /**
+     * Deproject points of the depth image region (ROI) into the array.
+     *
+     * <p>Points are stored in the row major order of the region using XYZ layout: p1.x, p1.y, p1.z,
+     * ..., pN.x, pN.y, pN.z. Holes are stored same as {@link #HOLE}.
+     *
+     * @param x column of the top left corner of the region
+     * @param y row of the top left corner of the region
+     * @param dstOffset index inside dst array where to store first point
+     */
+    public void copyTo(int x, int y, int width, int height, float[] dst, int dstOffset) {
+        Preconditions.isTrue(
+                dstOffset + width * height * 3 <= dst.length, "Destination array is too small");
+        deproject(
+                x,
+                y,
+                width,
+                height,
+                (row, px, py, pz) -> {
+                    var o = dstOffset + row * width * 3;
+                    for (int i = 0; i < width; i++) {
+                        dst[o++] = (float) px[i];
+                        dst[o++] = (float) py[i];
+                        dst[o++] = (float) pz[i];
+                    }
+                });
+    }
+
+    /**
+     * Deproject all points of the depth image into the buffer.
+     *
+     * @see #copyTo(int, int, int, int, DoubleBuffer)
+     */
+    public void copyTo(DoubleBuffer dst) {
+        copyTo(0, 0, cameraIntrinsics.width(), cameraIntrinsics.height(), dst);
+    }
+
+    /**
+     * Deproject points of the depth image region (ROI) into the buffer.
+     *
+     * <p>Points are stored starting from the current position of the buffer, using same layout as
+     * in {@link #copyTo(int, int, int, int, float[], int)}. Buffer position is advanced by the
+     * number of stored values.
+     */
+    public void copyTo(int x, int y, int width, int height, DoubleBuffer dst) {
+        Preconditions.isTrue(
+                width * height * 3 <= dst.remaining(), "Destination buffer is too small");
+        var pos = dst.position();
+        deproject(
+                x,
+                y,
+                width,
+                height,
+                (row, px, py, pz) -> {
+                    var o = pos + row * width * 3;
+                    for (int i = 0; i < width; i++) {
+                        dst.put(o++, px[i]);
+                        dst.put(o++, py[i]);
+                        dst.put(o++, pz[i]);
+                    }
+                });
+        dst.position(pos + width * height * 3);
+    }
+
+    /**
+     * Deproject all points of the depth image into the memory segment.
+     *
+     * @see #copyTo(int, int, int, int, MemorySegment, long)
+     */
+    public void copyTo(MemorySegment dst) {
+        copyTo(0, 0, cameraIntrinsics.width(), cameraIntrinsics.height(), dst, 0);
+    }
+
+    /**
+     * Deproject points of the depth image region (ROI) into the memory segment (on-heap or
+     * off-heap).
+     *
+     * <p>Points are stored as floats in native byte order, using same layout as in {@link
+     * #copyTo(int, int, int, int, float[], int)}.
+     *
+     * @param dstOffset offset in bytes inside dst segment where to store first point
+     */
+    public void copyTo(int x, int y, int width, int height, MemorySegment dst, long dstOffset) {
+        Preconditions.isTrue(
+                dstOffset + (long) width * height * 3 * Float.BYTES <= dst.byteSize(),
+                "Destination segment is too small");
+        deproject(
+                x,
+                y,
+                width,
+                height,
+                (row, px, py, pz) -> {
+                    var o = dstOffset + (long) row * width * 3 * Float.BYTES;
+                    for (int i = 0; i < width; i++) {
+                        dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, o, (float) px[i]);
+                        dst.set(ValueLayout.JAVA_FLOAT_UNALIGNED, o + Float.BYTES, (float) py[i]);
+                        dst.set(
+                                ValueLayout.JAVA_FLOAT_UNALIGNED,
+                                o + 2 * Float.BYTES,
+                                (float) pz[i]);
+                        o += 3 * Float.BYTES;
+                    }
+                });
+    }
+
+    /** Points are deprojected row by row, without any allocations per point. */
+    @Override
+    public void copyTo(int fromIndex, int toIndex, MemorySegment dst, long dstOffset) {
+        var w = cameraIntrinsics.width();
+        while (fromIndex < toIndex) {
+            var row = fromIndex / w;
+            var col = fromIndex % w;
+            int count;
+            if (col == 0 && toIndex - fromIndex >= w) {
+                // copy all full rows at once
+                var rows = (toIndex - fromIndex) / w;
+                copyTo(0, row, w, rows, dst, dstOffset);
+                count = rows * w;
+            } else {
+                count = Math.min(w - col, toIndex - fromIndex);
+                copyTo(col, row, count, 1, dst, dstOffset);
+            }
+            fromIndex += count;
+            dstOffset += (long) count * 3 * Float.BYTES;
+        }
+    }
+
+    /** Points are deprojected one by one, without any allocations per point. */
+    @Override
+    public void forEachPoint(int fromIndex, int toIndex, FloatTriConsumer consumer) {
+        var w = cameraIntrinsics.width();
+        for (int i = fromIndex; i < toIndex; i++) {
+            var d = segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, (long) i * Short.BYTES);
+            if (d == 0) {
+                consumer.accept(0, 0, 0);
+                continue;
+            }
+            var z = d * depthUnit;
+            consumer.accept(
+                    (float) (table.xRay(i % w) * z), (float) (table.yRay(i / w) * z), (float) z);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        /**
+         * @param row row index relative to the region
+         */
+        void accept(int row, double[] x, double[] y, double[] z);
+    }
+
+    private void deproject(int x, int y, int width, int height, RowConsumer consumer) {
+        Preconditions.isTrue(
+                x >= 0 && y >= 0 && width >= 0 && height >= 0, "Negative region coordinates");
+        Preconditions.isTrue(
+                x + width <= cameraIntrinsics.width() && y + height <= cameraIntrinsics.height(),
+                "Region is outside of the depth image");
+        var px = new double[width];
+        var py = new double[width];
+        var pz = new double[width];
+        for (int row = 0; row < height; row++) {
+            deprojector.deproject(segment, y + row, x, x + width, px, py, pz);
+            consumer.accept(row, px, py, pz);
+        }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over indices of points in range [from, to) which are not holes.
+ *
+ * <p>Holes are checked during the traversal and point cloud may be backed by mutable memory, so
+ * spliterator does not report {@link Spliterator#IMMUTABLE}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class ValidPointsSpliterator implements Spliterator.OfInt {
+    /** Ranges smaller than this are not split any further */
+    private static final int MIN_SPLIT_SIZE = 1 << 12;
+
+    private final PointCloud pc;
+    private int from;
+    private final int to;
+
+    ValidPointsSpliterator(PointCloud pc, int from, int to) {
+        this.pc = pc;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        while (from < to) {
+            var i = from++;
+            if (pc.isHole(i)) continue;
+            action.accept(i);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        for (; from < to; from++) if (!pc.isHole(from)) action.accept(from);
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        if (to - from < MIN_SPLIT_SIZE) return null;
+        var mid = (from + to) >>> 1;
+        var prefix = new ValidPointsSpliterator(pc, from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | NONNULL;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
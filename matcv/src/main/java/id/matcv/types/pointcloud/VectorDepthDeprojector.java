@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.matcv.types.pointcloud;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DepthDeprojector} implementation based on <a href="https://openjdk.org/jeps/460">Vector
+ * API</a>
+ *
+ * <p>Depth values are loaded as shorts and widened to doubles, all further calculations are done in
+ * double precision and in the same order as in the scalar version, so results are identical.
+ *
+ * <p>This class should be loaded only when "jdk.incubator.vector" module is present.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class VectorDepthDeprojector extends DepthDeprojector {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /** Smallest short species which has at least as many lanes as {@link #DOUBLES} */
+    private static final VectorSpecies<Short> SHORTS =
+            VectorSpecies.of(
+                    short.class,
+                    VectorShape.forBitSize(Math.max(64, DOUBLES.length() * Short.SIZE)));
+
+    VectorDepthDeprojector(DeprojectionTable table, double depthUnit) {
+        super(table, depthUnit);
+    }
+
+    @Override
+    void deproject(
+            MemorySegment depth,
+            int row,
+            int fromCol,
+            int toCol,
+            double[] x,
+            double[] y,
+            double[] z) {
+        var rowOffset = (long) row * width * Short.BYTES;
+        var yRay = DoubleVector.broadcast(DOUBLES, yRays[row]);
+        var col = fromCol;
+        // each iteration reads SHORTS.length() values but uses only first DOUBLES.length()
+        for (; col + SHORTS.length() <= toCol; col += DOUBLES.length()) {
+            var d =
+                    (DoubleVector)
+                            ShortVector.fromMemorySegment(
+                                            SHORTS,
+                                            depth,
+                                            rowOffset + (long) col * Short.BYTES,
+                                            ByteOrder.nativeOrder())
+                                    .convertShape(VectorOperators.S2D, DOUBLES, 0);
+            VectorMask<Double> holes = d.compare(VectorOperators.EQ, 0);
+            var pz = d.mul(depthUnit);
+            var px = DoubleVector.fromArray(DOUBLES, xRays, col).mul(pz);
+            var py = yRay.mul(pz);
+            var i = col - fromCol;
+            px.blend(0, holes).intoArray(x, i);
+            py.blend(0, holes).intoArray(y, i);
+            pz.blend(0, holes).intoArray(z, i);
+        }
+        deprojectScalar(depth, row, col, toCol, x, y, z, col - fromCol);
+    }
+}
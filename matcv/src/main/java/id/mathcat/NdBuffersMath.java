@@ -17,10 +17,14 @@
  */
 package id.mathcat;
 
+import id.matcv.impl.concurrent.ParallelRange;
 import id.ndbuffers.NdBuffersFactory;
 import id.ndbuffers.matrix.Matrix4d;
 import id.ndbuffers.matrix.MatrixN3d;
+import id.ndbuffers.matrix.MatrixNd;
 import id.ndbuffers.matrix.Vector2d;
+import id.xfunction.Preconditions;
+import java.util.concurrent.ForkJoinPool;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.CommonOps_DDRM;
 
@@ -30,6 +34,24 @@ import org.ejml.dense.row.CommonOps_DDRM;
 public class NdBuffersMath {
     private static final NdBuffersFactory ndFactory = new NdBuffersFactory();
 
+    /** Number of points transformed by a single task */
+    private static final int CHUNK_SIZE = 1 << 15;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean isParallel = true;
+
+    /** Pool to run parallel tasks. Default is {@link ForkJoinPool#commonPool()} */
+    public NdBuffersMath withForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Process large number of points in parallel. Default is true. */
+    public NdBuffersMath withParallel(boolean isEnabled) {
+        this.isParallel = isEnabled;
+        return this;
+    }
+
     public Vector2d midPoint(Vector2d p1, Vector2d p2) {
         return new Vector2d((p1.getX() + p2.getX()) / 2, (p1.getY() + p2.getY()) / 2);
     }
@@ -42,7 +64,12 @@ public class NdBuffersMath {
         return toPoint.subtract(fromPoint);
     }
 
-    /** Apply rigid transformation matrix to set of 3D points */
+    /**
+     * Apply rigid transformation matrix to set of 3D points
+     *
+     * @return new matrix with transformed points
+     * @see #transformInPlace(MatrixN3d, Matrix4d) to avoid copies
+     */
     public MatrixN3d transform(MatrixN3d mx, Matrix4d tx) {
         // In order to mul Matrix4d with MatrixX3 we need to covert MatrixX3 to Matrix4X
         // this would require to store points in column major order:
@@ -54,7 +81,7 @@ public class NdBuffersMath {
         inPointsMx.fill(1);
         transfer(mx, inPointsMx);
         var ejmlTx = new DMatrixRMaj();
-        ejmlTx.setData(tx.duplicate().array());
+        ejmlTx.setData(toArray(tx));
         ejmlTx.reshape(4, 4);
         var outPointsMx = new DMatrixRMaj();
         CommonOps_DDRM.mult(
@@ -71,14 +98,79 @@ public class NdBuffersMath {
         return ndFactory.matrixN3d(outPointsMx.data);
     }
 
+    /**
+     * Apply rigid transformation matrix to set of 3D points in place
+     *
+     * @return same matrix
+     */
+    public MatrixN3d transformInPlace(MatrixN3d mx, Matrix4d tx) {
+        var buf = mx.duplicate();
+        var numPoints = buf.remaining() / 3;
+        if (buf.hasArray()) {
+            var offset = buf.arrayOffset() + buf.position();
+            transform(buf.array(), offset, buf.array(), offset, numPoints, tx);
+        } else {
+            var points = new double[numPoints * 3];
+            buf.duplicate().get(points);
+            transform(points, 0, points, 0, numPoints, tx);
+            buf.put(points);
+        }
+        return mx;
+    }
+
+    /**
+     * Apply rigid transformation matrix p' = R * p + t to points stored in row-major N x 3 arrays
+     * (x1, y1, z1, x2, y2, z2, ...) and store results into destination array.
+     *
+     * <p>Transformation is applied directly without homogeneous coordinates or intermediate copies.
+     * When <a href="https://openjdk.org/jeps/460">Vector API</a> is available it is vectorized
+     * (results may then differ from the scalar version in the last bits because of fused
+     * multiply-add). Large number of points is split across multiple threads.
+     *
+     * @param src source points
+     * @param dst destination points, can be same as src (with the same offset) to transform points
+     *     in place
+     */
+    public void transform(
+            double[] src, int srcOffset, double[] dst, int dstOffset, int numPoints, Matrix4d tx) {
+        Preconditions.isTrue(
+                srcOffset >= 0 && srcOffset + numPoints * 3 <= src.length,
+                "Source array is too small");
+        Preconditions.isTrue(
+                dstOffset >= 0 && dstOffset + numPoints * 3 <= dst.length,
+                "Destination array is too small");
+        Preconditions.isTrue(
+                src != dst || srcOffset == dstOffset,
+                "Source and destination must not overlap with different offsets");
+        var m = new double[12];
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) m[r * 4 + c] = tx.get(r, c);
+        }
+        var transformer = RigidTransformer.create(m, numPoints);
+        new ParallelRange(pool, isParallel, CHUNK_SIZE)
+                .forEach(
+                        0,
+                        numPoints,
+                        (from, to) ->
+                                transformer.transform(src, srcOffset, dst, dstOffset, from, to));
+    }
+
     /** Transpose input matrix and transfer its data to output matrix */
     private void transfer(MatrixN3d mx, DMatrixRMaj outMx) {
         var ejmlMx = new DMatrixRMaj();
-        ejmlMx.setData(mx.duplicate().array());
+        ejmlMx.setData(toArray(mx));
         ejmlMx.reshape(mx.getRows(), 3);
         // CommonOps_DDRM.transpose modifies shape of the output matrix
         // so we use wrapper matrix as an output matrix and not the original
         outMx = DMatrixRMaj.wrap(outMx.numRows, outMx.numCols, outMx.data);
         CommonOps_DDRM.transpose(ejmlMx, outMx);
     }
+
+    /** Copy of the matrix data which respects buffer position and limit */
+    private double[] toArray(MatrixNd mx) {
+        var buf = mx.duplicate();
+        var data = new double[buf.remaining()];
+        buf.get(data);
+        return data;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.mathcat;
+
+/**
+ * Applies rigid transformation p' = R * p + t to the points stored in row-major N x 3 arrays (x1,
+ * y1, z1, x2, y2, z2, ...).
+ *
+ * <p>Default implementation is scalar. When <a href="https://openjdk.org/jeps/460">Vector API</a>
+ * module is available (JVM started with "--add-modules jdk.incubator.vector") then {@link
+ * VectorRigidTransformer} is used instead.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class RigidTransformer {
+    private static final boolean IS_VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Below this number of points the cost of preparing vectors is higher than the gain */
+    private static final int MIN_VECTOR_POINTS = 32;
+
+    /** First 3 rows of 4x4 transformation matrix in row-major order */
+    protected final double[] tx;
+
+    protected RigidTransformer(double[] tx) {
+        this.tx = tx;
+    }
+
+    /**
+     * @param tx first 3 rows of 4x4 transformation matrix in row-major order
+     * @param numPoints number of points which are going to be transformed
+     */
+    static RigidTransformer create(double[] tx, int numPoints) {
+        if (IS_VECTOR_API_AVAILABLE && numPoints >= MIN_VECTOR_POINTS)
+            return new VectorRigidTransformer(tx);
+        return new RigidTransformer(tx);
+    }
+
+    /**
+     * Transform points [from, to) of src and store them at the same indices of dst. Arrays src and
+     * dst can be the same array (to transform points in place) as long as both offsets are equal.
+     */
+    void transform(double[] src, int srcOffset, double[] dst, int dstOffset, int from, int to) {
+        transformScalar(src, srcOffset, dst, dstOffset, from, to);
+    }
+
+    protected void transformScalar(
+            double[] src, int srcOffset, double[] dst, int dstOffset, int from, int to) {
+        double r00 = tx[0], r01 = tx[1], r02 = tx[2], t0 = tx[3];
+        double r10 = tx[4], r11 = tx[5], r12 = tx[6], t1 = tx[7];
+        double r20 = tx[8], r21 = tx[9], r22 = tx[10], t2 = tx[11];
+        for (int p = from; p < to; p++) {
+            var s = srcOffset + p * 3;
+            var d = dstOffset + p * 3;
+            var x = src[s];
+            var y = src[s + 1];
+            var z = src[s + 2];
+            dst[d] = r00 * x + r01 * y + r02 * z + t0;
+            dst[d + 1] = r10 * x + r11 * y + r12 * z + t1;
+            dst[d + 2] = r20 * x + r21 * y + r22 * z + t2;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 matcv project
+ * 
+ * Website: https://github.com/lambdaprime/matcv
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.mathcat;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RigidTransformer} implementation based on <a href="https://openjdk.org/jeps/460">Vector
+ * API</a>
+ *
+ * <p>Points are not deinterleaved. Instead each output value at index "j" is computed from the
+ * input values at indices j-2, ..., j+2, multiplied by the coefficients which depend on which
+ * coordinate (x, y or z) is stored at index "j":
+ *
+ * <pre>{@code
+ * x' = r00 * in[j]   + r01 * in[j+1] + r02 * in[j+2] + t0
+ * y' = r10 * in[j-1] + r11 * in[j]   + r12 * in[j+1] + t1
+ * z' = r20 * in[j-2] + r21 * in[j-1] + r22 * in[j]   + t2
+ * }</pre>
+ *
+ * <p>Shifted inputs are read with plain (unmasked) loads, so some lanes read values of the neighbor
+ * points and multiply them by zero coefficients. Masked loads avoid that but they are slower than
+ * the scalar implementation. Instead, the blocks which produce non finite values (0 * NaN is NaN)
+ * are recomputed by the scalar implementation.
+ *
+ * <p>Shifted loads of the block read 2 values before and after it. To keep all reads inside of the
+ * transformed range [from, to) its first and last points are always transformed by the scalar
+ * implementation. This way ranges transformed in place by different threads never read values which
+ * are written concurrently.
+ *
+ * <p>Each iteration processes block of {@link #SPECIES} length points (3 vectors), all of them are
+ * read before any of them is written. Values of the previous point read by the block may be already
+ * transformed but they are multiplied by zero coefficients, which makes in place transformation
+ * possible.
+ *
+ * <p>This class should be loaded only when "jdk.incubator.vector" module is present.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class VectorRigidTransformer extends RigidTransformer {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int L = SPECIES.length();
+
+    /** Shifts of the input relative to the output index */
+    private static final int[] SHIFTS = {-2, -1, 0, 1, 2};
+
+    /** Coefficients [vector in block][shift] */
+    private final DoubleVector[][] coefs = new DoubleVector[3][SHIFTS.length];
+
+    private final DoubleVector[] translations = new DoubleVector[3];
+
+    VectorRigidTransformer(double[] tx) {
+        super(tx);
+        var values = new double[L];
+        for (int v = 0; v < 3; v++) {
+            for (int k = 0; k < SHIFTS.length; k++) {
+                for (int lane = 0; lane < L; lane++) {
+                    var row = (v * L + lane) % 3;
+                    // column of the rotation matrix which is multiplied by the input at this shift
+                    var col = row + SHIFTS[k];
+                    values[lane] = col >= 0 && col < 3 ? tx[row * 4 + col] : 0;
+                }
+                coefs[v][k] = DoubleVector.fromArray(SPECIES, values, 0);
+            }
+            for (int lane = 0; lane < L; lane++) values[lane] = tx[((v * L + lane) % 3) * 4 + 3];
+            translations[v] = DoubleVector.fromArray(SPECIES, values, 0);
+        }
+    }
+
+    @Override
+    void transform(double[] src, int srcOffset, double[] dst, int dstOffset, int from, int to) {
+        // first and last points are transformed separately so that reads stay inside of the range
+        var p = Math.min(from + 1, to);
+        transformScalar(src, srcOffset, dst, dstOffset, from, p);
+        for (; p + L < to; p += L) {
+            var s = srcOffset + p * 3;
+            var out0 = transform(src, s, 0);
+            var out1 = transform(src, s + L, 1);
+            var out2 = transform(src, s + 2 * L, 2);
+            if (!out0.add(out1).add(out2).test(VectorOperators.IS_FINITE).allTrue()) {
+                transformScalar(src, srcOffset, dst, dstOffset, p, p + L);
+                continue;
+            }
+            var d = dstOffset + p * 3;
+            out0.intoArray(dst, d);
+            out1.intoArray(dst, d + L);
+            out2.intoArray(dst, d + 2 * L);
+        }
+        transformScalar(src, srcOffset, dst, dstOffset, p, to);
+    }
+
+    /**
+     * @param v index of the vector inside the block
+     */
+    private DoubleVector transform(double[] src, int offset, int v) {
+        var c = coefs[v];
+        return DoubleVector.fromArray(SPECIES, src, offset - 2)
+                .fma(c[0], translations[v])
+                .add(DoubleVector.fromArray(SPECIES, src, offset - 1).mul(c[1]))
+                .add(DoubleVector.fromArray(SPECIES, src, offset).mul(c[2]))
+                .add(DoubleVector.fromArray(SPECIES, src, offset + 1).mul(c[3]))
+                .add(DoubleVector.fromArray(SPECIES, src, offset + 2).mul(c[4]));
+    }
+}
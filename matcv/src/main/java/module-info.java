@@ -52,6 +52,13 @@
  *
  * <p>Tested with OpenCV version 4.6.0
  *
+ * <h2>Vector API</h2>
+ *
+ * <p>Some of the bulk operations (for example deprojection of depth images into point clouds) are
+ * vectorized with the help of incubating <a href="https://openjdk.org/jeps/460">Vector API</a>.
+ * Vector API is optional and used only when its module is added to the JVM with: --add-modules
+ * jdk.incubator.vector. Otherwise scalar versions of the same operations are used.
+ *
  * @see <a
  *     href="https://github.com/lambdaprime/matcv/blob/main/matcv/release/CHANGELOG.md">Releases</a>
  * @see <a href="https://github.com/lambdaprime/matcv">Github</a>
@@ -65,14 +72,20 @@ module matcv {
     requires ejml.ddense;
     requires ejml.core;
     requires transitive ndbuffers;
+    requires static jdk.incubator.vector;
 
     exports id.matcv;
     exports id.matcv.accessors;
+    exports id.matcv.depth;
+    exports id.matcv.exporters;
     exports id.matcv.grid;
     exports id.matcv.feature.match;
     exports id.matcv.feature.detector;
     exports id.matcv.apps.slider;
     exports id.matcv.markers;
+    exports id.matcv.pointcloud.filters;
+    exports id.matcv.pointcloud.index;
+    exports id.matcv.registration;
     exports id.matcv.types;
     exports id.matcv.types.camera;
     exports id.matcv.types.datatables;